@@ -18,8 +18,22 @@ public class Constants {
     public static final IndexingMode DEFAULT_INDEXINGPOLICY_MODE = IndexingMode.Consistent;
     public static final String DEFAULT_REPOSITORY_IMPLEMENT_POSTFIX = "Impl";
     public static final int DEFAULT_TIME_TO_LIVE = -1; // Indicates never expire
+    public static final int DEFAULT_BULK_PARALLELISM = 8;
+    public static final int DEFAULT_BULK_IMPORT_BATCH_BYTES = 1024 * 1024; // Half of the request size limit
+    public static final int BULK_MAX_RETRIES = 10;
+    public static final int BULK_TASK_MAX_ENTITIES = 100;
+    public static final int BULK_MAX_SUPPRESSED_EXCEPTIONS = 10;
+    public static final int DEFAULT_ASYNC_PARALLELISM = 16;
+    public static final int FIND_BY_IDS_MAX_POINT_READS = 64;
+    public static final int FIND_BY_IDS_CHUNK_SIZE = 100;
+    public static final int DEFAULT_CACHE_TIME_TO_LIVE = 300;
+    public static final int DEFAULT_CACHE_REVALIDATE_AFTER = 30;
+    public static final int NOT_MODIFIED_STATUS_CODE = 304;
 
     public static final String ID_PROPERTY_NAME = "id";
+    public static final String SELF_LINK_PROPERTY_NAME = "_self";
+    public static final String ETAG_PROPERTY_NAME = "_etag";
+    public static final String TIMESTAMP_PROPERTY_NAME = "_ts";
 
     public static final String DOCUMENTDB_MODULE_NAME = "cosmosdb";
     public static final String DOCUMENTDB_MODULE_PREFIX = "cosmosdb";
@@ -0,0 +1,26 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.config;
+
+import com.microsoft.azure.spring.data.cosmosdb.core.ReactiveDocumentDbTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of {@link AbstractDocumentDbConfiguration} and the {@link ReactiveDocumentDbTemplate} for
+ * repositories enabled by
+ * {@link com.microsoft.azure.spring.data.cosmosdb.repository.config.EnableReactiveDocumentDbRepositories}.
+ */
+@Configuration
+public abstract class AbstractReactiveDocumentDbConfiguration extends AbstractDocumentDbConfiguration {
+
+    @Bean
+    public ReactiveDocumentDbTemplate reactiveDocumentDbTemplate(DocumentDBConfig config)
+            throws ClassNotFoundException {
+        return new ReactiveDocumentDbTemplate(this.documentDbTemplate(config));
+    }
+}
@@ -8,13 +8,13 @@ package com.microsoft.azure.spring.data.cosmosdb.config;
 import com.microsoft.azure.documentdb.ConnectionPolicy;
 import com.microsoft.azure.documentdb.ConsistencyLevel;
 import com.microsoft.azure.documentdb.RequestOptions;
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
 import com.microsoft.azure.spring.data.cosmosdb.exception.DocumentDBAccessException;
 import lombok.Builder;
 import lombok.Getter;
 import org.springframework.util.Assert;
 
 @Getter
-@Builder(builderMethodName = "defaultBuilder")
 public class DocumentDBConfig {
     private String uri;
 
@@ -28,8 +28,62 @@ public class DocumentDBConfig {
 
     private boolean allowTelemetry;
 
+    /**
+     * Options which the options of each request are copied from, through the snapshot taken when this config is
+     * built. Changes made to them after that are not seen.
+     */
     private RequestOptions requestOptions;
 
+    /**
+     * Template which the options of each request are copied from, the snapshot of {@link #requestOptions} if not
+     * given.
+     */
+    private final RequestOptionsTemplate requestOptionsTemplate;
+
+    /**
+     * Max number of concurrent requests of one bulk operation, such as
+     * {@link com.microsoft.azure.spring.data.cosmosdb.core.DocumentDbOperations#insertAll(String, Iterable)}.
+     */
+    private int bulkParallelism;
+
+    /**
+     * Max size in bytes of the documents sent in one stored procedure call, as encoded in the request, of
+     * {@link com.microsoft.azure.spring.data.cosmosdb.core.DocumentDbOperations#importAll(String, Iterable)}.
+     */
+    private int bulkImportBatchBytes;
+
+    /**
+     * Max number of threads executing the repository methods which return
+     * {@link java.util.concurrent.CompletableFuture}, per repository.
+     */
+    private int asyncParallelism;
+
+    /**
+     * Whether insert skips reading a new entity from the inserted document for all domain classes, see
+     * {@link com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document#skipInsertReadBack()}.
+     */
+    private boolean skipInsertReadBack;
+
+    @Builder(builderMethodName = "defaultBuilder")
+    private DocumentDBConfig(String uri, String key, String database, ConnectionPolicy connectionPolicy,
+                             ConsistencyLevel consistencyLevel, boolean allowTelemetry, RequestOptions requestOptions,
+                             RequestOptionsTemplate requestOptionsTemplate, int bulkParallelism,
+                             int bulkImportBatchBytes, int asyncParallelism, boolean skipInsertReadBack) {
+        this.uri = uri;
+        this.key = key;
+        this.database = database;
+        this.connectionPolicy = connectionPolicy;
+        this.consistencyLevel = consistencyLevel;
+        this.allowTelemetry = allowTelemetry;
+        this.requestOptions = requestOptions;
+        this.requestOptionsTemplate = requestOptionsTemplate == null
+                ? RequestOptionsTemplate.of(requestOptions) : requestOptionsTemplate;
+        this.bulkParallelism = bulkParallelism;
+        this.bulkImportBatchBytes = bulkImportBatchBytes;
+        this.asyncParallelism = asyncParallelism;
+        this.skipInsertReadBack = skipInsertReadBack;
+    }
+
     public static DocumentDBConfigBuilder builder(String uri, String key, String database) {
         return defaultBuilder()
                 .uri(uri)
@@ -37,7 +91,10 @@ public class DocumentDBConfig {
                 .database(database)
                 .connectionPolicy(ConnectionPolicy.GetDefault())
                 .consistencyLevel(ConsistencyLevel.Session)
-                .requestOptions(new RequestOptions());
+                .requestOptions(new RequestOptions())
+                .bulkParallelism(Constants.DEFAULT_BULK_PARALLELISM)
+                .bulkImportBatchBytes(Constants.DEFAULT_BULK_IMPORT_BATCH_BYTES)
+                .asyncParallelism(Constants.DEFAULT_ASYNC_PARALLELISM);
     }
 
     public static DocumentDBConfigBuilder builder(String connectionString, String database) {
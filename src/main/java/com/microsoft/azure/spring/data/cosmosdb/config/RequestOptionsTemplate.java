@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.config;
+
+import com.microsoft.azure.documentdb.AccessCondition;
+import com.microsoft.azure.documentdb.ConsistencyLevel;
+import com.microsoft.azure.documentdb.IndexingDirective;
+import com.microsoft.azure.documentdb.RequestOptions;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Immutable snapshot of {@link RequestOptions}, each request gets its own copy of the options by a direct copy of
+ * the public properties. Overrides, such as of an entity, are layered by the {@code with} methods, which return a new
+ * template and leave this one unchanged.
+ */
+public final class RequestOptionsTemplate {
+
+    private static final RequestOptionsTemplate DEFAULT = new RequestOptionsTemplate(new RequestOptions());
+
+    private final RequestOptions options;
+
+    private RequestOptionsTemplate(@NonNull RequestOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * @param options the options to snapshot, later changes of it are not seen by the template. Null for the default
+     *                options.
+     */
+    public static RequestOptionsTemplate of(@Nullable RequestOptions options) {
+        return options == null ? DEFAULT : new RequestOptionsTemplate(copyOf(options));
+    }
+
+    /**
+     * @return new options of this template, free to be changed by the caller.
+     */
+    public RequestOptions createRequestOptions() {
+        return copyOf(this.options);
+    }
+
+    public ConsistencyLevel getConsistencyLevel() {
+        return this.options.getConsistencyLevel();
+    }
+
+    public IndexingDirective getIndexingDirective() {
+        return this.options.getIndexingDirective();
+    }
+
+    public String getSessionToken() {
+        return this.options.getSessionToken();
+    }
+
+    public RequestOptionsTemplate withConsistencyLevel(@Nullable ConsistencyLevel consistencyLevel) {
+        return with(o -> o.setConsistencyLevel(consistencyLevel));
+    }
+
+    public RequestOptionsTemplate withIndexingDirective(@Nullable IndexingDirective indexingDirective) {
+        return with(o -> o.setIndexingDirective(indexingDirective));
+    }
+
+    public RequestOptionsTemplate withSessionToken(@Nullable String sessionToken) {
+        return with(o -> o.setSessionToken(sessionToken));
+    }
+
+    private RequestOptionsTemplate with(@NonNull Consumer<RequestOptions> override) {
+        final RequestOptions copy = copyOf(this.options);
+
+        override.accept(copy);
+
+        return new RequestOptionsTemplate(copy);
+    }
+
+    private static RequestOptions copyOf(@NonNull RequestOptions source) {
+        final RequestOptions copy = new RequestOptions();
+
+        copy.setPreTriggerInclude(copyOf(source.getPreTriggerInclude()));
+        copy.setPostTriggerInclude(copyOf(source.getPostTriggerInclude()));
+        copy.setAccessCondition(copyOf(source.getAccessCondition()));
+        copy.setIndexingDirective(source.getIndexingDirective());
+        copy.setConsistencyLevel(source.getConsistencyLevel());
+        copy.setSessionToken(source.getSessionToken());
+        copy.setResourceTokenExpirySeconds(source.getResourceTokenExpirySeconds());
+        copy.setOfferType(source.getOfferType());
+        copy.setOfferThroughput(source.getOfferThroughput());
+        copy.setPartitionKey(source.getPartitionKey());
+        copy.setScriptLoggingEnabled(source.isScriptLoggingEnabled());
+        copy.setPopulateQuotaInfo(source.isPopulateQuotaInfo());
+        copy.setDisableRUPerMinuteUsage(source.getDisableRUPerMinuteUsage());
+        copy.setOfferEnableRUPerMinuteThroughput(source.getOfferEnableRUPerMinuteThroughput());
+        copy.setPopulatePartitionKeyRangeStatistics(source.isPopulatePartitionKeyRangeStatistics());
+
+        return copy;
+    }
+
+    private static List<String> copyOf(@Nullable List<String> triggers) {
+        return triggers == null ? null : Collections.unmodifiableList(new ArrayList<>(triggers));
+    }
+
+    private static AccessCondition copyOf(@Nullable AccessCondition condition) {
+        if (condition == null) {
+            return null;
+        }
+
+        final AccessCondition copy = new AccessCondition();
+
+        copy.setType(condition.getType());
+        copy.setCondition(condition.getCondition());
+
+        return copy;
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.DocumentClientException;
+import com.microsoft.azure.documentdb.PartitionKey;
+import com.microsoft.azure.documentdb.SqlQuerySpec;
+import lombok.Value;
+import org.springframework.lang.NonNull;
+
+/**
+ * Deletes the documents of one partition found by query, for {@link DocumentDbOperations#deleteByQuery}. The default
+ * one executes a delete stored procedure by {@link com.microsoft.azure.documentdb.DocumentClient}, an in-process one
+ * may stand in for CosmosDB in tests.
+ */
+@FunctionalInterface
+public interface BulkDeleteClient {
+
+    /**
+     * Delete the documents found by query within the partition, until all of them are deleted or the execution runs
+     * out of time.
+     *
+     * @param collectionLink the link of collection, as dbs/{database}/colls/{collection}.
+     * @param partitionKey   the partition key of the documents, null if the collection is not partitioned.
+     * @param querySpec      the query selecting the _self of documents to delete.
+     * @return count of the deleted documents, and whether none is left.
+     * @throws DocumentClientException if the execution fails, with status code 429 if throttled.
+     */
+    Result deleteDocuments(@NonNull String collectionLink, PartitionKey partitionKey, @NonNull SqlQuerySpec querySpec)
+            throws DocumentClientException;
+
+    @Value
+    class Result {
+        private final int deleted;
+        private final boolean done;
+    }
+}
@@ -0,0 +1,33 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.DocumentClientException;
+import com.microsoft.azure.documentdb.PartitionKey;
+import org.springframework.lang.NonNull;
+
+import java.util.List;
+
+/**
+ * Imports one batch of documents of {@link DocumentDbTemplate#importAll(String, Iterable)}. The default one executes
+ * a bulk import stored procedure by {@link com.microsoft.azure.documentdb.DocumentClient}, an in-process one may
+ * stand in for CosmosDB in tests.
+ */
+@FunctionalInterface
+public interface BulkImportClient {
+
+    /**
+     * Upsert the documents in the given order, within one transaction of the partition.
+     *
+     * @param collectionLink the link of collection, as dbs/{database}/colls/{collection}.
+     * @param partitionKey   the partition key of all the documents, null if the collection is not partitioned.
+     * @param documents      the documents in JSON.
+     * @return count of the leading documents imported, which may be fewer than given if the import ran out of time.
+     * @throws DocumentClientException if none of the documents is imported, with status code 429 if throttled.
+     */
+    int importDocuments(@NonNull String collectionLink, PartitionKey partitionKey, @NonNull List<String> documents)
+            throws DocumentClientException;
+}
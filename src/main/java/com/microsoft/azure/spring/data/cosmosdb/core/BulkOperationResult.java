@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import com.microsoft.azure.spring.data.cosmosdb.exception.DocumentDBAccessException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.lang.NonNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Outcome of a bulk operation of {@link DocumentDbOperations}, one item per input entity in the input order.
+ *
+ * @param <T> the domain type.
+ */
+public class BulkOperationResult<T> {
+
+    @Getter
+    private final List<Item<T>> items;
+
+    BulkOperationResult(@NonNull List<Item<T>> items) {
+        this.items = Collections.unmodifiableList(items);
+    }
+
+    public boolean isSuccessful() {
+        return items.stream().allMatch(Item::isSuccessful);
+    }
+
+    /**
+     * @return results of the succeeded items, in the input order.
+     */
+    public List<T> getResults() {
+        return items.stream().filter(Item::isSuccessful).map(Item::getResult).collect(Collectors.toList());
+    }
+
+    public List<Item<T>> getFailures() {
+        return items.stream().filter(i -> !i.isSuccessful()).collect(Collectors.toList());
+    }
+
+    /**
+     * Throw if any item failed, the exception of first failed item is the cause and the ones of the next
+     * {@link Constants#BULK_MAX_SUPPRESSED_EXCEPTIONS} failed items are suppressed.
+     */
+    public void assertSuccessful() {
+        final List<Item<T>> failures = getFailures();
+
+        if (!failures.isEmpty()) {
+            final DocumentDBAccessException exception = new DocumentDBAccessException(String.format(
+                    "Bulk operation failed for %d of %d entities", failures.size(), items.size()),
+                    failures.get(0).getException());
+
+            failures.stream().skip(1).limit(Constants.BULK_MAX_SUPPRESSED_EXCEPTIONS)
+                    .forEach(f -> exception.addSuppressed(f.getException()));
+
+            throw exception;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PACKAGE)
+    public static final class Item<T> {
+        private final T source;
+
+        /**
+         * The entity returned by the operation, null if failed.
+         */
+        private final T result;
+
+        /**
+         * The failure of the operation, null if succeeded.
+         */
+        private final RuntimeException exception;
+
+        public boolean isSuccessful() {
+            return exception == null;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.DocumentCollection;
+import com.microsoft.azure.spring.data.cosmosdb.repository.support.DocumentDbEntityInformation;
+import lombok.Getter;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Immutable metadata of one collection cached by {@link DocumentDbTemplate}, the links are built once instead of per
+ * operation. The collection resource is resolved only by
+ * {@link DocumentDbTemplate#createCollectionIfNotExists}, and absent until then. Once found stale, the metadata keeps
+ * the entity information the collection was resolved by, so it is resolved again by the next operation.
+ */
+final class CollectionMetadata {
+
+    @Getter
+    private final String collectionLink;
+
+    private final String documentLinkPrefix;
+
+    @Getter
+    @Nullable
+    private final DocumentCollection collection;
+
+    @Getter
+    @Nullable
+    private final DocumentDbEntityInformation information;
+
+    CollectionMetadata(@NonNull String databaseLink, @NonNull String collectionName) {
+        this(databaseLink + "/colls/" + collectionName, null, null);
+    }
+
+    private CollectionMetadata(@NonNull String collectionLink, @Nullable DocumentCollection collection,
+                               @Nullable DocumentDbEntityInformation information) {
+        this.collectionLink = collectionLink;
+        this.documentLinkPrefix = collectionLink + "/docs/";
+        this.collection = collection;
+        this.information = information;
+    }
+
+    String getDocumentLink(@NonNull Object documentId) {
+        return documentLinkPrefix + documentId;
+    }
+
+    CollectionMetadata withCollection(@NonNull DocumentCollection collection,
+                                      @NonNull DocumentDbEntityInformation information) {
+        return new CollectionMetadata(collectionLink, collection, information);
+    }
+
+    CollectionMetadata invalidated() {
+        return new CollectionMetadata(collectionLink, null, information);
+    }
+}
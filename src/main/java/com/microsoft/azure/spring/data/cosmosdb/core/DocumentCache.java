@@ -0,0 +1,181 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.Document;
+import lombok.Getter;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded read-through cache of the documents read by id, kept by {@link DocumentDbTemplate} per domain class, see
+ * {@link com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document#cacheSize()}. The least recently used entry
+ * is evicted once the size is reached. An entry not validated within the time to live is dropped, and one not
+ * validated within the revalidation time is stale, to be read again conditionally on its etag.
+ * <p>
+ * Documents are cached instead of entities, as entities are mutable, and each hit is read into a new entity.
+ * <p>
+ * A response is cached only if the cache is not changed since its request was sent, as told by
+ * {@link #getStamp()}, so a read racing with a write or an eviction cannot put back an older document. The check is
+ * per cache rather than per key, a response is not cached whenever any change overlaps its request. Changes made by
+ * other clients are only seen on revalidation.
+ */
+final class DocumentCache {
+
+    static final DocumentCache DISABLED = new DocumentCache(0, 0, 0, System::nanoTime);
+
+    private final int maxSize;
+    private final long timeToLiveNanos;
+    private final long revalidateAfterNanos;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries;
+    private long mutations;
+
+    DocumentCache(int maxSize, long timeToLiveSeconds, long revalidateAfterSeconds, @NonNull LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.timeToLiveNanos = TimeUnit.SECONDS.toNanos(timeToLiveSeconds);
+        this.revalidateAfterNanos = TimeUnit.SECONDS.toNanos(revalidateAfterSeconds);
+        this.clock = clock;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return super.size() > DocumentCache.this.maxSize;
+            }
+        };
+    }
+
+    static DocumentCache of(int maxSize, int timeToLiveSeconds, int revalidateAfterSeconds) {
+        if (maxSize <= 0 || timeToLiveSeconds <= 0) {
+            return DISABLED;
+        }
+
+        return new DocumentCache(maxSize, timeToLiveSeconds, revalidateAfterSeconds, System::nanoTime);
+    }
+
+    boolean isEnabled() {
+        return this.maxSize > 0;
+    }
+
+    /**
+     * @return the entry of key, null if absent or expired.
+     */
+    @Nullable
+    synchronized Entry get(@NonNull String key) {
+        final Entry entry = this.entries.get(key);
+
+        if (entry != null && this.clock.getAsLong() - entry.validatedAt >= this.timeToLiveNanos) {
+            this.entries.remove(key);
+
+            return null;
+        }
+
+        return entry;
+    }
+
+    /**
+     * @return the stamp to take before sending a request whose response is to be cached.
+     */
+    synchronized long getStamp() {
+        return this.mutations;
+    }
+
+    /**
+     * Cache the document read by a request sent at stamp, unless the cache is changed since. The entry is returned
+     * even if it is not cached.
+     */
+    Entry putRead(@NonNull String key, @NonNull Document document, long stamp) {
+        return putRead(key, new Entry(document, this.clock.getAsLong()), stamp);
+    }
+
+    /**
+     * Mark the entry as validated now, when the document is not modified since it was cached, unless the cache is
+     * changed since the request was sent at stamp.
+     */
+    Entry revalidate(@NonNull String key, @NonNull Entry entry, long stamp) {
+        return putRead(key, new Entry(entry.document, this.clock.getAsLong()), stamp);
+    }
+
+    private Entry putRead(@NonNull String key, @NonNull Entry entry, long stamp) {
+        if (isEnabled()) {
+            synchronized (this) {
+                if (this.mutations == stamp) {
+                    this.entries.put(key, entry);
+                }
+            }
+        }
+
+        return entry;
+    }
+
+    /**
+     * Cache the document written by a request sent at stamp. The key is evicted instead if the cache is changed
+     * since, as the order of concurrent writes is not known.
+     */
+    void putWritten(@NonNull String key, @NonNull Document document, long stamp) {
+        if (isEnabled()) {
+            synchronized (this) {
+                if (this.mutations == stamp) {
+                    this.entries.put(key, new Entry(document, this.clock.getAsLong()));
+                } else {
+                    this.entries.remove(key);
+                }
+
+                this.mutations++;
+            }
+        }
+    }
+
+    void evict(@NonNull String key) {
+        if (isEnabled()) {
+            synchronized (this) {
+                this.entries.remove(key);
+                this.mutations++;
+            }
+        }
+    }
+
+    /**
+     * Evict the entries of keys starting with prefix, such as the documents of a collection.
+     */
+    void evictAll(@NonNull String keyPrefix) {
+        if (isEnabled()) {
+            synchronized (this) {
+                this.entries.keySet().removeIf(k -> k.startsWith(keyPrefix));
+                this.mutations++;
+            }
+        }
+    }
+
+    synchronized int size() {
+        return this.entries.size();
+    }
+
+    final class Entry {
+
+        @Getter
+        private final Document document;
+
+        private final long validatedAt;
+
+        private Entry(@NonNull Document document, long validatedAt) {
+            this.document = document;
+            this.validatedAt = validatedAt;
+        }
+
+        String getETag() {
+            return this.document.getETag();
+        }
+
+        boolean isStale() {
+            return clock.getAsLong() - this.validatedAt >= revalidateAfterNanos;
+        }
+    }
+}
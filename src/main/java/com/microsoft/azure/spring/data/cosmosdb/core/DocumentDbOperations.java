@@ -13,8 +13,13 @@ import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
 import com.microsoft.azure.spring.data.cosmosdb.repository.support.DocumentDbEntityInformation;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.util.CloseableIterator;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 public interface DocumentDbOperations {
 
@@ -26,10 +31,20 @@ public interface DocumentDbOperations {
 
     <T> List<T> findAll(String collectionName, Class<T> entityClass);
 
+    /**
+     * Lazy {@link #findAll(String, Class)}, the pages are fetched as the stream is consumed.
+     */
+    <T> Stream<T> streamAll(String collectionName, Class<T> entityClass);
+
     <T> T findById(Object id, Class<T> entityClass);
 
     <T> T findById(String collectionName, Object id, Class<T> entityClass);
 
+    /**
+     * Tell whether the document of id exists, without reading it as entity.
+     */
+    <T> boolean existsById(String collectionName, Object id, Class<T> entityClass);
+
     <T> T insert(T objectToSave, PartitionKey partitionKey);
 
     <T> T insert(String collectionName, T objectToSave, PartitionKey partitionKey);
@@ -40,25 +55,84 @@ public interface DocumentDbOperations {
 
     <T> void deleteById(String collectionName, Object id, PartitionKey partitionKey);
 
+    <T> BulkOperationResult<T> insertAll(String collectionName, Iterable<T> entities);
+
+    <T> BulkOperationResult<T> upsertAll(String collectionName, Iterable<T> entities);
+
+    <T> BulkOperationResult<T> deleteAll(String collectionName, Iterable<T> entities);
+
+    /**
+     * Upsert the entities by a bulk import stored procedure, registered on the collection the first time it is used.
+     * Entities of one partition key are sent in batches of bounded size.
+     */
+    <T> BulkOperationResult<T> importAll(String collectionName, Iterable<T> entities);
+
     void deleteAll(String collectionName, Class<?> domainClass);
 
     void deleteCollection(String collectionName);
 
     <T> List<T> delete(DocumentQuery query, Class<T> entityClass, String collectionName);
 
+    /**
+     * Delete the documents found by query without reading them back, selecting only their id, self link and
+     * partition key.
+     *
+     * @return count of the deleted documents.
+     */
+    long deleteAll(DocumentQuery query, Class<?> entityClass, String collectionName);
+
+    /**
+     * Delete the documents found by query inside CosmosDB, without transferring the documents.
+     *
+     * @return count of the deleted documents.
+     */
+    long deleteByQuery(DocumentQuery query, Class<?> entityClass, String collectionName);
+
     <T> List<T> find(DocumentQuery query, Class<T> entityClass, String collectionName);
 
+    <T> List<T> find(DocumentQuery query, Class<?> entityClass, Class<T> returnType, String collectionName);
+
+    /**
+     * Find as {@link #find(DocumentQuery, Class, Class, String)}, the pages are fetched and the documents are read one
+     * by one as the iterator is consumed. Close the iterator if it is not fully consumed.
+     */
+    <T> CloseableIterator<T> findAsIterator(DocumentQuery query, Class<?> entityClass, Class<T> returnType,
+                                            String collectionName);
+
+    /**
+     * Lazy stream of {@link #findAsIterator(DocumentQuery, Class, Class, String)}.
+     */
+    <T> Stream<T> stream(DocumentQuery query, Class<?> entityClass, Class<T> returnType, String collectionName);
+
     <T, ID> List<T> findByIds(Iterable<ID> ids, Class<T> entityClass, String collectionName);
 
+    /**
+     * Find the entities of ids by point reads with given partition keys, in the order of ids.
+     */
+    <T, ID> List<T> findByIds(Map<ID, PartitionKey> idsToPartitionKeys, Class<T> entityClass, String collectionName);
+
     <T> Boolean exists(DocumentQuery query, Class<T> entityClass, String collectionName);
 
     <T> Page<T> findAll(Pageable pageable, Class<T> domainClass, String collectionName);
 
     <T> Page<T> paginationQuery(DocumentQuery query, Class<T> domainClass, String collectionName);
 
+    <T> Page<T> paginationQuery(DocumentQuery query, Class<?> domainClass, Class<T> returnType,
+                                String collectionName);
+
+    /**
+     * Query one slice of results without counting the total, see {@link DocumentQuery#getPageable()}.
+     */
+    <T> Slice<T> sliceQuery(DocumentQuery query, Class<?> domainClass, Class<T> returnType, String collectionName);
+
     long count(String collectionName);
 
     <T> long count(DocumentQuery query, Class<T> domainClass, String collectionName);
 
     MappingDocumentDbConverter getConverter();
+
+    /**
+     * @return the executor of asynchronous repository methods, shared by all the repositories of these operations.
+     */
+    Executor getAsyncExecutor();
 }
@@ -6,13 +6,16 @@
 
 package com.microsoft.azure.spring.data.cosmosdb.core;
 
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
 import com.microsoft.azure.documentdb.*;
 import com.microsoft.azure.documentdb.internal.HttpConstants;
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
 import com.microsoft.azure.spring.data.cosmosdb.DocumentDbFactory;
-import com.microsoft.azure.spring.data.cosmosdb.common.CosmosdbUtils;
 import com.microsoft.azure.spring.data.cosmosdb.config.DocumentDBConfig;
+import com.microsoft.azure.spring.data.cosmosdb.config.RequestOptionsTemplate;
 import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
 import com.microsoft.azure.spring.data.cosmosdb.core.generator.CountQueryGenerator;
+import com.microsoft.azure.spring.data.cosmosdb.core.generator.ExistsQueryGenerator;
 import com.microsoft.azure.spring.data.cosmosdb.core.generator.FindQuerySpecGenerator;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
@@ -25,24 +28,53 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.data.util.StreamUtils;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter.toDocumentDBValue;
 
 @Slf4j
-public class DocumentDbTemplate implements DocumentDbOperations, ApplicationContextAware {
+public class DocumentDbTemplate implements DocumentDbOperations, ApplicationContextAware, DisposableBean {
     private static final String COUNT_VALUE_KEY = "_aggregate";
 
     @Getter(AccessLevel.PRIVATE)
@@ -51,8 +83,19 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
     private final MappingDocumentDbConverter mappingDocumentDbConverter;
     private final String databaseName;
 
-    private Database databaseCache;
-    private List<String> collectionCache;
+    private final String databaseLink;
+    private final ConcurrentMap<String, CollectionMetadata> collectionMetadata = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, RequestOptionsTemplate> entityRequestOptions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, DocumentCache> documentCaches = new ConcurrentHashMap<>();
+
+    private volatile Database databaseCache;
+    private ExecutorService bulkExecutor;
+    private ExecutorService lookupExecutor;
+    private final Executor asyncExecutor = command -> getAsyncThreadPool().execute(command);
+    private ExecutorService asyncThreadPool;
+    private boolean isDestroyed;
+    private BulkImportClient bulkImportClient;
+    private BulkDeleteClient bulkDeleteClient;
 
     public DocumentDbTemplate(DocumentDbFactory documentDbFactory,
                               MappingDocumentDbConverter mappingDocumentDbConverter,
@@ -64,7 +107,9 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
         this.documentDbFactory = documentDbFactory;
         this.documentClient = this.documentDbFactory.getDocumentClient();
         this.mappingDocumentDbConverter = mappingDocumentDbConverter;
-        this.collectionCache = new ArrayList<>();
+        this.databaseLink = "dbs/" + dbName;
+        this.bulkImportClient = new StoredProcedureBulkImportClient(this.documentClient);
+        this.bulkDeleteClient = new StoredProcedureBulkDeleteClient(this.documentClient);
     }
 
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
@@ -73,7 +118,7 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
     public <T> T insert(T objectToSave, PartitionKey partitionKey) {
         Assert.notNull(objectToSave, "entityClass should not be null");
 
-        return insert(getCollectionName(objectToSave.getClass()), objectToSave, partitionKey);
+        return insert(getCollectionName(ClassUtils.getUserClass(objectToSave)), objectToSave, partitionKey);
     }
 
     public <T> T insert(String collectionName, T objectToSave, PartitionKey partitionKey) {
@@ -84,24 +129,40 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
 
         log.debug("execute createDocument in database {} collection {}", this.databaseName, collectionName);
 
+        @SuppressWarnings("unchecked") final Class<T> domainClass = (Class<T>) ClassUtils.getUserClass(objectToSave);
+        final DocumentCache cache = getDocumentCache(domainClass);
+        final long stamp = cache.getStamp();
+
         try {
             final Resource result = getDocumentClient()
-                    .createDocument(getCollectionLink(this.databaseName, collectionName), document,
-                            getRequestOptions(partitionKey, null), false).getResource();
+                    .createDocument(getCollectionLink(collectionName), document,
+                            getRequestOptions(domainClass, partitionKey, null), false)
+                    .getResource();
 
             if (result instanceof Document) {
                 final Document documentInserted = (Document) result;
-                @SuppressWarnings("unchecked") final Class<T> domainClass = (Class<T>) objectToSave.getClass();
+
+                cache.putWritten(getDocumentLink(collectionName, documentInserted.getId()), documentInserted, stamp);
+
+                if (isSkipInsertReadBack(domainClass)) {
+                    return mappingDocumentDbConverter.readGeneratedProperties(objectToSave, documentInserted);
+                }
 
                 return mappingDocumentDbConverter.read(domainClass, documentInserted);
             } else {
                 return null;
             }
         } catch (DocumentClientException e) {
+            invalidateIfStale(collectionName, e, true);
             throw new DocumentDBAccessException("insert exception", e);
         }
     }
 
+    private boolean isSkipInsertReadBack(@NonNull Class<?> domainClass) {
+        return getDocumentDbConfig().isSkipInsertReadBack()
+                || DocumentDbEntityInformation.getInstance(domainClass).isSkipInsertReadBack();
+    }
+
     public <T> T findById(Object id, Class<T> entityClass) {
         Assert.notNull(entityClass, "entityClass should not be null");
 
@@ -109,8 +170,7 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
     }
 
     private boolean isIdFieldAsPartitionKey(@NonNull Class<?> domainClass) {
-        @SuppressWarnings("unchecked") final DocumentDbEntityInformation information
-                = new DocumentDbEntityInformation(domainClass);
+        final DocumentDbEntityInformation<?, ?> information = DocumentDbEntityInformation.getInstance(domainClass);
         final String partitionKeyName = information.getPartitionKeyFieldName();
         final String idName = information.getIdField().getName();
 
@@ -122,23 +182,104 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
         Assert.notNull(domainClass, "entityClass should not be null");
         assertValidId(id);
 
+        final PartitionKey partitionKey = isIdFieldAsPartitionKey(domainClass) ? new PartitionKey(id) : null;
+
+        return readById(collectionName, id, partitionKey, domainClass);
+    }
+
+    /**
+     * Tell whether the document of id exists. The document is read by a point read without conversion if the id is
+     * enough to locate it, as the collection is not partitioned or partitioned by id. Otherwise the id is looked up by
+     * {@link #exists(DocumentQuery, Class, String)} across partitions.
+     */
+    @Override
+    public <T> boolean existsById(String collectionName, Object id, Class<T> domainClass) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+        Assert.notNull(domainClass, "entityClass should not be null");
+        assertValidId(id);
+
+        final List<String> partitionKeyNames = getPartitionKeyNames(domainClass);
+
+        if (!partitionKeyNames.isEmpty() && !isIdFieldAsPartitionKey(domainClass)) {
+            final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.IS_EQUAL,
+                    Constants.ID_PROPERTY_NAME, Collections.singletonList(id)));
+
+            return exists(query, domainClass, collectionName);
+        }
+
+        final PartitionKey partitionKey = partitionKeyNames.isEmpty() ? null : new PartitionKey(id);
+
         try {
-            final PartitionKey partitionKey = isIdFieldAsPartitionKey(domainClass) ? new PartitionKey(id) : null;
-            final RequestOptions options = getRequestOptions(partitionKey, null);
+            final RequestOptions options = getRequestOptions(domainClass, partitionKey, null);
+            final String documentLink = getDocumentLink(collectionName, id);
+
+            return getDocumentClient().readDocument(documentLink, options) != null;
+        } catch (DocumentClientException e) {
+            if (e.getStatusCode() == HttpConstants.StatusCodes.NOTFOUND) {
+                return false;
+            }
+
+            invalidateIfStale(collectionName, e, false);
+
+            throw new DocumentDBAccessException("existsById exception", e);
+        }
+    }
+
+    /**
+     * Read the document of id through the cache of domain class, see {@link #getDocumentCache(Class)}. A cached
+     * document past its revalidation time is read again only if its etag is changed.
+     */
+    private <T> T readById(@NonNull String collectionName, @NonNull Object id, PartitionKey partitionKey,
+                           @NonNull Class<T> domainClass) {
+        final DocumentCache cache = getDocumentCache(domainClass);
+        final String documentLink = getDocumentLink(collectionName, id);
+        DocumentCache.Entry entry = cache.get(documentLink);
+
+        if (entry == null || entry.isStale()) {
+            entry = readDocument(collectionName, documentLink, partitionKey, domainClass, cache, entry);
+        }
+
+        return entry == null ? null : mappingDocumentDbConverter.read(domainClass, entry.getDocument());
+    }
+
+    private DocumentCache.Entry readDocument(@NonNull String collectionName, @NonNull String documentLink,
+                                             PartitionKey partitionKey, @NonNull Class<?> domainClass,
+                                             @NonNull DocumentCache cache, @Nullable DocumentCache.Entry cached) {
+        final long stamp = cache.getStamp();
+
+        try {
+            final RequestOptions options = getRequestOptions(domainClass, partitionKey, null);
+
+            if (cached != null) {
+                final AccessCondition condition = new AccessCondition();
+
+                condition.setType(AccessConditionType.IfNoneMatch);
+                condition.setCondition(cached.getETag());
+                options.setAccessCondition(condition);
+            }
+
+            final ResourceResponse<Document> response = getDocumentClient().readDocument(documentLink, options);
+
+            if (cached != null && response.getStatusCode() == Constants.NOT_MODIFIED_STATUS_CODE) {
+                return cache.revalidate(documentLink, cached, stamp);
+            }
 
-            final String documentLink = getDocumentLink(this.databaseName, collectionName, id);
-            final Resource document = getDocumentClient().readDocument(documentLink, options).getResource();
+            final Resource document = response.getResource();
 
             if (document instanceof Document) {
-                return mappingDocumentDbConverter.read(domainClass, (Document) document);
+                return cache.putRead(documentLink, (Document) document, stamp);
             } else {
                 return null;
             }
         } catch (DocumentClientException e) {
             if (e.getStatusCode() == HttpConstants.StatusCodes.NOTFOUND) {
+                cache.evict(documentLink);
+
                 return null;
             }
 
+            invalidateIfStale(collectionName, e, false);
+
             throw new DocumentDBAccessException("findById exception", e);
         }
     }
@@ -146,7 +287,7 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
     public <T> void upsert(T object, PartitionKey partitionKey) {
         Assert.notNull(object, "Upsert object should not be null");
 
-        upsert(getCollectionName(object.getClass()), object, partitionKey);
+        upsert(getCollectionName(ClassUtils.getUserClass(object)), object, partitionKey);
     }
 
     public <T> void upsert(String collectionName, T object, PartitionKey partitionKey) {
@@ -155,20 +296,32 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
 
         try {
             Document originalDoc;
+            Class<?> domainClass = null;
 
             if (object instanceof Document) {
                 originalDoc = (Document) object;
             } else {
                 originalDoc = mappingDocumentDbConverter.writeDoc(object);
+                domainClass = ClassUtils.getUserClass(object);
             }
 
             log.debug("execute upsert document in database {} collection {}", this.databaseName, collectionName);
 
-            final String collectionLink = getCollectionSelfLink(collectionName);
-            final RequestOptions options = getRequestOptions(partitionKey, null);
-
-            getDocumentClient().upsertDocument(collectionLink, originalDoc, options, false);
+            final String collectionLink = getCollectionLink(collectionName);
+            final RequestOptions options = getRequestOptions(domainClass, partitionKey, null);
+            final DocumentCache cache = domainClass == null ? DocumentCache.DISABLED : getDocumentCache(domainClass);
+            final long stamp = cache.getStamp();
+            final ResourceResponse<Document> response =
+                    getDocumentClient().upsertDocument(collectionLink, originalDoc, options, false);
+            final Resource upserted = response == null ? null : response.getResource();
+
+            if (domainClass != null && upserted instanceof Document) {
+                cache.putWritten(getDocumentLink(collectionName, upserted.getId()), (Document) upserted, stamp);
+            } else if (originalDoc.getId() != null) {
+                evictCached(collectionName, originalDoc.getId());
+            }
         } catch (DocumentClientException ex) {
+            invalidateIfStale(collectionName, ex, true);
             throw new DocumentDBAccessException("Failed to upsert document to database.", ex);
         }
     }
@@ -184,17 +337,98 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
         Assert.notNull(domainClass, "entityClass should not be null");
 
         final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL));
-        final List<Document> results = findDocuments(query, domainClass, collectionName);
 
-        return results.stream().map(d -> getConverter().read(domainClass, d)).collect(Collectors.toList());
+        return find(query, domainClass, collectionName);
+    }
+
+    @Override
+    public <T> Stream<T> streamAll(@NonNull String collectionName, @NonNull Class<T> domainClass) {
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL));
+
+        return stream(query, domainClass, domainClass, collectionName);
     }
 
+    /**
+     * Delete the documents by {@link #deleteAll(DocumentQuery, Class, String)}, or by
+     * {@link #deleteByQuery(DocumentQuery, Class, String)} if the domain class enables
+     * {@link com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document#serverSideDelete()}.
+     */
     public void deleteAll(@NonNull String collectionName, @NonNull Class<?> domainClass) {
         Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
 
         final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL));
 
-        this.delete(query, domainClass, collectionName);
+        if (DocumentDbEntityInformation.getInstance(domainClass).isServerSideDelete()) {
+            deleteByQuery(query, domainClass, collectionName);
+        } else {
+            deleteAll(query, domainClass, collectionName);
+        }
+    }
+
+    /**
+     * Delete the documents found by query without reading them back, only the id, self link and partition key of
+     * documents are selected. The documents of each fetched page are deleted concurrently on the bulk executor, so at
+     * most {@link DocumentDBConfig#getBulkParallelism()} deletes are in flight. Sort and paging of the query are
+     * ignored.
+     */
+    @Override
+    public long deleteAll(@NonNull DocumentQuery query, @NonNull Class<?> domainClass,
+                          @NonNull String collectionName) {
+        Assert.notNull(query, "DocumentQuery should not be null.");
+        Assert.notNull(domainClass, "domainClass should not be null.");
+        Assert.hasText(collectionName, "collection should not be null, empty or only whitespaces");
+
+        final List<String> partitionKeyNames = getPartitionKeyNames(domainClass);
+        final List<String> projection = new ArrayList<>(Arrays.asList(Constants.ID_PROPERTY_NAME,
+                Constants.SELF_LINK_PROPERTY_NAME));
+        String partitionKeyResultName = null;
+
+        if (!partitionKeyNames.isEmpty()) {
+            final String partitionKeyName = partitionKeyNames.get(0);
+
+            // Nested keys are selected as their last segment
+            partitionKeyResultName = partitionKeyName.substring(partitionKeyName.lastIndexOf('.') + 1);
+
+            if (!projection.contains(partitionKeyName)) {
+                projection.add(partitionKeyName);
+            }
+        }
+
+        final DocumentQuery keysQuery = new DocumentQuery(query.getCriteria()).withProjection(projection)
+                .withLimit(query.getLimit());
+        final SqlQuerySpec querySpec = new FindQuerySpecGenerator().generate(keysQuery);
+        final QueryIterable<Document> documents = executeQuery(querySpec,
+                query.isCrossPartitionQuery(partitionKeyNames), query.getLimit(), collectionName).getQueryIterable();
+        long deleted = 0;
+
+        log.debug("execute delete by query in database {} collection {}", this.databaseName, collectionName);
+
+        try {
+            for (List<Document> page = documents.fetchNextBlock(); page != null && !page.isEmpty();
+                 page = documents.fetchNextBlock()) {
+                deleteDocuments(collectionName, page, partitionKeyResultName);
+                deleted += page.size();
+            }
+        } catch (DocumentClientException e) {
+            invalidateIfStale(collectionName, e, true);
+            throw new DocumentDBAccessException("Failed to find documents to delete from " + collectionName, e);
+        }
+
+        return deleted;
+    }
+
+    private void deleteDocuments(@NonNull String collectionName, @NonNull List<Document> documents,
+                                 String partitionKeyResultName) {
+        final List<Future<?>> futures = new ArrayList<>(documents.size());
+
+        for (final Document document : documents) {
+            final PartitionKey partitionKey = partitionKeyResultName == null ? null
+                    : new PartitionKey(document.get(partitionKeyResultName));
+
+            futures.add(getBulkExecutor().submit(() -> deleteDocument(collectionName, document, partitionKey)));
+        }
+
+        awaitBulk(futures);
     }
 
     @Override
@@ -202,17 +436,19 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
         Assert.hasText(collectionName, "collectionName should have text.");
 
         try {
-            getDocumentClient().deleteCollection(getCollectionLink(this.databaseName, collectionName), null);
-            this.collectionCache.remove(collectionName);
+            getDocumentClient().deleteCollection(getCachedMetadata(collectionName).getCollectionLink(), null);
         } catch (DocumentClientException ex) {
             throw new DocumentDBAccessException("failed to delete collection: " + collectionName, ex);
+        } finally {
+            evictCached(collectionName, null);
+            this.collectionMetadata.remove(collectionName);
         }
     }
 
     public String getCollectionName(Class<?> domainClass) {
         Assert.notNull(domainClass, "domainClass should not be null");
 
-        return new DocumentDbEntityInformation<>(domainClass).getCollectionName();
+        return DocumentDbEntityInformation.getInstance(domainClass).getCollectionName();
     }
 
     private Database createDatabaseIfNotExists(String dbName) {
@@ -276,7 +512,7 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
 
         try {
             final Resource resource = getDocumentClient()
-                    .createCollection(getDatabaseLink(dbName), collection, requestOptions)
+                    .createCollection(this.databaseLink, collection, requestOptions)
                     .getResource();
             if (resource instanceof DocumentCollection) {
                 collection = (DocumentCollection) resource;
@@ -287,243 +523,1166 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
         }
     }
 
+    /**
+     * Get the collection of entity, created if absent. The resolved collection is cached until it is deleted by
+     * {@link #deleteCollection(String)} or found stale, so repositories of the same collection query it once. A
+     * stale collection is resolved again by the next operation on it.
+     */
     @Override
     public DocumentCollection createCollectionIfNotExists(@NonNull DocumentDbEntityInformation information) {
-        if (this.databaseCache == null) {
-            this.databaseCache = createDatabaseIfNotExists(this.databaseName);
+        final String collectionName = information.getCollectionName();
+        final CollectionMetadata metadata = getCachedMetadata(collectionName);
+
+        if (metadata.getCollection() != null) {
+            return metadata.getCollection();
         }
 
-        final String collectionName = information.getCollectionName();
-        final String partitionKeyFieldName = information.getPartitionKeyFieldName();
+        getDatabase();
 
+        final String partitionKeyFieldName = information.getPartitionKeyFieldName();
         final List<DocumentCollection> collectionList = getDocumentClient()
-                .queryCollections(getDatabaseLink(this.databaseName),
+                .queryCollections(this.databaseLink,
                         new SqlQuerySpec("SELECT * FROM root r WHERE r.id=@id",
                                 new SqlParameterCollection(new SqlParameter("@id", collectionName))), null)
                 .getQueryIterable().toList();
+        final DocumentCollection collection = collectionList.isEmpty()
+                ? createCollection(this.databaseName, partitionKeyFieldName, information) : collectionList.get(0);
 
-        if (!collectionList.isEmpty()) {
-            return collectionList.get(0);
-        } else {
-            return createCollection(this.databaseName, partitionKeyFieldName, information);
-        }
+        // Not cached if the metadata is changed meanwhile, such as found stale, which then is resolved again
+        this.collectionMetadata.replace(collectionName, metadata, metadata.withCollection(collection, information));
+
+        return collection;
     }
 
-    public void deleteById(String collectionName, Object id, PartitionKey partitionKey) {
-        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
-        assertValidId(id);
+    private Database getDatabase() {
+        Database database = this.databaseCache;
 
-        log.debug("execute deleteById in database {} collection {}", this.databaseName, collectionName);
+        if (database == null) {
+            synchronized (this) {
+                database = this.databaseCache;
 
-        try {
-            final RequestOptions options = getRequestOptions(partitionKey, null);
-            getDocumentClient().deleteDocument(getDocumentLink(databaseName, collectionName, id.toString()), options);
-        } catch (DocumentClientException ex) {
-            throw new DocumentDBAccessException("deleteById exception", ex);
+                if (database == null) {
+                    database = createDatabaseIfNotExists(this.databaseName);
+                    this.databaseCache = database;
+                }
+            }
         }
-    }
 
-    private String getDatabaseLink(String databaseName) {
-        return "dbs/" + databaseName;
+        return database;
     }
 
-    private String getCollectionLink(String databaseName, String collectionName) {
-        return getDatabaseLink(databaseName) + "/colls/" + collectionName;
-    }
+    /**
+     * Get the cache of documents read by id of domain class, see
+     * {@link com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document#cacheSize()}. It is disabled for
+     * collections partitioned by other than id, as their documents are not read by id alone.
+     */
+    private DocumentCache getDocumentCache(@NonNull Class<?> domainClass) {
+        return this.documentCaches.computeIfAbsent(domainClass, c -> {
+            final DocumentDbEntityInformation<?, ?> information = DocumentDbEntityInformation.getInstance(c);
 
-    private String getDocumentLink(String databaseName, String collectionName, Object documentId) {
-        return getCollectionLink(databaseName, collectionName) + "/docs/" + documentId;
-    }
+            if (information.getPartitionKeyFieldName() != null && !isIdFieldAsPartitionKey(c)) {
+                return DocumentCache.DISABLED;
+            }
 
-    private String getPartitionKeyPath(String partitionKey) {
-        return "/" + partitionKey;
+            return DocumentCache.of(information.getCacheSize(), information.getCacheTimeToLive(),
+                    information.getCacheRevalidateAfter());
+        });
     }
 
-    @NonNull
-    private DocumentDBConfig getDocumentDbConfig() {
-        return documentDbFactory.getConfig();
-    }
+    /**
+     * Evict the cached document of id from the caches of all domain classes, or all cached documents of the
+     * collection if id is null, for writes not telling the domain class or the ids of documents.
+     */
+    private void evictCached(@NonNull String collectionName, @Nullable Object id) {
+        if (this.documentCaches.isEmpty()) {
+            return;
+        }
 
-    private RequestOptions getRequestOptions(PartitionKey key, Integer requestUnit) {
-        final RequestOptions options = CosmosdbUtils.getCopyFrom(getDocumentDbConfig().getRequestOptions());
+        if (id == null) {
+            final String documentLinkPrefix = getCachedMetadata(collectionName).getDocumentLink("");
 
-        if (key != null) {
-            options.setPartitionKey(key);
-        }
+            this.documentCaches.values().forEach(c -> c.evictAll(documentLinkPrefix));
+        } else {
+            final String documentLink = getCachedMetadata(collectionName).getDocumentLink(id);
 
-        if (requestUnit != null) {
-            options.setOfferThroughput(requestUnit);
+            this.documentCaches.values().forEach(c -> c.evict(documentLink));
         }
-
-        return options;
     }
 
-    private <T> List<T> executeQuery(@NonNull SqlQuerySpec sqlQuerySpec, boolean isCrossPartition,
-                                     @NonNull Class<T> domainClass, String collectionName) {
-        final FeedResponse<Document> feedResponse = executeQuery(sqlQuerySpec, isCrossPartition, collectionName);
-        final List<Document> result = feedResponse.getQueryIterable().toList();
-
-        return result.stream().map(r -> getConverter().read(domainClass, r)).collect(Collectors.toList());
+    private CollectionMetadata getCachedMetadata(@NonNull String collectionName) {
+        return this.collectionMetadata.computeIfAbsent(collectionName,
+                name -> new CollectionMetadata(this.databaseLink, name));
     }
 
-    private FeedResponse<Document> executeQuery(@NonNull SqlQuerySpec sqlQuerySpec, boolean isCrossPartition,
-                                                String collectionName) {
-        final FeedOptions feedOptions = new FeedOptions();
-        final String selfLink = getCollectionSelfLink(collectionName);
-
-        feedOptions.setEnableCrossPartitionQuery(isCrossPartition);
+    /**
+     * Get the metadata of collection for an operation on it, the collection is resolved again first if stale.
+     */
+    private CollectionMetadata getCollectionMetadata(@NonNull String collectionName) {
+        final CollectionMetadata metadata = getCachedMetadata(collectionName);
+        final DocumentDbEntityInformation information = metadata.getInformation();
+
+        // Resolved before, and found stale since
+        if (metadata.getCollection() == null && information != null) {
+            log.debug("resolve stale collection {} again", collectionName);
+            createCollectionIfNotExists(information);
+        }
 
-        return getDocumentClient().queryDocuments(selfLink, sqlQuerySpec, feedOptions);
+        return metadata;
     }
 
-    private FeedResponse<Document> executeQuery(@NonNull SqlQuerySpec sqlQuerySpec, FeedOptions feedOptions,
-                                                String collectionName) {
-        final String selfLink = getCollectionSelfLink(collectionName);
-
-        return getDocumentClient().queryDocuments(selfLink, sqlQuerySpec, feedOptions);
+    /**
+     * Mark the cached collection stale on responses telling it is gone, or not found where the collection itself is
+     * addressed, so it is resolved again by the next operation on it.
+     */
+    private void invalidateIfStale(@NonNull String collectionName, @NonNull DocumentClientException e,
+                                   boolean isCollectionAddressed) {
+        final int statusCode = e.getStatusCode();
+
+        if (statusCode == HttpConstants.StatusCodes.GONE
+                || (isCollectionAddressed && statusCode == HttpConstants.StatusCodes.NOTFOUND)) {
+            log.debug("invalidate cached collection {} on status code {}", collectionName, statusCode);
+            this.collectionMetadata.computeIfPresent(collectionName, (name, metadata) -> metadata.invalidated());
+        }
     }
 
-    @Override
-    public <T, ID> List<T> findByIds(Iterable<ID> ids, Class<T> entityClass, String collectionName) {
-        Assert.notNull(ids, "Id list should not be null");
-        Assert.notNull(entityClass, "entityClass should not be null.");
-        Assert.hasText(collectionName, "collection should not be null, empty or only whitespaces");
-
-        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.IN, "id",
-                Collections.singletonList(ids)));
-        return find(query, entityClass, collectionName);
+    /**
+     * Mark the cached collection stale on the failure of iterating a query of it, as the query iterables wrap the
+     * {@link DocumentClientException} of fetching a page.
+     */
+    void invalidateIfStale(@NonNull String collectionName, @NonNull Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DocumentClientException) {
+                invalidateIfStale(collectionName, (DocumentClientException) cause, true);
+                return;
+            }
+        }
     }
 
-    public <T> List<T> find(@NonNull DocumentQuery query, @NonNull Class<T> domainClass, String collectionName) {
-        Assert.notNull(query, "DocumentQuery should not be null.");
-        Assert.notNull(domainClass, "domainClass should not be null.");
-        Assert.hasText(collectionName, "collection should not be null, empty or only whitespaces");
+    public void deleteById(String collectionName, Object id, PartitionKey partitionKey) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+        assertValidId(id);
 
-        try {
-            final SqlQuerySpec sqlQuerySpec = new FindQuerySpecGenerator().generate(query);
-            final boolean isCrossPartitionQuery = query.isCrossPartitionQuery(getPartitionKeyNames(domainClass));
+        log.debug("execute deleteById in database {} collection {}", this.databaseName, collectionName);
 
-            return this.executeQuery(sqlQuerySpec, isCrossPartitionQuery, domainClass, collectionName);
-        } catch (IllegalStateException | IllegalArgumentException e) {
-            throw new DocumentDBAccessException("Failed to execute find operation from " + collectionName, e);
+        try {
+            final RequestOptions options = getRequestOptions(partitionKey, null);
+            getDocumentClient().deleteDocument(getDocumentLink(collectionName, id), options);
+        } catch (DocumentClientException ex) {
+            invalidateIfStale(collectionName, ex, false);
+            throw new DocumentDBAccessException("deleteById exception", ex);
+        } finally {
+            evictCached(collectionName, id);
         }
     }
 
-    public <T> Boolean exists(@NonNull DocumentQuery query, @NonNull Class<T> domainClass, String collectionName) {
-        return this.find(query, domainClass, collectionName).size() > 0;
+    /**
+     * Insert the entities concurrently, see {@link #executeBulk(String, Iterable, BulkItemOperation)}.
+     *
+     * @return the inserted entities read back from CosmosDB for succeeded items.
+     */
+    @Override
+    public <T> BulkOperationResult<T> insertAll(@NonNull String collectionName, @NonNull Iterable<T> entities) {
+        return executeBulk(collectionName, entities, (e, information, key) -> insert(collectionName, e, key));
     }
 
-    private List<Document> findDocuments(@NonNull DocumentQuery query, @NonNull Class<?> domainClass,
-                                         @NonNull String collectionName) {
-        final SqlQuerySpec sqlQuerySpec = new FindQuerySpecGenerator().generate(query);
-        final boolean isCrossPartitionQuery = query.isCrossPartitionQuery(getPartitionKeyNames(domainClass));
-        final FeedResponse<Document> response = executeQuery(sqlQuerySpec, isCrossPartitionQuery, collectionName);
+    @Override
+    public <T> BulkOperationResult<T> upsertAll(@NonNull String collectionName, @NonNull Iterable<T> entities) {
+        return executeBulk(collectionName, entities, (e, information, key) -> {
+            upsert(collectionName, e, key);
+            return e;
+        });
+    }
 
-        return response.getQueryIterable().toList();
+    @Override
+    public <T> BulkOperationResult<T> deleteAll(@NonNull String collectionName, @NonNull Iterable<T> entities) {
+        return executeBulk(collectionName, entities, (e, information, key) -> {
+            deleteById(collectionName, information.getId(e), key);
+            return e;
+        });
     }
 
-    private void deleteDocument(@NonNull Document document, @NonNull List<String> partitionKeyNames) {
+    /**
+     * Import the entities of each partition key by the tasks on the bulk executor, see
+     * {@link #importBulkGroup(String, List, AtomicReferenceArray)}.
+     *
+     * @return the given entities for succeeded items.
+     */
+    @Override
+    public <T> BulkOperationResult<T> importAll(@NonNull String collectionName, @NonNull Iterable<T> entities) {
+        final String collectionLink = getCollectionLink(collectionName);
+
         try {
-            Assert.isTrue(partitionKeyNames.size() <= 1, "Only one Partition is supported.");
+            return executeBulkGroups(collectionName, entities, 1, (group, items) ->
+                    importBulkGroup(collectionLink, group, items));
+        } finally {
+            evictCached(collectionName, null);
+        }
+    }
 
-            PartitionKey partitionKey = null;
+    public void setBulkImportClient(@NonNull BulkImportClient bulkImportClient) {
+        Assert.notNull(bulkImportClient, "bulkImportClient should not be null");
 
-            if (!partitionKeyNames.isEmpty() && StringUtils.hasText(partitionKeyNames.get(0))) {
-                partitionKey = new PartitionKey(document.get(partitionKeyNames.get(0)));
-            }
+        this.bulkImportClient = bulkImportClient;
+    }
 
-            final RequestOptions options = getRequestOptions(partitionKey, null);
+    public void setBulkDeleteClient(@NonNull BulkDeleteClient bulkDeleteClient) {
+        Assert.notNull(bulkDeleteClient, "bulkDeleteClient should not be null");
 
-            getDocumentClient().deleteDocument(document.getSelfLink(), options);
-        } catch (DocumentClientException e) {
-            throw new DocumentDBAccessException("Failed to delete document: " + document.getSelfLink(), e);
-        }
+        this.bulkDeleteClient = bulkDeleteClient;
     }
 
     /**
-     * Delete the DocumentQuery, need to query the domains at first, then delete the document
-     * from the result.
-     * The cosmosdb Sql API do _NOT_ support DELETE query, we cannot add one DeleteQueryGenerator.
-     *
-     * @param query          The representation for query method.
-     * @param domainClass    Class of domain
-     * @param collectionName Collection Name of database
-     * @param <T>
-     * @return All the deleted documents as List.
+     * Delete the documents found by query inside CosmosDB, by a stored procedure registered on the collection the
+     * first time it is used. The procedure is executed per partition key of the found documents, and repeated until
+     * none is left, so only the counts are transferred instead of the documents. Sort and paging of the query are
+     * ignored. A limited query is deleted by {@link #deleteAll(DocumentQuery, Class, String)} instead, as the
+     * procedure repeats the query until nothing is found.
      */
     @Override
-    public <T> List<T> delete(@NonNull DocumentQuery query, @NonNull Class<T> domainClass,
+    public long deleteByQuery(@NonNull DocumentQuery query, @NonNull Class<?> domainClass,
                               @NonNull String collectionName) {
         Assert.notNull(query, "DocumentQuery should not be null.");
         Assert.notNull(domainClass, "domainClass should not be null.");
         Assert.hasText(collectionName, "collection should not be null, empty or only whitespaces");
 
-        final List<Document> results = findDocuments(query, domainClass, collectionName);
-        final List<String> partitionKeyName = getPartitionKeyNames(domainClass);
+        if (query.getLimit() > 0) {
+            return deleteAll(query, domainClass, collectionName);
+        }
 
-        results.forEach(d -> deleteDocument(d, partitionKeyName));
+        final String collectionLink = getCollectionLink(collectionName);
+        final SqlQuerySpec querySpec = new FindQuerySpecGenerator().generate(new DocumentQuery(query.getCriteria())
+                .withProjection(Collections.singletonList(Constants.SELF_LINK_PROPERTY_NAME)));
+        long deleted = 0;
 
-        return results.stream().map(d -> getConverter().read(domainClass, d)).collect(Collectors.toList());
-    }
+        log.debug("execute deleteByQuery in database {} collection {}", this.databaseName, collectionName);
 
-    @Override
-    public <T> Page<T> findAll(Pageable pageable, Class<T> domainClass, String collectionName) {
-        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL)).with(pageable);
-        if (pageable.getSort().isSorted()) {
-            query.with(pageable.getSort());
+        try {
+            for (final PartitionKey partitionKey : findPartitionKeys(query, domainClass, collectionName)) {
+                deleted += deleteByQuery(collectionLink, partitionKey, querySpec);
+            }
+        } finally {
+            evictCached(collectionName, null);
         }
 
-        return paginationQuery(query, domainClass, collectionName);
+        return deleted;
     }
 
-    @Override
-    public <T> Page<T> paginationQuery(DocumentQuery query, Class<T> domainClass, String collectionName) {
-        Assert.isTrue(query.getPageable().getPageSize() > 0, "pageable should have page size larger than 0");
-        Assert.hasText(collectionName, "collection should not be null, empty or only whitespaces");
+    private long deleteByQuery(@NonNull String collectionLink, PartitionKey partitionKey,
+                               @NonNull SqlQuerySpec querySpec) {
+        long deleted = 0;
+        int retries = 0;
 
-        final Pageable pageable = query.getPageable();
-        final FeedOptions feedOptions = new FeedOptions();
-        if (pageable instanceof DocumentDbPageRequest) {
-            feedOptions.setRequestContinuation(((DocumentDbPageRequest) pageable).getRequestContinuation());
-        }
+        while (true) {
+            try {
+                final BulkDeleteClient.Result result = this.bulkDeleteClient.deleteDocuments(collectionLink,
+                        partitionKey, querySpec);
 
-        feedOptions.setPageSize(pageable.getPageSize());
-        feedOptions.setEnableCrossPartitionQuery(query.isCrossPartitionQuery(getPartitionKeyNames(domainClass)));
+                deleted += result.getDeleted();
 
-        final SqlQuerySpec sqlQuerySpec = new FindQuerySpecGenerator().generate(query);
-        final FeedResponse<Document> response = executeQuery(sqlQuerySpec, feedOptions, collectionName);
+                if (result.isDone()) {
+                    return deleted;
+                }
 
-        final Iterator<Document> it = response.getQueryIterator();
+                retries = result.getDeleted() > 0 ? 0 : retries + 1;
+            } catch (DocumentClientException e) {
+                if (e.getStatusCode() != HttpConstants.StatusCodes.TOO_MANY_REQUESTS) {
+                    throw new DocumentDBAccessException("bulk delete exception", e);
+                }
 
-        final List<T> result = new ArrayList<>();
-        for (int index = 0; it.hasNext() && index < pageable.getPageSize(); index++) {
-            // Limit iterator as inner iterator will automatically fetch the next page
-            final Document doc = it.next();
-            if (doc == null) {
-                continue;
-            }
+                retries++;
 
-            final T entity = mappingDocumentDbConverter.read(domainClass, doc);
-            result.add(entity);
-        }
+                final RuntimeException failure = waitForRetry(e, retries, "bulk delete");
 
-        final DocumentDbPageRequest pageRequest = DocumentDbPageRequest.of(pageable.getPageNumber(),
-                pageable.getPageSize(),
-                response.getResponseContinuation(),
-                query.getSort());
+                if (failure != null) {
+                    throw failure;
+                }
+            }
 
-        return new PageImpl<>(result, pageRequest, count(query, domainClass, collectionName));
+            if (retries > Constants.BULK_MAX_RETRIES) {
+                throw new DocumentDBAccessException("bulk delete made no progress after retries");
+            }
+        }
     }
 
-    @Override
-    public long count(String collectionName) {
-        Assert.hasText(collectionName, "collectionName should not be empty");
+    /**
+     * @return the distinct partition keys of the documents found by query, selecting only the partition key values,
+     * or a null key if the collection is not partitioned.
+     */
+    private List<PartitionKey> findPartitionKeys(@NonNull DocumentQuery query, @NonNull Class<?> domainClass,
+                                                 @NonNull String collectionName) {
+        final List<String> partitionKeyNames = getPartitionKeyNames(domainClass);
 
-        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL));
-        final SqlQuerySpec querySpec = new CountQueryGenerator().generate(query);
+        if (partitionKeyNames.isEmpty()) {
+            return Collections.singletonList(null);
+        }
 
-        return getCountValue(querySpec, true, collectionName);
-    }
+        final String partitionKeyName = partitionKeyNames.get(0);
+        final String resultKey = partitionKeyName.substring(partitionKeyName.lastIndexOf('.') + 1);
+        final SqlQuerySpec querySpec = new FindQuerySpecGenerator().generate(new DocumentQuery(query.getCriteria())
+                .withProjection(Collections.singletonList(partitionKeyName)));
+        final Set<Object> values = new LinkedHashSet<>();
+
+        try {
+            for (final Document document : executeQuery(querySpec, query.isCrossPartitionQuery(partitionKeyNames),
+                    collectionName).getQueryIterable()) {
+                values.add(document.get(resultKey));
+            }
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            invalidateIfStale(collectionName, e);
+            throw new DocumentDBAccessException("Failed to find partition keys from " + collectionName, e);
+        }
+
+        return values.stream().map(PartitionKey::new).collect(Collectors.toList());
+    }
+
+    /**
+     * Execute the operation of each entity, entities of one chunk are executed in order by one task. The entities of
+     * one partition key are split into as many chunks as the bulk executor has threads.
+     */
+    private <T> BulkOperationResult<T> executeBulk(@NonNull String collectionName, @NonNull Iterable<T> entities,
+                                                   @NonNull BulkItemOperation<T> operation) {
+        return executeBulkGroups(collectionName, entities, getBulkParallelism(), (group, items) ->
+                group.forEach(entry -> items.set(entry.index, executeBulkItem(entry, operation))));
+    }
+
+    /**
+     * Execute the operation of each group on the bulk executor, which has at most
+     * {@link DocumentDBConfig#getBulkParallelism()} threads. Entities of one partition key are grouped together, and
+     * each group is split into up to tasksPerGroup chunks of at most {@link Constants#BULK_TASK_MAX_ENTITIES}
+     * entities, one task each. So a single partition key can be written concurrently, and a large operation does not
+     * hold the threads for long between the tasks of other callers. A failed task does not stop the others.
+     */
+    private <T> BulkOperationResult<T> executeBulkGroups(@NonNull String collectionName, @NonNull Iterable<T> entities,
+                                                         int tasksPerGroup, @NonNull BulkGroupOperation<T> operation) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+        Assert.notNull(entities, "entities should not be null");
+
+        final Map<Object, List<BulkEntry<T>>> groups = new LinkedHashMap<>();
+        int count = 0;
+
+        for (final T source : entities) {
+            Assert.notNull(source, "entity should not be null");
+
+            final DocumentDbEntityInformation information =
+                    DocumentDbEntityInformation.getInstance(ClassUtils.getUserClass(source));
+            final PartitionKey partitionKey = createPartitionKey(information, source);
+
+            groups.computeIfAbsent(Objects.toString(partitionKey, null), k -> new ArrayList<>())
+                    .add(new BulkEntry<>(count++, source, information, partitionKey));
+        }
+
+        final AtomicReferenceArray<BulkOperationResult.Item<T>> items = new AtomicReferenceArray<>(count);
+        final List<Future<?>> futures = new ArrayList<>();
+
+        for (final List<BulkEntry<T>> group : groups.values()) {
+            final int chunkSize = Math.min(Constants.BULK_TASK_MAX_ENTITIES,
+                    (group.size() + tasksPerGroup - 1) / tasksPerGroup);
+
+            for (int start = 0; start < group.size(); start += chunkSize) {
+                final List<BulkEntry<T>> chunk = group.subList(start, Math.min(start + chunkSize, group.size()));
+
+                futures.add(getBulkExecutor().submit(() -> operation.execute(chunk, items)));
+            }
+        }
+
+        log.debug("execute bulk operation of {} entities in {} tasks in database {} collection {}",
+                count, futures.size(), this.databaseName, collectionName);
+
+        awaitBulk(futures);
+
+        final List<BulkOperationResult.Item<T>> results = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            results.add(items.get(i));
+        }
+
+        return new BulkOperationResult<>(results);
+    }
+
+    private static void awaitBulk(@NonNull List<Future<?>> futures) {
+        try {
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new DocumentDBAccessException("Interrupted while waiting for bulk operation", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw new DocumentDBAccessException("Failed to execute bulk operation", e.getCause());
+        }
+    }
+
+    private <T> BulkOperationResult.Item<T> executeBulkItem(@NonNull BulkEntry<T> entry,
+                                                            @NonNull BulkItemOperation<T> operation) {
+        try {
+            return new BulkOperationResult.Item<>(entry.source,
+                    operation.execute(entry.source, entry.information, entry.partitionKey), null);
+        } catch (RuntimeException e) {
+            return new BulkOperationResult.Item<>(entry.source, null, e);
+        }
+    }
+
+    /**
+     * Send the documents of one partition key to the {@link BulkImportClient} in batches of at most
+     * {@link DocumentDBConfig#getBulkImportBatchBytes()}, a batch holds one document at least. Each call resumes
+     * from the last document acknowledged, and waits as told when throttled. A batch fails as a whole when its
+     * import fails otherwise, or has made no progress for {@link Constants#BULK_MAX_RETRIES} calls, and the import
+     * goes on from the next batch. The remaining documents fail once throttled after retries.
+     */
+    private <T> void importBulkGroup(@NonNull String collectionLink, @NonNull List<BulkEntry<T>> group,
+                                     @NonNull AtomicReferenceArray<BulkOperationResult.Item<T>> items) {
+        final List<BulkEntry<T>> entries = new ArrayList<>(group.size());
+        final List<String> documents = new ArrayList<>(group.size());
+
+        for (final BulkEntry<T> entry : group) {
+            try {
+                documents.add(getConverter().writeDoc(entry.source).toJson());
+                entries.add(entry);
+            } catch (RuntimeException e) {
+                items.set(entry.index, new BulkOperationResult.Item<>(entry.source, null, e));
+            }
+        }
+
+        final PartitionKey partitionKey = group.get(0).partitionKey;
+        final int maxBatchBytes = getBulkImportBatchBytes();
+        final int[] encodedSizes = documents.stream().mapToInt(DocumentDbTemplate::getEncodedSize).toArray();
+        int imported = 0;
+        int retries = 0;
+
+        while (imported < documents.size()) {
+            final int batchEnd = getBatchEnd(encodedSizes, imported, maxBatchBytes);
+            RuntimeException failure = null;
+            RuntimeException batchFailure = null;
+
+            try {
+                final int acknowledged = this.bulkImportClient.importDocuments(collectionLink, partitionKey,
+                        documents.subList(imported, batchEnd));
+
+                for (int i = imported; i < imported + acknowledged; i++) {
+                    items.set(entries.get(i).index, new BulkOperationResult.Item<>(entries.get(i).source,
+                            entries.get(i).source, null));
+                }
+
+                imported += acknowledged;
+                retries = acknowledged > 0 ? 0 : retries + 1;
+            } catch (DocumentClientException e) {
+                if (e.getStatusCode() == HttpConstants.StatusCodes.TOO_MANY_REQUESTS) {
+                    retries++;
+                    failure = waitForRetry(e, retries, "bulk import");
+                } else {
+                    batchFailure = new DocumentDBAccessException("bulk import exception", e);
+                }
+            }
+
+            if (failure == null && retries > Constants.BULK_MAX_RETRIES) {
+                batchFailure = new DocumentDBAccessException("bulk import made no progress after retries");
+            }
+
+            if (batchFailure != null) {
+                // None of the batch is imported, as the import is one transaction
+                failBulkEntries(entries, imported, batchEnd, batchFailure, items);
+                imported = batchEnd;
+                retries = 0;
+            } else if (failure != null) {
+                failBulkEntries(entries, imported, entries.size(), failure, items);
+                return;
+            }
+        }
+    }
+
+    private static <T> void failBulkEntries(@NonNull List<BulkEntry<T>> entries, int start, int end,
+                                            @NonNull RuntimeException failure,
+                                            @NonNull AtomicReferenceArray<BulkOperationResult.Item<T>> items) {
+        for (int i = start; i < end; i++) {
+            items.set(entries.get(i).index, new BulkOperationResult.Item<>(entries.get(i).source, null, failure));
+        }
+    }
+
+    /**
+     * @return the bytes of document in the request of {@link StoredProcedureBulkImportClient}, which sends the
+     * batch as one JSON string parameter, so the quotes and backslashes of each document are escaped again. One more
+     * byte for the separating comma.
+     */
+    private static int getEncodedSize(@NonNull String document) {
+        return JsonStringEncoder.getInstance().quoteAsUTF8(document).length + 1;
+    }
+
+    private static int getBatchEnd(@NonNull int[] encodedSizes, int start, int maxBatchBytes) {
+        int end = start;
+        int bytes = 0;
+
+        while (end < encodedSizes.length) {
+            bytes += encodedSizes[end];
+
+            if (bytes > maxBatchBytes && end > start) {
+                break;
+            }
+
+            end++;
+        }
+
+        return end;
+    }
+
+    /**
+     * @return the failure if should not retry any more, or null after waiting.
+     */
+    private static RuntimeException waitForRetry(@NonNull DocumentClientException e, int retries,
+                                                 @NonNull String operation) {
+        if (retries > Constants.BULK_MAX_RETRIES) {
+            return new DocumentDBAccessException(operation + " throttled after retries", e);
+        }
+
+        try {
+            Thread.sleep(e.getRetryAfterInMilliseconds());
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return new DocumentDBAccessException("Interrupted while waiting for " + operation + " retry", ie);
+        }
+
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private PartitionKey createPartitionKey(@NonNull DocumentDbEntityInformation information, @NonNull Object entity) {
+        final Object value = information.getPartitionKeyFieldValue(entity);
+
+        if (StringUtils.isEmpty(value)) {
+            return null;
+        }
+
+        return new PartitionKey(toDocumentDBValue(value));
+    }
+
+    int getBulkParallelism() {
+        final int parallelism = getDocumentDbConfig().getBulkParallelism();
+
+        return parallelism > 0 ? parallelism : Constants.DEFAULT_BULK_PARALLELISM;
+    }
+
+    private int getBulkImportBatchBytes() {
+        final int batchBytes = getDocumentDbConfig().getBulkImportBatchBytes();
+
+        return batchBytes > 0 ? batchBytes : Constants.DEFAULT_BULK_IMPORT_BATCH_BYTES;
+    }
+
+    private synchronized ExecutorService getBulkExecutor() {
+        if (this.bulkExecutor == null) {
+            this.bulkExecutor = createExecutor("documentdb-bulk-");
+        }
+
+        return this.bulkExecutor;
+    }
+
+    /**
+     * @return the executor of concurrent lookups by ids, apart from the bulk executor so lookups do not wait for
+     * bulk writes.
+     */
+    private synchronized ExecutorService getLookupExecutor() {
+        if (this.lookupExecutor == null) {
+            this.lookupExecutor = createExecutor("documentdb-lookup-");
+        }
+
+        return this.lookupExecutor;
+    }
+
+    /**
+     * The executor has at most {@link DocumentDBConfig#getAsyncParallelism()} threads, which are created on first
+     * asynchronous call, as most applications never make one. Calls are rejected once the template is destroyed.
+     */
+    @Override
+    public Executor getAsyncExecutor() {
+        return this.asyncExecutor;
+    }
+
+    private synchronized ExecutorService getAsyncThreadPool() {
+        if (this.isDestroyed) {
+            throw new RejectedExecutionException("DocumentDbTemplate is destroyed, no asynchronous call is accepted");
+        }
+
+        if (this.asyncThreadPool == null) {
+            final int parallelism = getDocumentDbConfig().getAsyncParallelism();
+
+            this.asyncThreadPool = createExecutor("documentdb-async-",
+                    parallelism > 0 ? parallelism : Constants.DEFAULT_ASYNC_PARALLELISM);
+        }
+
+        return this.asyncThreadPool;
+    }
+
+    private ExecutorService createExecutor(@NonNull String threadNamePrefix) {
+        return createExecutor(threadNamePrefix, getBulkParallelism());
+    }
+
+    private static ExecutorService createExecutor(@NonNull String threadNamePrefix, int parallelism) {
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 60L,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+
+        threadFactory.setDaemon(true);
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (this.bulkExecutor != null) {
+            this.bulkExecutor.shutdown();
+            this.bulkExecutor = null;
+        }
+
+        if (this.lookupExecutor != null) {
+            this.lookupExecutor.shutdown();
+            this.lookupExecutor = null;
+        }
+
+        // The submitted asynchronous calls are still executed
+        this.isDestroyed = true;
+
+        if (this.asyncThreadPool != null) {
+            this.asyncThreadPool.shutdown();
+            this.asyncThreadPool = null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface BulkItemOperation<T> {
+        T execute(T entity, DocumentDbEntityInformation information, PartitionKey partitionKey);
+    }
+
+    @FunctionalInterface
+    private interface BulkGroupOperation<T> {
+        void execute(List<BulkEntry<T>> group, AtomicReferenceArray<BulkOperationResult.Item<T>> items);
+    }
+
+    private static final class BulkEntry<T> {
+        private final int index;
+        private final T source;
+        private final DocumentDbEntityInformation information;
+        private final PartitionKey partitionKey;
+
+        private BulkEntry(int index, T source, DocumentDbEntityInformation information, PartitionKey partitionKey) {
+            this.index = index;
+            this.source = source;
+            this.information = information;
+            this.partitionKey = partitionKey;
+        }
+    }
+
+    private String getCollectionLink(@NonNull String collectionName) {
+        return getCollectionMetadata(collectionName).getCollectionLink();
+    }
+
+    private String getDocumentLink(@NonNull String collectionName, @NonNull Object documentId) {
+        return getCollectionMetadata(collectionName).getDocumentLink(documentId);
+    }
+
+    private String getPartitionKeyPath(String partitionKey) {
+        return "/" + partitionKey.replace('.', '/');
+    }
+
+    @NonNull
+    private DocumentDBConfig getDocumentDbConfig() {
+        return documentDbFactory.getConfig();
+    }
+
+    private RequestOptions getRequestOptions(PartitionKey key, Integer requestUnit) {
+        return getRequestOptions(null, key, requestUnit);
+    }
+
+    /**
+     * Copy the configured request options, with the overrides of domain class if given, see
+     * {@link DocumentDbEntityInformation#getRequestOptionsTemplate(RequestOptionsTemplate)}.
+     */
+    private RequestOptions getRequestOptions(@Nullable Class<?> domainClass, PartitionKey key, Integer requestUnit) {
+        final RequestOptionsTemplate template = getDocumentDbConfig().getRequestOptionsTemplate();
+        final RequestOptions options = domainClass == null ? template.createRequestOptions()
+                : this.entityRequestOptions.computeIfAbsent(domainClass, c -> DocumentDbEntityInformation
+                .getInstance(c).getRequestOptionsTemplate(template)).createRequestOptions();
+
+        if (key != null) {
+            options.setPartitionKey(key);
+        }
+
+        if (requestUnit != null) {
+            options.setOfferThroughput(requestUnit);
+        }
+
+        return options;
+    }
+
+    <T> T readDocument(@NonNull DocumentQuery query, @NonNull Class<?> domainClass,
+                       @NonNull Class<T> returnType, @NonNull Document document) {
+        if (!returnType.isAssignableFrom(domainClass)) {
+            return getConverter().readProjection(domainClass, returnType, document);
+        } else if (query.isLazyRead()) {
+            return returnType.cast(getConverter().readLazily(domainClass, document));
+        }
+
+        return returnType.cast(getConverter().read(domainClass, document));
+    }
+
+    private FeedResponse<Document> executeQuery(@NonNull SqlQuerySpec sqlQuerySpec, boolean isCrossPartition,
+                                                String collectionName) {
+        return executeQuery(sqlQuerySpec, isCrossPartition, 0, collectionName);
+    }
+
+    private FeedResponse<Document> executeQuery(@NonNull SqlQuerySpec sqlQuerySpec, boolean isCrossPartition,
+                                                int limit, String collectionName) {
+        final FeedOptions feedOptions = new FeedOptions();
+        final String selfLink = getCollectionLink(collectionName);
+
+        feedOptions.setEnableCrossPartitionQuery(isCrossPartition);
+
+        if (limit > 0) {
+            feedOptions.setPageSize(limit);
+        }
+
+        return getDocumentClient().queryDocuments(selfLink, sqlQuerySpec, feedOptions);
+    }
+
+    private FeedResponse<Document> executeQuery(@NonNull SqlQuerySpec sqlQuerySpec, FeedOptions feedOptions,
+                                                String collectionName) {
+        final String selfLink = getCollectionLink(collectionName);
+
+        return getDocumentClient().queryDocuments(selfLink, sqlQuerySpec, feedOptions);
+    }
+
+    /**
+     * Find the entities of ids in the order of ids, the ones not found are skipped and duplicated ids are looked up
+     * once. If the ids need no partition key to read, as the collection is not partitioned or partitioned by id, and
+     * there are at most {@link Constants#FIND_BY_IDS_MAX_POINT_READS} of them, they are read by point reads
+     * concurrently. Otherwise the ids are split into parameterized IN queries of at most
+     * {@link Constants#FIND_BY_IDS_CHUNK_SIZE} ids, which are executed concurrently. Concurrent lookups run on an
+     * executor of {@link DocumentDBConfig#getBulkParallelism()} threads apart from bulk operations, and a single
+     * point read or query runs on the calling thread.
+     */
+    @Override
+    public <T, ID> List<T> findByIds(Iterable<ID> ids, Class<T> entityClass, String collectionName) {
+        Assert.notNull(ids, "Id list should not be null");
+        Assert.notNull(entityClass, "entityClass should not be null.");
+        Assert.hasText(collectionName, "collection should not be null, empty or only whitespaces");
+
+        final Map<String, Object> distinctIds = new LinkedHashMap<>();
+
+        for (final ID id : ids) {
+            assertValidId(id);
+            distinctIds.putIfAbsent(id.toString(), id);
+        }
+
+        final boolean isIdFieldAsPartitionKey = isIdFieldAsPartitionKey(entityClass);
+        final boolean isPointRead = distinctIds.size() <= Constants.FIND_BY_IDS_MAX_POINT_READS
+                && (isIdFieldAsPartitionKey || getPartitionKeyNames(entityClass).isEmpty());
+
+        if (isPointRead) {
+            final Map<Object, PartitionKey> partitionKeys = new LinkedHashMap<>();
+
+            distinctIds.values().forEach(id -> partitionKeys.put(id, isIdFieldAsPartitionKey ? new PartitionKey(id)
+                    : null));
+
+            return readByIds(partitionKeys, entityClass, collectionName);
+        }
+
+        return queryByIds(new ArrayList<>(distinctIds.values()), entityClass, collectionName);
+    }
+
+    /**
+     * Find the entities of ids with given partition keys by point reads executed concurrently, in the order of ids.
+     * The ones not found are skipped.
+     */
+    @Override
+    public <T, ID> List<T> findByIds(Map<ID, PartitionKey> idsToPartitionKeys, Class<T> entityClass,
+                                     String collectionName) {
+        Assert.notNull(idsToPartitionKeys, "Id map should not be null");
+        Assert.notNull(entityClass, "entityClass should not be null.");
+        Assert.hasText(collectionName, "collection should not be null, empty or only whitespaces");
+
+        idsToPartitionKeys.keySet().forEach(this::assertValidId);
+
+        return readByIds(idsToPartitionKeys, entityClass, collectionName);
+    }
+
+    private <T> List<T> readByIds(@NonNull Map<?, PartitionKey> idsToPartitionKeys, @NonNull Class<T> entityClass,
+                                  @NonNull String collectionName) {
+        final AtomicReferenceArray<T> results = new AtomicReferenceArray<>(idsToPartitionKeys.size());
+
+        if (idsToPartitionKeys.size() == 1) {
+            final Map.Entry<?, PartitionKey> entry = idsToPartitionKeys.entrySet().iterator().next();
+
+            results.set(0, readById(collectionName, entry.getKey(), entry.getValue(), entityClass));
+        } else {
+            final List<Future<?>> futures = new ArrayList<>(idsToPartitionKeys.size());
+            int index = 0;
+
+            for (final Map.Entry<?, PartitionKey> entry : idsToPartitionKeys.entrySet()) {
+                final int resultIndex = index++;
+
+                futures.add(getLookupExecutor().submit(() -> results.set(resultIndex,
+                        readById(collectionName, entry.getKey(), entry.getValue(), entityClass))));
+            }
+
+            awaitBulk(futures);
+        }
+
+        final List<T> entities = new ArrayList<>(results.length());
+
+        for (int i = 0; i < results.length(); i++) {
+            if (results.get(i) != null) {
+                entities.add(results.get(i));
+            }
+        }
+
+        return entities;
+    }
+
+    private <T> List<T> queryByIds(@NonNull List<Object> ids, @NonNull Class<T> entityClass,
+                                   @NonNull String collectionName) {
+        final List<List<Object>> chunks = new ArrayList<>();
+
+        for (int start = 0; start < ids.size(); start += Constants.FIND_BY_IDS_CHUNK_SIZE) {
+            chunks.add(ids.subList(start, Math.min(start + Constants.FIND_BY_IDS_CHUNK_SIZE, ids.size())));
+        }
+
+        final AtomicReferenceArray<List<T>> results = new AtomicReferenceArray<>(chunks.size());
+
+        if (chunks.size() == 1) {
+            results.set(0, queryByIdChunk(chunks.get(0), entityClass, collectionName));
+        } else {
+            final List<Future<?>> futures = new ArrayList<>(chunks.size());
+
+            for (int i = 0; i < chunks.size(); i++) {
+                final int chunkIndex = i;
+
+                futures.add(getLookupExecutor().submit(() -> results.set(chunkIndex,
+                        queryByIdChunk(chunks.get(chunkIndex), entityClass, collectionName))));
+            }
+
+            awaitBulk(futures);
+        }
+
+        final DocumentDbEntityInformation<T, Object> information = DocumentDbEntityInformation.getInstance(entityClass);
+        final Map<String, T> entitiesById = new HashMap<>();
+
+        for (int i = 0; i < results.length(); i++) {
+            results.get(i).forEach(e -> entitiesById.put(String.valueOf(information.getId(e)), e));
+        }
+
+        return ids.stream().map(id -> entitiesById.get(id.toString())).filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private <T> List<T> queryByIdChunk(@NonNull List<Object> ids, @NonNull Class<T> entityClass,
+                                       @NonNull String collectionName) {
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.IN,
+                Constants.ID_PROPERTY_NAME, Collections.singletonList(ids)));
+
+        return find(query, entityClass, collectionName);
+    }
+
+    public <T> List<T> find(@NonNull DocumentQuery query, @NonNull Class<T> domainClass, String collectionName) {
+        return find(query, domainClass, domainClass, collectionName);
+    }
+
+    /**
+     * Find the documents of domain class, and read them as given return type. The keys to select are pushed down to
+     * the query for closed interface projections and DTO classes, see
+     * {@link MappingDocumentDbConverter#getProjectedKeys(Class, Class)}.
+     */
+    @Override
+    public <T> List<T> find(@NonNull DocumentQuery query, @NonNull Class<?> domainClass, @NonNull Class<T> returnType,
+                            String collectionName) {
+        Assert.notNull(query, "DocumentQuery should not be null.");
+        Assert.notNull(domainClass, "domainClass should not be null.");
+        Assert.notNull(returnType, "returnType should not be null.");
+        Assert.hasText(collectionName, "collection should not be null, empty or only whitespaces");
+
+        final List<T> results = new ArrayList<>();
+
+        findAsIterator(query, domainClass, returnType, collectionName).forEachRemaining(results::add);
+
+        return results;
+    }
+
+    /**
+     * Find the documents of domain class as {@link #find(DocumentQuery, Class, Class, String)}, the pages are fetched
+     * and the documents are read as the iterator is consumed.
+     */
+    @Override
+    public <T> CloseableIterator<T> findAsIterator(@NonNull DocumentQuery query, @NonNull Class<?> domainClass,
+                                                   @NonNull Class<T> returnType, String collectionName) {
+        Assert.notNull(query, "DocumentQuery should not be null.");
+        Assert.notNull(domainClass, "domainClass should not be null.");
+        Assert.notNull(returnType, "returnType should not be null.");
+        Assert.hasText(collectionName, "collection should not be null, empty or only whitespaces");
+
+        try {
+            final QueryIterable<Document> documents = queryDocuments(query, domainClass, returnType, collectionName);
+
+            return new DocumentIterator<>(documents.iterator(), d -> readDocument(query, domainClass, returnType, d),
+                    collectionName, query.getLimit(), e -> invalidateIfStale(collectionName, e));
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            invalidateIfStale(collectionName, e);
+            throw new DocumentDBAccessException("Failed to execute find operation from " + collectionName, e);
+        }
+    }
+
+    /**
+     * @return the lazy stream of {@link #findAsIterator(DocumentQuery, Class, Class, String)}, which should be closed
+     * if not fully consumed.
+     */
+    @Override
+    public <T> Stream<T> stream(@NonNull DocumentQuery query, @NonNull Class<?> domainClass,
+                                @NonNull Class<T> returnType, String collectionName) {
+        return StreamUtils.createStreamFromIterator(findAsIterator(query, domainClass, returnType, collectionName));
+    }
+
+    /**
+     * Query the documents of domain class with the keys of return type selected, the pages are fetched as the
+     * returned iterable is iterated. A limited query selects TOP of limit, with the page size of limit so the first
+     * page holds all of the results.
+     */
+    QueryIterable<Document> queryDocuments(@NonNull DocumentQuery query, @NonNull Class<?> domainClass,
+                                           @NonNull Class<?> returnType, @NonNull String collectionName) {
+        final SqlQuerySpec sqlQuerySpec = new FindQuerySpecGenerator()
+                .generate(query, getProjection(query, domainClass, returnType));
+        final boolean isCrossPartitionQuery = query.isCrossPartitionQuery(getPartitionKeyNames(domainClass));
+
+        return executeQuery(sqlQuerySpec, isCrossPartitionQuery, query.getLimit(), collectionName)
+                .getQueryIterable();
+    }
+
+    /**
+     * Get the keys to select, those of the query if set, or else those of return type. The query is not changed, as
+     * it may be reused for other return types.
+     */
+    private List<String> getProjection(@NonNull DocumentQuery query, @NonNull Class<?> domainClass,
+                                       @NonNull Class<?> returnType) {
+        if (!query.getProjection().isEmpty()) {
+            return query.getProjection();
+        }
+
+        return getConverter().getProjectedKeys(domainClass, returnType);
+    }
+
+    /**
+     * Tell whether any document matches the query by {@link ExistsQueryGenerator}, only a constant of the first
+     * matched document is fetched.
+     */
+    @Override
+    public <T> Boolean exists(@NonNull DocumentQuery query, @NonNull Class<T> domainClass, String collectionName) {
+        Assert.notNull(query, "DocumentQuery should not be null.");
+        Assert.notNull(domainClass, "domainClass should not be null.");
+        Assert.hasText(collectionName, "collection should not be null, empty or only whitespaces");
+
+        final SqlQuerySpec querySpec = new ExistsQueryGenerator().generate(query);
+        final boolean isCrossPartitionQuery = query.isCrossPartitionQuery(getPartitionKeyNames(domainClass));
+
+        try {
+            return executeQuery(querySpec, isCrossPartitionQuery, 1, collectionName).getQueryIterable()
+                    .iterator().hasNext();
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            invalidateIfStale(collectionName, e);
+            throw new DocumentDBAccessException("Failed to execute exists operation from " + collectionName, e);
+        }
+    }
+
+    private QueryIterable<Document> findDocuments(@NonNull DocumentQuery query, @NonNull Class<?> domainClass,
+                                                  @NonNull String collectionName) {
+        final SqlQuerySpec sqlQuerySpec = new FindQuerySpecGenerator().generate(query);
+        final boolean isCrossPartitionQuery = query.isCrossPartitionQuery(getPartitionKeyNames(domainClass));
+        final FeedResponse<Document> response = executeQuery(sqlQuerySpec, isCrossPartitionQuery, query.getLimit(),
+                collectionName);
+
+        return response.getQueryIterable();
+    }
+
+    void deleteDocument(@NonNull Document document, @NonNull Class<?> domainClass, @NonNull String collectionName) {
+        deleteDocument(document, getPartitionKeyNames(domainClass), collectionName);
+    }
+
+    private void deleteDocument(@NonNull Document document, @NonNull List<String> partitionKeyNames,
+                                @NonNull String collectionName) {
+        Assert.isTrue(partitionKeyNames.size() <= 1, "Only one Partition is supported.");
+
+        PartitionKey partitionKey = null;
+
+        if (!partitionKeyNames.isEmpty() && StringUtils.hasText(partitionKeyNames.get(0))) {
+            final List<String> path = Arrays.asList(partitionKeyNames.get(0).split("\\."));
+
+            partitionKey = new PartitionKey(document.getObjectByPath(path));
+        }
+
+        deleteDocument(collectionName, document, partitionKey);
+    }
+
+    /**
+     * Delete the document by its self link, and evict it from the cache whether deleted or not.
+     */
+    private void deleteDocument(@NonNull String collectionName, @NonNull Document document,
+                                PartitionKey partitionKey) {
+        try {
+            getDocumentClient().deleteDocument(document.getSelfLink(), getRequestOptions(partitionKey, null));
+        } catch (DocumentClientException e) {
+            invalidateIfStale(collectionName, e, false);
+            throw new DocumentDBAccessException("Failed to delete document: " + document.getSelfLink(), e);
+        } finally {
+            evictCached(collectionName, document.getId());
+        }
+    }
+
+    /**
+     * Delete the DocumentQuery, need to query the domains at first, then delete the document
+     * from the result.
+     * The cosmosdb Sql API do _NOT_ support DELETE query, we cannot add one DeleteQueryGenerator.
+     *
+     * @param query          The representation for query method.
+     * @param domainClass    Class of domain
+     * @param collectionName Collection Name of database
+     * @param <T>
+     * @return All the deleted documents as List.
+     */
+    @Override
+    public <T> List<T> delete(@NonNull DocumentQuery query, @NonNull Class<T> domainClass,
+                              @NonNull String collectionName) {
+        Assert.notNull(query, "DocumentQuery should not be null.");
+        Assert.notNull(domainClass, "domainClass should not be null.");
+        Assert.hasText(collectionName, "collection should not be null, empty or only whitespaces");
+
+        final List<String> partitionKeyName = getPartitionKeyNames(domainClass);
+        final List<T> results = new ArrayList<>();
+
+        // Documents are deleted as the pages are fetched, only the deleted entities are kept
+        try {
+            for (final Document document : findDocuments(query, domainClass, collectionName)) {
+                deleteDocument(document, partitionKeyName, collectionName);
+                results.add(getConverter().read(domainClass, document));
+            }
+        } catch (IllegalStateException e) {
+            invalidateIfStale(collectionName, e);
+            throw e;
+        }
+
+        return results;
+    }
+
+    @Override
+    public <T> Page<T> findAll(Pageable pageable, Class<T> domainClass, String collectionName) {
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL)).with(pageable);
+        if (pageable.getSort().isSorted()) {
+            query.with(pageable.getSort());
+        }
+
+        return paginationQuery(query, domainClass, collectionName);
+    }
+
+    @Override
+    public <T> Page<T> paginationQuery(DocumentQuery query, Class<T> domainClass, String collectionName) {
+        return paginationQuery(query, domainClass, domainClass, collectionName);
+    }
+
+    /**
+     * Query one page of results. The total count is queried for the first page only, the {@link DocumentDbPageRequest}
+     * of returned page carries the total, which is reused by the later pages of the same continuation chain.
+     */
+    @Override
+    public <T> Page<T> paginationQuery(DocumentQuery query, Class<?> domainClass, Class<T> returnType,
+                                       String collectionName) {
+        Assert.notNull(returnType, "returnType should not be null.");
+        Assert.isTrue(query.getPageable().getPageSize() > 0, "pageable should have page size larger than 0");
+        Assert.hasText(collectionName, "collection should not be null, empty or only whitespaces");
+
+        final Pageable pageable = query.getPageable();
+        final List<T> result = new ArrayList<>();
+        final String continuation = queryPage(query, domainClass, returnType, collectionName, result);
+        final Long cachedTotal = pageable instanceof DocumentDbPageRequest
+                ? ((DocumentDbPageRequest) pageable).getTotalElements() : null;
+        final long total = cachedTotal != null ? cachedTotal : count(query, domainClass, collectionName);
+
+        final DocumentDbPageRequest pageRequest = DocumentDbPageRequest.of(pageable.getPageNumber(),
+                pageable.getPageSize(),
+                continuation,
+                query.getSort(),
+                total);
+
+        return new PageImpl<>(result, pageRequest, total);
+    }
+
+    /**
+     * Query one page of results as {@link #paginationQuery(DocumentQuery, Class, Class, String)} without counting
+     * the total, whether there is a next slice is told by the continuation token.
+     */
+    @Override
+    public <T> Slice<T> sliceQuery(DocumentQuery query, Class<?> domainClass, Class<T> returnType,
+                                   String collectionName) {
+        Assert.notNull(returnType, "returnType should not be null.");
+        Assert.isTrue(query.getPageable().getPageSize() > 0, "pageable should have page size larger than 0");
+        Assert.hasText(collectionName, "collection should not be null, empty or only whitespaces");
+
+        final Pageable pageable = query.getPageable();
+        final List<T> result = new ArrayList<>();
+        final String continuation = queryPage(query, domainClass, returnType, collectionName, result);
+
+        final DocumentDbPageRequest pageRequest = DocumentDbPageRequest.of(pageable.getPageNumber(),
+                pageable.getPageSize(),
+                continuation,
+                query.getSort());
+
+        return new SliceImpl<>(result, pageRequest, continuation != null);
+    }
+
+    /**
+     * Read one page of the query into result, starting from the continuation of pageable if any.
+     *
+     * @return the continuation token of next page, or null if this is the last page.
+     */
+    private <T> String queryPage(@NonNull DocumentQuery query, @NonNull Class<?> domainClass,
+                                 @NonNull Class<T> returnType, @NonNull String collectionName,
+                                 @NonNull List<T> result) {
+        final Pageable pageable = query.getPageable();
+        final FeedOptions feedOptions = new FeedOptions();
+        if (pageable instanceof DocumentDbPageRequest) {
+            feedOptions.setRequestContinuation(((DocumentDbPageRequest) pageable).getRequestContinuation());
+        }
+
+        feedOptions.setPageSize(pageable.getPageSize());
+        feedOptions.setEnableCrossPartitionQuery(query.isCrossPartitionQuery(getPartitionKeyNames(domainClass)));
+
+        final SqlQuerySpec sqlQuerySpec = new FindQuerySpecGenerator()
+                .generate(query, getProjection(query, domainClass, returnType));
+        final FeedResponse<Document> response = executeQuery(sqlQuerySpec, feedOptions, collectionName);
+
+        final Iterator<Document> it = response.getQueryIterator();
+
+        // Check the size first, as the inner iterator will automatically fetch the next page on hasNext
+        try {
+            for (int index = 0; index < pageable.getPageSize() && it.hasNext(); index++) {
+                final Document doc = it.next();
+                if (doc == null) {
+                    continue;
+                }
+
+                result.add(readDocument(query, domainClass, returnType, doc));
+            }
+        } catch (IllegalStateException e) {
+            invalidateIfStale(collectionName, e);
+            throw e;
+        }
+
+        return response.getResponseContinuation();
+    }
+
+    @Override
+    public long count(String collectionName) {
+        Assert.hasText(collectionName, "collectionName should not be empty");
+
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL));
+        final SqlQuerySpec querySpec = new CountQueryGenerator().generate(query);
+
+        return getCountValue(querySpec, true, collectionName);
+    }
 
     @Override
     public <T> long count(DocumentQuery query, Class<T> domainClass, String collectionName) {
@@ -538,7 +1697,16 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
 
     private long getCountValue(SqlQuerySpec querySpec, boolean isCrossPartitionQuery, String collectionName) {
         final FeedResponse<Document> feedResponse = executeQuery(querySpec, isCrossPartitionQuery, collectionName);
-        final Object value = feedResponse.getQueryIterable().toList().get(0).getHashMap().get(COUNT_VALUE_KEY);
+        final List<Document> documents;
+
+        try {
+            documents = feedResponse.getQueryIterable().toList();
+        } catch (IllegalStateException e) {
+            invalidateIfStale(collectionName, e);
+            throw e;
+        }
+
+        final Object value = documents.get(0).getHashMap().get(COUNT_VALUE_KEY);
 
         if (value instanceof Integer) {
             return Long.valueOf((Integer) value);
@@ -549,24 +1717,19 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
         }
     }
 
-    private String getCollectionSelfLink(@NonNull String collectionName) {
-        return String.format("dbs/%s/colls/%s", this.databaseName, collectionName);
-    }
-
     @Override
     public MappingDocumentDbConverter getConverter() {
         return this.mappingDocumentDbConverter;
     }
 
-    @SuppressWarnings("unchecked")
     private List<String> getPartitionKeyNames(Class<?> domainClass) {
-        final DocumentDbEntityInformation entityInfo = new DocumentDbEntityInformation(domainClass);
+        final String partitionKeyName = DocumentDbEntityInformation.getInstance(domainClass).getPartitionKeyFieldName();
 
-        if (entityInfo.getPartitionKeyFieldName() == null) {
-            return new ArrayList<>();
+        if (partitionKeyName == null) {
+            return Collections.emptyList();
         }
 
-        return Collections.singletonList(entityInfo.getPartitionKeyFieldName());
+        return Collections.singletonList(partitionKeyName);
     }
 
     private void assertValidId(Object id) {
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.Document;
+import com.microsoft.azure.spring.data.cosmosdb.exception.DocumentDBAccessException;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.lang.NonNull;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Iterate the query results and read each document as it is reached, the feed fetches the next page only when the
+ * current one is consumed, so at most one page of documents is held at a time.
+ */
+final class DocumentIterator<T> implements CloseableIterator<T> {
+
+    private final Iterator<Document> documents;
+    private final Function<Document, T> reader;
+    private final String collectionName;
+    private final Consumer<RuntimeException> failureListener;
+    private int remaining;
+    private boolean closed;
+
+    /**
+     * @param limit           the max count of documents to read, the feed is not read any more once reached. 0 for
+     *                        no limit.
+     * @param failureListener told of each failure of the feed before it is thrown, such as to drop a stale collection.
+     */
+    DocumentIterator(@NonNull Iterator<Document> documents, @NonNull Function<Document, T> reader,
+                     @NonNull String collectionName, int limit, @NonNull Consumer<RuntimeException> failureListener) {
+        this.documents = documents;
+        this.reader = reader;
+        this.collectionName = collectionName;
+        this.failureListener = failureListener;
+        this.remaining = limit > 0 ? limit : -1;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed || remaining == 0) {
+            return false;
+        }
+
+        try {
+            return documents.hasNext();
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            failureListener.accept(e);
+            throw new DocumentDBAccessException("Failed to execute find operation from " + collectionName, e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more documents from " + collectionName);
+        }
+
+        if (remaining > 0) {
+            remaining--;
+        }
+
+        try {
+            return reader.apply(documents.next());
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            failureListener.accept(e);
+            throw new DocumentDBAccessException("Failed to execute find operation from " + collectionName, e);
+        }
+    }
+
+    /**
+     * Stop fetching pages, the documents already fetched are released with this iterator.
+     */
+    @Override
+    public void close() {
+        closed = true;
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.DocumentCollection;
+import com.microsoft.azure.documentdb.PartitionKey;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.repository.support.DocumentDbEntityInformation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link DocumentDbOperations}, nothing is executed until subscribed.
+ */
+public interface ReactiveDocumentDbOperations {
+
+    String getCollectionName(Class<?> entityClass);
+
+    Mono<DocumentCollection> createCollectionIfNotExists(DocumentDbEntityInformation information);
+
+    Mono<Void> deleteCollection(String collectionName);
+
+    <T> Mono<T> insert(String collectionName, T objectToSave, PartitionKey partitionKey);
+
+    /**
+     * @return the given object once upserted.
+     */
+    <T> Mono<T> upsert(String collectionName, T object, PartitionKey partitionKey);
+
+    /**
+     * @return the entity, or empty if not found.
+     */
+    <T> Mono<T> findById(String collectionName, Object id, Class<T> entityClass);
+
+    Mono<Void> deleteById(String collectionName, Object id, PartitionKey partitionKey);
+
+    <T> Flux<T> findAll(String collectionName, Class<T> entityClass);
+
+    /**
+     * Find the entities of ids in the order of ids as {@link DocumentDbOperations#findByIds(Iterable, Class, String)},
+     * the ones not found are skipped.
+     */
+    <T, ID> Flux<T> findByIds(Iterable<ID> ids, Class<T> entityClass, String collectionName);
+
+    Mono<Void> deleteAll(String collectionName, Class<?> entityClass);
+
+    <T> Flux<T> find(DocumentQuery query, Class<T> entityClass, String collectionName);
+
+    /**
+     * Find the entities of domain class and read them as return type, the pages of results are fetched as requested
+     * by the subscriber.
+     */
+    <T> Flux<T> find(DocumentQuery query, Class<?> entityClass, Class<T> returnType, String collectionName);
+
+    <T> Flux<T> delete(DocumentQuery query, Class<T> entityClass, String collectionName);
+
+    <T> Mono<Boolean> exists(DocumentQuery query, Class<T> entityClass, String collectionName);
+
+    <T> Mono<Boolean> existsById(String collectionName, Object id, Class<T> entityClass);
+
+    Mono<Long> count(String collectionName);
+
+    <T> Mono<Long> count(DocumentQuery query, Class<T> domainClass, String collectionName);
+
+    MappingDocumentDbConverter getConverter();
+
+    /**
+     * @return the number of requests executed at the same time, which bounds the concurrency of callers merging
+     * several requests.
+     */
+    int getParallelism();
+}
@@ -0,0 +1,230 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.Document;
+import com.microsoft.azure.documentdb.DocumentCollection;
+import com.microsoft.azure.documentdb.PartitionKey;
+import com.microsoft.azure.spring.data.cosmosdb.DocumentDbFactory;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.exception.DocumentDBAccessException;
+import com.microsoft.azure.spring.data.cosmosdb.repository.support.DocumentDbEntityInformation;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of {@link ReactiveDocumentDbOperations} on {@link DocumentDbTemplate}. The DocumentDB client is
+ * synchronous, so requests are executed on a dedicated scheduler instead of the subscribing thread, and query results
+ * are fetched page by page as the subscriber requests them, instead of all at once. The scheduler has at most
+ * {@link com.microsoft.azure.spring.data.cosmosdb.config.DocumentDBConfig#getBulkParallelism()} threads, further
+ * requests are queued.
+ */
+public class ReactiveDocumentDbTemplate implements ReactiveDocumentDbOperations, DisposableBean {
+
+    private static final int SCHEDULER_THREAD_TTL_SECONDS = 60;
+
+    private final DocumentDbTemplate template;
+    private final int parallelism;
+    private final Scheduler scheduler;
+
+    public ReactiveDocumentDbTemplate(DocumentDbFactory documentDbFactory,
+                                      MappingDocumentDbConverter mappingDocumentDbConverter,
+                                      String dbName) {
+        this(new DocumentDbTemplate(documentDbFactory, mappingDocumentDbConverter, dbName));
+    }
+
+    public ReactiveDocumentDbTemplate(@NonNull DocumentDbTemplate template) {
+        Assert.notNull(template, "DocumentDbTemplate must not be null!");
+
+        this.template = template;
+        this.parallelism = template.getBulkParallelism();
+
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("documentdb-reactive-");
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism,
+                SCHEDULER_THREAD_TTL_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+
+        threadFactory.setDaemon(true);
+        executor.allowCoreThreadTimeOut(true);
+
+        this.scheduler = Schedulers.fromExecutorService(executor);
+    }
+
+    @Override
+    public String getCollectionName(Class<?> entityClass) {
+        return template.getCollectionName(entityClass);
+    }
+
+    @Override
+    public Mono<DocumentCollection> createCollectionIfNotExists(@NonNull DocumentDbEntityInformation information) {
+        return execute(() -> template.createCollectionIfNotExists(information));
+    }
+
+    @Override
+    public Mono<Void> deleteCollection(@NonNull String collectionName) {
+        return execute(() -> template.deleteCollection(collectionName));
+    }
+
+    @Override
+    public <T> Mono<T> insert(@NonNull String collectionName, @NonNull T objectToSave, PartitionKey partitionKey) {
+        return execute(() -> template.insert(collectionName, objectToSave, partitionKey));
+    }
+
+    @Override
+    public <T> Mono<T> upsert(@NonNull String collectionName, @NonNull T object, PartitionKey partitionKey) {
+        return execute(() -> {
+            template.upsert(collectionName, object, partitionKey);
+            return object;
+        });
+    }
+
+    @Override
+    public <T> Mono<T> findById(@NonNull String collectionName, @NonNull Object id, @NonNull Class<T> entityClass) {
+        return execute(() -> template.findById(collectionName, id, entityClass));
+    }
+
+    @Override
+    public Mono<Void> deleteById(@NonNull String collectionName, @NonNull Object id, PartitionKey partitionKey) {
+        return execute(() -> template.deleteById(collectionName, id, partitionKey));
+    }
+
+    @Override
+    public <T> Flux<T> findAll(@NonNull String collectionName, @NonNull Class<T> entityClass) {
+        return find(new DocumentQuery(Criteria.getInstance(CriteriaType.ALL)), entityClass, collectionName);
+    }
+
+    @Override
+    public <T, ID> Flux<T> findByIds(@NonNull Iterable<ID> ids, @NonNull Class<T> entityClass,
+                                     @NonNull String collectionName) {
+        Assert.notNull(ids, "Id list should not be null");
+
+        final List<ID> idList = new ArrayList<>();
+
+        ids.forEach(idList::add);
+
+        return execute(() -> template.findByIds(idList, entityClass, collectionName)).flatMapIterable(l -> l);
+    }
+
+    @Override
+    public Mono<Void> deleteAll(@NonNull String collectionName, @NonNull Class<?> entityClass) {
+        return execute(() -> template.deleteAll(collectionName, entityClass));
+    }
+
+    @Override
+    public <T> Flux<T> find(@NonNull DocumentQuery query, @NonNull Class<T> entityClass,
+                            @NonNull String collectionName) {
+        return find(query, entityClass, entityClass, collectionName);
+    }
+
+    @Override
+    public <T> Flux<T> find(@NonNull DocumentQuery query, @NonNull Class<?> entityClass, @NonNull Class<T> returnType,
+                            @NonNull String collectionName) {
+        Assert.notNull(query, "DocumentQuery should not be null.");
+        Assert.notNull(entityClass, "entityClass should not be null.");
+        Assert.notNull(returnType, "returnType should not be null.");
+        Assert.hasText(collectionName, "collection should not be null, empty or only whitespaces");
+
+        return limit(Flux.defer(() -> Flux.fromIterable(template.queryDocuments(query, entityClass, returnType,
+                collectionName))), query)
+                .map(d -> template.readDocument(query, entityClass, returnType, d))
+                .doOnError(e -> template.invalidateIfStale(collectionName, e))
+                .onErrorMap(e -> e instanceof IllegalStateException || e instanceof IllegalArgumentException,
+                        e -> new DocumentDBAccessException("Failed to execute find operation from "
+                                + collectionName, e))
+                .subscribeOn(scheduler);
+    }
+
+    /**
+     * Delete the documents found by query one by one, as the documents are fetched.
+     */
+    @Override
+    public <T> Flux<T> delete(@NonNull DocumentQuery query, @NonNull Class<T> entityClass,
+                              @NonNull String collectionName) {
+        Assert.notNull(query, "DocumentQuery should not be null.");
+        Assert.notNull(entityClass, "entityClass should not be null.");
+        Assert.hasText(collectionName, "collection should not be null, empty or only whitespaces");
+
+        return limit(Flux.defer(() -> Flux.fromIterable(template.queryDocuments(query, entityClass, entityClass,
+                collectionName))), query)
+                .map(d -> {
+                    template.deleteDocument(d, entityClass, collectionName);
+                    return template.readDocument(query, entityClass, entityClass, d);
+                })
+                .doOnError(e -> template.invalidateIfStale(collectionName, e))
+                .subscribeOn(scheduler);
+    }
+
+    /**
+     * Cancel the documents of limited query once the limit is reached, so no further page is fetched.
+     */
+    private static Flux<Document> limit(@NonNull Flux<Document> documents, @NonNull DocumentQuery query) {
+        return query.getLimit() > 0 ? documents.take(query.getLimit()) : documents;
+    }
+
+    @Override
+    public <T> Mono<Boolean> exists(@NonNull DocumentQuery query, @NonNull Class<T> entityClass,
+                                    @NonNull String collectionName) {
+        return execute(() -> template.exists(query, entityClass, collectionName));
+    }
+
+    @Override
+    public <T> Mono<Boolean> existsById(@NonNull String collectionName, @NonNull Object id,
+                                        @NonNull Class<T> entityClass) {
+        return execute(() -> template.existsById(collectionName, id, entityClass));
+    }
+
+    @Override
+    public Mono<Long> count(@NonNull String collectionName) {
+        return execute(() -> template.count(collectionName));
+    }
+
+    @Override
+    public <T> Mono<Long> count(@NonNull DocumentQuery query, @NonNull Class<T> domainClass,
+                                @NonNull String collectionName) {
+        return execute(() -> template.count(query, domainClass, collectionName));
+    }
+
+    @Override
+    public MappingDocumentDbConverter getConverter() {
+        return template.getConverter();
+    }
+
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+
+    /**
+     * @return the result of callable, or empty if the result is null.
+     */
+    private <T> Mono<T> execute(@NonNull Callable<T> callable) {
+        return Mono.fromCallable(callable).subscribeOn(scheduler);
+    }
+
+    private Mono<Void> execute(@NonNull Runnable runnable) {
+        return Mono.<Void>fromRunnable(runnable).subscribeOn(scheduler);
+    }
+}
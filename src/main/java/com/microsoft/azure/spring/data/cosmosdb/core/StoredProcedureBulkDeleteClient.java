@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.Document;
+import com.microsoft.azure.documentdb.DocumentClient;
+import com.microsoft.azure.documentdb.DocumentClientException;
+import com.microsoft.azure.documentdb.PartitionKey;
+import com.microsoft.azure.documentdb.RequestOptions;
+import com.microsoft.azure.documentdb.SqlQuerySpec;
+import com.microsoft.azure.documentdb.StoredProcedure;
+import com.microsoft.azure.documentdb.internal.HttpConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deletes documents by the delete stored procedure, which is registered on the collection when documents of the
+ * collection are deleted the first time.
+ */
+@Slf4j
+final class StoredProcedureBulkDeleteClient implements BulkDeleteClient {
+
+    static final String STORED_PROCEDURE_ID = "spring-data-cosmosdb-bulkDelete";
+
+    /**
+     * Queries a page of documents, deletes them one by one, then queries again from the start, as the deleted ones
+     * are not found any more. Responds the count of deleted documents when none is left or it is out of time.
+     */
+    static final String STORED_PROCEDURE_BODY = "function bulkDelete(query) {\n"
+            + "    var collection = getContext().getCollection();\n"
+            + "    var response = getContext().getResponse();\n"
+            + "    var result = { deleted: 0, done: false };\n"
+            + "    if (typeof query === 'string') query = JSON.parse(query);\n"
+            + "    tryQuery();\n"
+            + "    function tryQuery(continuation) {\n"
+            + "        var accepted = collection.queryDocuments(collection.getSelfLink(), query,\n"
+            + "            { continuation: continuation }, function (err, docs, options) {\n"
+            + "                if (err) throw err;\n"
+            + "                if (docs.length > 0) tryDelete(docs, 0);\n"
+            + "                else if (options.continuation) tryQuery(options.continuation);\n"
+            + "                else { result.done = true; response.setBody(result); }\n"
+            + "            });\n"
+            + "        if (!accepted) response.setBody(result);\n"
+            + "    }\n"
+            + "    function tryDelete(docs, index) {\n"
+            + "        if (index >= docs.length) { tryQuery(); return; }\n"
+            + "        var accepted = collection.deleteDocument(docs[index]._self, {}, function (err) {\n"
+            + "            if (err) throw err;\n"
+            + "            result.deleted++;\n"
+            + "            tryDelete(docs, index + 1);\n"
+            + "        });\n"
+            + "        if (!accepted) response.setBody(result);\n"
+            + "    }\n"
+            + "}";
+
+    private final DocumentClient documentClient;
+    private final Set<String> registeredCollections = ConcurrentHashMap.newKeySet();
+
+    StoredProcedureBulkDeleteClient(@NonNull DocumentClient documentClient) {
+        this.documentClient = documentClient;
+    }
+
+    @Override
+    public Result deleteDocuments(@NonNull String collectionLink, PartitionKey partitionKey,
+                                  @NonNull SqlQuerySpec querySpec) throws DocumentClientException {
+        registerIfAbsent(collectionLink);
+
+        try {
+            return execute(collectionLink, partitionKey, querySpec);
+        } catch (DocumentClientException e) {
+            if (e.getStatusCode() != HttpConstants.StatusCodes.NOTFOUND) {
+                throw e;
+            }
+
+            // The collection may be re-created since the procedure was registered
+            registeredCollections.remove(collectionLink);
+            registerIfAbsent(collectionLink);
+
+            return execute(collectionLink, partitionKey, querySpec);
+        }
+    }
+
+    private Result execute(@NonNull String collectionLink, PartitionKey partitionKey,
+                           @NonNull SqlQuerySpec querySpec) throws DocumentClientException {
+        final RequestOptions options = new RequestOptions();
+
+        if (partitionKey != null) {
+            options.setPartitionKey(partitionKey);
+        }
+
+        final String body = documentClient.executeStoredProcedure(getStoredProcedureLink(collectionLink), options,
+                new Object[]{querySpec.toJson()}).getResponseAsString();
+        final Document result = new Document(body);
+
+        return new Result(result.getInt("deleted"), result.getBoolean("done"));
+    }
+
+    private void registerIfAbsent(@NonNull String collectionLink) throws DocumentClientException {
+        if (registeredCollections.contains(collectionLink)) {
+            return;
+        }
+
+        final StoredProcedure storedProcedure = new StoredProcedure();
+
+        storedProcedure.setId(STORED_PROCEDURE_ID);
+        storedProcedure.setBody(STORED_PROCEDURE_BODY);
+
+        log.debug("register bulk delete stored procedure on collection {}", collectionLink);
+
+        documentClient.upsertStoredProcedure(collectionLink, storedProcedure, null);
+        registeredCollections.add(collectionLink);
+    }
+
+    private static String getStoredProcedureLink(@NonNull String collectionLink) {
+        return collectionLink + "/sprocs/" + STORED_PROCEDURE_ID;
+    }
+}
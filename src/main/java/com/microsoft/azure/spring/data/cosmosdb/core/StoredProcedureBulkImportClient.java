@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.DocumentClient;
+import com.microsoft.azure.documentdb.DocumentClientException;
+import com.microsoft.azure.documentdb.PartitionKey;
+import com.microsoft.azure.documentdb.RequestOptions;
+import com.microsoft.azure.documentdb.StoredProcedure;
+import com.microsoft.azure.documentdb.internal.HttpConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Imports documents by the bulk import stored procedure, which is registered on the collection when the collection
+ * is imported into the first time.
+ */
+@Slf4j
+final class StoredProcedureBulkImportClient implements BulkImportClient {
+
+    static final String STORED_PROCEDURE_ID = "spring-data-cosmosdb-bulkImport";
+
+    /**
+     * Upserts the documents in order until the script is out of time, and responds the count of upserted ones.
+     * Any failure throws, so that none of the documents is committed.
+     */
+    static final String STORED_PROCEDURE_BODY = "function bulkImport(docs) {\n"
+            + "    var collection = getContext().getCollection();\n"
+            + "    var response = getContext().getResponse();\n"
+            + "    var count = 0;\n"
+            + "    if (typeof docs === 'string') docs = JSON.parse(docs);\n"
+            + "    if (!docs || docs.length === 0) { response.setBody(0); return; }\n"
+            + "    tryUpsert();\n"
+            + "    function tryUpsert() {\n"
+            + "        if (!collection.upsertDocument(collection.getSelfLink(), docs[count], callback)) {\n"
+            + "            response.setBody(count);\n"
+            + "        }\n"
+            + "    }\n"
+            + "    function callback(err) {\n"
+            + "        if (err) throw err;\n"
+            + "        count++;\n"
+            + "        if (count >= docs.length) response.setBody(count); else tryUpsert();\n"
+            + "    }\n"
+            + "}";
+
+    private final DocumentClient documentClient;
+    private final Set<String> registeredCollections = ConcurrentHashMap.newKeySet();
+
+    StoredProcedureBulkImportClient(@NonNull DocumentClient documentClient) {
+        this.documentClient = documentClient;
+    }
+
+    @Override
+    public int importDocuments(@NonNull String collectionLink, PartitionKey partitionKey,
+                               @NonNull List<String> documents) throws DocumentClientException {
+        registerIfAbsent(collectionLink);
+
+        try {
+            return execute(collectionLink, partitionKey, documents);
+        } catch (DocumentClientException e) {
+            if (e.getStatusCode() != HttpConstants.StatusCodes.NOTFOUND) {
+                throw e;
+            }
+
+            // The collection may be re-created since the procedure was registered
+            registeredCollections.remove(collectionLink);
+            registerIfAbsent(collectionLink);
+
+            return execute(collectionLink, partitionKey, documents);
+        }
+    }
+
+    private int execute(@NonNull String collectionLink, PartitionKey partitionKey, @NonNull List<String> documents)
+            throws DocumentClientException {
+        final RequestOptions options = new RequestOptions();
+
+        if (partitionKey != null) {
+            options.setPartitionKey(partitionKey);
+        }
+
+        final String body = documentClient.executeStoredProcedure(getStoredProcedureLink(collectionLink), options,
+                new Object[]{"[" + String.join(",", documents) + "]"}).getResponseAsString();
+
+        return Integer.parseInt(body.trim());
+    }
+
+    private void registerIfAbsent(@NonNull String collectionLink) throws DocumentClientException {
+        if (registeredCollections.contains(collectionLink)) {
+            return;
+        }
+
+        final StoredProcedure storedProcedure = new StoredProcedure();
+
+        storedProcedure.setId(STORED_PROCEDURE_ID);
+        storedProcedure.setBody(STORED_PROCEDURE_BODY);
+
+        log.debug("register bulk import stored procedure on collection {}", collectionLink);
+
+        documentClient.upsertStoredProcedure(collectionLink, storedProcedure, null);
+        registeredCollections.add(collectionLink);
+    }
+
+    private static String getStoredProcedureLink(@NonNull String collectionLink) {
+        return collectionLink + "/sprocs/" + STORED_PROCEDURE_ID;
+    }
+}
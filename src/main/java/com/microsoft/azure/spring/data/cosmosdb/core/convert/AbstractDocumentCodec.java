@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.convert;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.microsoft.azure.spring.data.cosmosdb.exception.DocumentDBAccessException;
+import org.json.JSONException;
+import org.springframework.lang.NonNull;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.util.Date;
+
+import static com.microsoft.azure.spring.data.cosmosdb.core.convert.DocumentDbValueConverters.ZONED_DATE_TIME_FORMATTER;
+
+/**
+ * Base class of generated {@link DocumentCodec}s. Values of simple types are converted in place, the same way as
+ * the default {@link DocumentDbValueConverters} do, values of any other type are bound by Jackson. Enum, Date and
+ * ZonedDateTime values with another converter registered on the shared {@link DocumentDbValueConverters} are written
+ * by that converter and read by Jackson, the same as entities bound by Jackson.
+ * The read helpers take the non-null value of a document key.
+ *
+ * @param <T> the domain type.
+ */
+public abstract class AbstractDocumentCodec<T> implements DocumentCodec<T> {
+
+    private final ObjectMapper objectMapper;
+
+    protected AbstractDocumentCodec(@NonNull ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    protected ObjectReader reader(@NonNull TypeReference<?> type) {
+        return objectMapper.readerFor(type).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    protected ObjectWriter writer(@NonNull TypeReference<?> type) {
+        return objectMapper.writerFor(type);
+    }
+
+    protected String readString(@NonNull Object value) {
+        return value instanceof String ? (String) value : convert(value, String.class);
+    }
+
+    protected boolean readBoolean(@NonNull Object value) {
+        return value instanceof Boolean ? (Boolean) value : convert(value, Boolean.class);
+    }
+
+    protected int readInt(@NonNull Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : convert(value, Integer.class);
+    }
+
+    protected long readLong(@NonNull Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : convert(value, Long.class);
+    }
+
+    protected short readShort(@NonNull Object value) {
+        return value instanceof Number ? ((Number) value).shortValue() : convert(value, Short.class);
+    }
+
+    protected byte readByte(@NonNull Object value) {
+        return value instanceof Number ? ((Number) value).byteValue() : convert(value, Byte.class);
+    }
+
+    protected double readDouble(@NonNull Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : convert(value, Double.class);
+    }
+
+    protected float readFloat(@NonNull Object value) {
+        return value instanceof Number ? ((Number) value).floatValue() : convert(value, Float.class);
+    }
+
+    protected <E extends Enum<E>> E readEnum(@NonNull Object value, @NonNull Class<E> type) {
+        return value instanceof String && hasDefaultConverter(type) ? Enum.valueOf(type, (String) value)
+                : convert(value, type);
+    }
+
+    protected Date readDate(@NonNull Object value) {
+        return value instanceof Number && hasDefaultConverter(Date.class) ? new Date(((Number) value).longValue())
+                : convert(value, Date.class);
+    }
+
+    protected ZonedDateTime readZonedDateTime(@NonNull Object value) {
+        return value instanceof String && hasDefaultConverter(ZonedDateTime.class)
+                ? ZonedDateTime.parse((String) value, ZONED_DATE_TIME_FORMATTER) : convert(value, ZonedDateTime.class);
+    }
+
+    protected Object readValue(@NonNull Object value, @NonNull ObjectReader reader) {
+        try {
+            return JsonTokens.readValue(value, reader, objectMapper);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read document value " + value, e);
+        }
+    }
+
+    private <V> V convert(@NonNull Object value, @NonNull Class<V> type) {
+        return type.cast(readValue(value, objectMapper.readerFor(type)));
+    }
+
+    protected static Object writeInteger(Number value) {
+        return value == null ? null : JsonTokens.toJSONInteger(value);
+    }
+
+    protected static Object writeDecimal(Number value) {
+        return value == null ? null : JsonTokens.toJSONDouble(value);
+    }
+
+    protected Object writeEnum(Enum<?> value) {
+        if (value == null) {
+            return null;
+        }
+
+        return hasDefaultConverter(value.getClass()) ? value.name() : writeConverted(value);
+    }
+
+    protected Object writeDate(Date value) {
+        if (value == null) {
+            return null;
+        }
+
+        return hasDefaultConverter(value.getClass()) ? JsonTokens.toJSONInteger(value.getTime())
+                : writeConverted(value);
+    }
+
+    protected Object writeZonedDateTime(ZonedDateTime value) {
+        if (value == null) {
+            return null;
+        }
+
+        return hasDefaultConverter(value.getClass()) ? value.format(ZONED_DATE_TIME_FORMATTER)
+                : writeConverted(value);
+    }
+
+    private static boolean hasDefaultConverter(@NonNull Class<?> type) {
+        return DocumentDbValueConverters.getInstance().hasDefaultConverter(type);
+    }
+
+    private Object writeConverted(@NonNull Object value) {
+        final Object converted = DocumentDbValueConverters.getInstance().convert(value);
+
+        return converted == null ? null : writeValue(converted, objectMapper.writerFor(converted.getClass()));
+    }
+
+    protected Object writeValue(Object value, @NonNull ObjectWriter writer) {
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            final TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+
+            writer.writeValue(buffer, value);
+
+            final JsonParser parser = buffer.asParser();
+
+            parser.nextToken();
+
+            return JsonTokens.readJSONValue(parser, objectMapper);
+        } catch (IOException | JSONException e) {
+            throw new DocumentDBAccessException("Failed to map document value.", e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.convert;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleSerializers;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Serializers writing the values converted by the shared {@link DocumentDbValueConverters}, so the entities
+ * written by Jackson hold the same values as query parameters do.
+ */
+final class ConvertingSerializers extends SimpleSerializers {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public JsonSerializer<?> findSerializer(SerializationConfig config, JavaType type, BeanDescription beanDesc) {
+        if (DocumentDbValueConverters.getInstance().isConvertedOnWrite(type.getRawClass())) {
+            return new ConvertingSerializer();
+        }
+
+        return super.findSerializer(config, type, beanDesc);
+    }
+
+    private static final class ConvertingSerializer extends StdSerializer<Object> {
+
+        private static final long serialVersionUID = 1L;
+
+        private ConvertingSerializer() {
+            super(Object.class);
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            final DocumentDbValueConverters valueConverters = DocumentDbValueConverters.getInstance();
+            final Object converted = valueConverters.convert(value);
+
+            if (converted != null && valueConverters.isConvertedOnWrite(converted.getClass())) {
+                throw JsonMappingException.from(generator, "Value of " + value.getClass().getName()
+                        + " is converted to " + converted.getClass().getName() + ", which has converter as well");
+            }
+
+            provider.defaultSerializeValue(converted, generator);
+        }
+    }
+}
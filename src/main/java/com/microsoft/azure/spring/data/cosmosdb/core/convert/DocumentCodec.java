@@ -0,0 +1,33 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.convert;
+
+import com.microsoft.azure.documentdb.Document;
+import org.springframework.lang.NonNull;
+
+/**
+ * Reads and writes one domain type without reflection. Implementations are generated by
+ * {@link DocumentCodecProcessor} as {@code <DomainClass>_DocumentCodec} next to the domain class, and picked up
+ * by {@link MappingDocumentDbConverter} in place of Jackson binding.
+ *
+ * @param <T> the domain type.
+ */
+public interface DocumentCodec<T> {
+
+    String CLASS_NAME_SUFFIX = "_DocumentCodec";
+
+    /**
+     * @param document the document read from CosmosDB, its key id is read into the id property of domain.
+     * @return the domain instance.
+     */
+    T read(@NonNull Document document);
+
+    /**
+     * @param entity the domain instance.
+     * @return the document with all the properties of domain, document id is left to the caller.
+     */
+    Document write(@NonNull T entity);
+}
@@ -0,0 +1,580 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.convert;
+
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@link DocumentCodec} named {@code <DomainClass>_DocumentCodec} for each top level class annotated
+ * with {@link com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document}.
+ * <p>
+ * The processor is not registered as a service, so it only runs when added to the annotation processors of
+ * the compiler, after Lombok if domain classes rely on Lombok accessors. A domain class is skipped, and keeps being
+ * bound by Jackson, when Jackson could bind it differently from a plain bean: Jackson annotations, inheritance,
+ * generics, final or transient fields, accessors without a field, or no constructor without arguments. Fields of
+ * enum types with Jackson annotations, such as {@code @JsonValue}, are bound by Jackson.
+ */
+@SupportedAnnotationTypes(DocumentCodecProcessor.DOCUMENT_ANNOTATION)
+public class DocumentCodecProcessor extends AbstractProcessor {
+
+    static final String DOCUMENT_ANNOTATION = "com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document";
+
+    private static final String ID_ANNOTATION = "org.springframework.data.annotation.Id";
+    private static final String JACKSON_PACKAGE = "com.fasterxml.jackson.";
+    private static final String LOMBOK_DATA = "lombok.Data";
+    private static final String LOMBOK_GETTER = "lombok.Getter";
+    private static final String LOMBOK_SETTER = "lombok.Setter";
+    private static final String LOMBOK_NO_ARGS_CONSTRUCTOR = "lombok.NoArgsConstructor";
+    private static final String[] LOMBOK_OTHER_CONSTRUCTORS = {"lombok.AllArgsConstructor",
+            "lombok.RequiredArgsConstructor", "lombok.Builder", "lombok.Value"};
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (final TypeElement annotation : annotations) {
+            for (final TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                try {
+                    generate(type, getProperties(type));
+                } catch (UnsupportedDomainException e) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                            "No document codec generated for " + type.getQualifiedName() + ": " + e.getMessage(),
+                            type);
+                } catch (IOException e) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                            "Failed to write document codec of " + type.getQualifiedName() + ": " + e.getMessage(),
+                            type);
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private List<Property> getProperties(TypeElement type) throws UnsupportedDomainException {
+        checkType(type);
+
+        final List<VariableElement> fields = new ArrayList<>();
+        final Set<String> fieldNames = new HashSet<>();
+
+        for (final VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (!field.getModifiers().contains(Modifier.STATIC)) {
+                checkField(field);
+                fields.add(field);
+                fieldNames.add(field.getSimpleName().toString());
+            }
+        }
+
+        checkMethods(type, fieldNames);
+
+        final VariableElement idField = getIdField(fields);
+        final List<Property> properties = new ArrayList<>();
+
+        for (final VariableElement field : fields) {
+            final Property property = getProperty(type, field, field == idField);
+
+            if (property != null) {
+                properties.add(property);
+            }
+        }
+
+        return properties;
+    }
+
+    private void checkType(TypeElement type) throws UnsupportedDomainException {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new UnsupportedDomainException("not a concrete class");
+        } else if (type.getEnclosingElement().getKind() != ElementKind.PACKAGE) {
+            throw new UnsupportedDomainException("not a top level class");
+        } else if (!type.getTypeParameters().isEmpty()) {
+            throw new UnsupportedDomainException("generic class");
+        } else if (!Object.class.getName().equals(type.getSuperclass().toString())) {
+            throw new UnsupportedDomainException("class extends " + type.getSuperclass());
+        } else if (hasJacksonAnnotation(type)) {
+            throw new UnsupportedDomainException("class has Jackson annotation");
+        }
+
+        final AnnotationMirror noArgsConstructor = getAnnotation(type, LOMBOK_NO_ARGS_CONSTRUCTOR);
+
+        if (noArgsConstructor != null) {
+            if (!isAccessible(noArgsConstructor, "access")) {
+                throw new UnsupportedDomainException("private constructor without arguments");
+            }
+
+            return;
+        }
+
+        for (final String annotation : LOMBOK_OTHER_CONSTRUCTORS) {
+            if (getAnnotation(type, annotation) != null) {
+                throw new UnsupportedDomainException("no constructor without arguments");
+            }
+        }
+
+        for (final ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return;
+            }
+        }
+
+        throw new UnsupportedDomainException("no constructor without arguments");
+    }
+
+    private void checkField(VariableElement field) throws UnsupportedDomainException {
+        final String name = field.getSimpleName().toString();
+        final TypeKind kind = field.asType().getKind();
+
+        if (field.getModifiers().contains(Modifier.FINAL) || field.getModifiers().contains(Modifier.TRANSIENT)) {
+            throw new UnsupportedDomainException("final or transient field " + name);
+        } else if (hasJacksonAnnotation(field)) {
+            throw new UnsupportedDomainException("field " + name + " has Jackson annotation");
+        } else if (kind == TypeKind.TYPEVAR || kind == TypeKind.WILDCARD || kind == TypeKind.ERROR) {
+            throw new UnsupportedDomainException("field " + name + " of unresolved type");
+        } else if (Character.isUpperCase(name.charAt(0))
+                || name.length() > 1 && Character.isUpperCase(name.charAt(1))) {
+            // Jackson lower cases the leading upper case letters of accessor names, e.g. getXValue -> xvalue
+            throw new UnsupportedDomainException("field " + name + " has no matching JSON property name");
+        } else if (kind == TypeKind.BOOLEAN && name.length() > 2 && name.startsWith("is")
+                && Character.isUpperCase(name.charAt(2))) {
+            throw new UnsupportedDomainException("field " + name + " has no matching JSON property name");
+        }
+    }
+
+    /**
+     * Jackson takes every public getter and setter as property, all of them should be backed by a field.
+     */
+    private void checkMethods(TypeElement type, Set<String> fieldNames) throws UnsupportedDomainException {
+        for (final ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (hasJacksonAnnotation(method)) {
+                throw new UnsupportedDomainException("method " + method.getSimpleName() + " has Jackson annotation");
+            } else if (!method.getModifiers().contains(Modifier.PUBLIC)
+                    || method.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+
+            final String name = method.getSimpleName().toString();
+            final int parameters = method.getParameters().size();
+            final TypeKind returnKind = method.getReturnType().getKind();
+            String propertyName = null;
+
+            if (name.startsWith("get") && name.length() > 3 && parameters == 0 && returnKind != TypeKind.VOID) {
+                propertyName = toPropertyName(name.substring(3));
+            } else if (name.startsWith("is") && name.length() > 2 && parameters == 0
+                    && returnKind == TypeKind.BOOLEAN) {
+                propertyName = toPropertyName(name.substring(2));
+            } else if (name.startsWith("set") && name.length() > 3 && parameters == 1) {
+                propertyName = toPropertyName(name.substring(3));
+            }
+
+            if (propertyName != null && !fieldNames.contains(propertyName)) {
+                throw new UnsupportedDomainException("accessor " + name + " without field");
+            }
+        }
+    }
+
+    private VariableElement getIdField(List<VariableElement> fields) throws UnsupportedDomainException {
+        VariableElement annotatedId = null;
+        VariableElement namedId = null;
+
+        for (final VariableElement field : fields) {
+            if (getAnnotation(field, ID_ANNOTATION) != null) {
+                annotatedId = field;
+            } else if (field.getSimpleName().contentEquals(Constants.ID_PROPERTY_NAME)) {
+                namedId = field;
+            }
+        }
+
+        if (annotatedId != null && namedId != null) {
+            throw new UnsupportedDomainException("field id is not the @Id field");
+        }
+
+        return annotatedId == null ? namedId : annotatedId;
+    }
+
+    private Property getProperty(TypeElement type, VariableElement field, boolean isId) {
+        final String name = field.getSimpleName().toString();
+        final String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        final boolean isBoolean = field.asType().getKind() == TypeKind.BOOLEAN;
+        final boolean isPublic = field.getModifiers().contains(Modifier.PUBLIC);
+
+        // Lombok names the getter of primitive boolean isXxx, Jackson accepts both isXxx and getXxx
+        final String getterName = isBoolean && !hasMethod(type, "is" + capitalized, 0)
+                && hasMethod(type, "get" + capitalized, 0) ? "get" + capitalized
+                : (isBoolean ? "is" : "get") + capitalized;
+        final boolean hasGetter = hasMethod(type, getterName, 0) || hasLombokAccessor(type, field, LOMBOK_GETTER);
+        final boolean hasSetter = hasMethod(type, "set" + capitalized, 1)
+                || hasLombokAccessor(type, field, LOMBOK_SETTER);
+
+        final String getter;
+        final String setter;
+
+        if (hasGetter) {
+            getter = "entity." + getterName + "()";
+        } else {
+            getter = isPublic ? "entity." + name : null;
+        }
+
+        if (hasSetter) {
+            setter = "entity.set" + capitalized + "(%s);";
+        } else if (isPublic || hasGetter && !field.getModifiers().contains(Modifier.PRIVATE)) {
+            setter = "entity." + name + " = %s;";
+        } else if (hasGetter) {
+            // Jackson sets the private field by reflection
+            return null;
+        } else {
+            setter = null;
+        }
+
+        if (getter == null && setter == null) {
+            return null; // Invisible to Jackson as well
+        }
+
+        return new Property(name, isId ? Constants.ID_PROPERTY_NAME : name, getKind(field.asType()),
+                getTypeName(field.asType()), field.asType().getKind().isPrimitive(), getter, setter);
+    }
+
+    private Kind getKind(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return Kind.BOOLEAN;
+            case INT:
+                return Kind.INT;
+            case LONG:
+                return Kind.LONG;
+            case SHORT:
+                return Kind.SHORT;
+            case BYTE:
+                return Kind.BYTE;
+            case DOUBLE:
+                return Kind.DOUBLE;
+            case FLOAT:
+                return Kind.FLOAT;
+            case DECLARED:
+                break;
+            default:
+                return Kind.OTHER;
+        }
+
+        final Element element = ((DeclaredType) type).asElement();
+
+        if (element.getKind() == ElementKind.ENUM) {
+            return hasJacksonAnnotatedMember(element) ? Kind.OTHER : Kind.ENUM;
+        }
+
+        switch (((TypeElement) element).getQualifiedName().toString()) {
+            case "java.lang.String":
+                return Kind.STRING;
+            case "java.lang.Boolean":
+                return Kind.BOOLEAN;
+            case "java.lang.Integer":
+                return Kind.INT;
+            case "java.lang.Long":
+                return Kind.LONG;
+            case "java.lang.Short":
+                return Kind.SHORT;
+            case "java.lang.Byte":
+                return Kind.BYTE;
+            case "java.lang.Double":
+                return Kind.DOUBLE;
+            case "java.lang.Float":
+                return Kind.FLOAT;
+            case "java.util.Date":
+                return Kind.DATE;
+            case "java.time.ZonedDateTime":
+                return Kind.ZONED_DATE_TIME;
+            default:
+                return Kind.OTHER;
+        }
+    }
+
+    private String getTypeName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type)
+                    .getQualifiedName().toString();
+        }
+
+        return type.toString();
+    }
+
+    /**
+     * The Generated annotation moved to javax.annotation.processing in Java 9, the old one is absent since Java 11
+     * unless javax.annotation-api is added.
+     */
+    private String getGeneratedAnnotation() {
+        return processingEnv.getSourceVersion().compareTo(SourceVersion.RELEASE_8) > 0
+                ? "javax.annotation.processing.Generated" : "javax.annotation.Generated";
+    }
+
+    private void generate(TypeElement type, List<Property> properties) throws IOException {
+        final String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        final String entityName = type.getSimpleName().toString();
+        final String codecName = entityName + DocumentCodec.CLASS_NAME_SUFFIX;
+        final StringBuilder source = new StringBuilder();
+
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+
+        source.append('@').append(getGeneratedAnnotation()).append("(\"").append(getClass().getName()).append("\")\n")
+              .append("public final class ").append(codecName).append("\n        extends ")
+              .append(AbstractDocumentCodec.class.getName()).append('<').append(entityName).append("> {\n\n");
+
+        for (final Property property : properties) {
+            if (property.kind == Kind.OTHER) {
+                source.append("    private final com.fasterxml.jackson.databind.ObjectReader ")
+                      .append(property.name).append("Reader;\n")
+                      .append("    private final com.fasterxml.jackson.databind.ObjectWriter ")
+                      .append(property.name).append("Writer;\n");
+            }
+        }
+
+        source.append("\n    public ").append(codecName)
+              .append("(com.fasterxml.jackson.databind.ObjectMapper objectMapper) {\n")
+              .append("        super(objectMapper);\n");
+
+        for (final Property property : properties) {
+            if (property.kind == Kind.OTHER) {
+                final String typeReference = "new com.fasterxml.jackson.core.type.TypeReference<"
+                        + property.typeName + ">() { }";
+
+                source.append("        this.").append(property.name).append("Reader = reader(")
+                      .append(typeReference).append(");\n")
+                      .append("        this.").append(property.name).append("Writer = writer(")
+                      .append(typeReference).append(");\n");
+            }
+        }
+
+        source.append("    }\n\n")
+              .append("    @Override\n")
+              .append("    @SuppressWarnings(\"unchecked\")\n")
+              .append("    public ").append(entityName)
+              .append(" read(com.microsoft.azure.documentdb.Document document) {\n")
+              .append("        final ").append(entityName).append(" entity = new ").append(entityName).append("();\n")
+              .append("        Object value;\n");
+
+        for (final Property property : properties) {
+            if (property.setter != null) {
+                appendRead(source, property);
+            }
+        }
+
+        source.append("\n        return entity;\n    }\n\n")
+              .append("    @Override\n")
+              .append("    public com.microsoft.azure.documentdb.Document write(").append(entityName)
+              .append(" entity) {\n")
+              .append("        final com.microsoft.azure.documentdb.Document document =")
+              .append(" new com.microsoft.azure.documentdb.Document();\n\n");
+
+        for (final Property property : properties) {
+            if (property.getter != null) {
+                source.append("        document.set(\"").append(property.name).append("\", ")
+                      .append(String.format(property.kind.writeFormat, property.getter, property.name))
+                      .append(");\n");
+            }
+        }
+
+        source.append("\n        return document;\n    }\n}\n");
+
+        final String codecQualifiedName = packageName.isEmpty() ? codecName : packageName + "." + codecName;
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(codecQualifiedName, type).openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    private void appendRead(StringBuilder source, Property property) {
+        final String readExpression = String.format(property.kind.readFormat, property.typeName, property.name);
+
+        source.append("\n        value = document.get(\"").append(property.key).append("\");\n")
+              .append("        if (value != null) {\n")
+              .append("            ").append(String.format(property.setter, readExpression)).append('\n');
+
+        if (!property.isPrimitive) {
+            // Document#get gives null for both absent key and null value, only the latter is set to domain
+            source.append("        } else if (document.has(\"").append(property.key).append("\")) {\n")
+                  .append("            ").append(String.format(property.setter, "null")).append('\n');
+        }
+
+        source.append("        }\n");
+    }
+
+    private boolean hasMethod(TypeElement type, String name, int parameters) {
+        for (final ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getSimpleName().contentEquals(name) && method.getParameters().size() == parameters
+                    && method.getModifiers().contains(Modifier.PUBLIC)
+                    && !method.getModifiers().contains(Modifier.STATIC)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Accessor generated by Lombok, in case Lombok has not added it to the class yet.
+     */
+    private boolean hasLombokAccessor(TypeElement type, VariableElement field, String accessorAnnotation) {
+        final AnnotationMirror onField = getAnnotation(field, accessorAnnotation);
+
+        if (onField != null) {
+            return isAccessible(onField, "value");
+        }
+
+        final AnnotationMirror onType = getAnnotation(type, accessorAnnotation);
+
+        if (onType != null) {
+            return isAccessible(onType, "value");
+        }
+
+        return getAnnotation(type, LOMBOK_DATA) != null;
+    }
+
+    private static boolean isAccessible(AnnotationMirror lombokAnnotation, String accessAttribute) {
+        for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : lombokAnnotation.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(accessAttribute)) {
+                return entry.getValue().getValue().toString().endsWith("PUBLIC");
+            }
+        }
+
+        return true;
+    }
+
+    private static AnnotationMirror getAnnotation(Element element, String annotationName) {
+        for (final AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            final TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+
+            if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+                return annotation;
+            }
+        }
+
+        return null;
+    }
+
+    private static boolean hasJacksonAnnotation(Element element) {
+        for (final AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            final TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+
+            if (annotationType.getQualifiedName().toString().startsWith(JACKSON_PACKAGE)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean hasJacksonAnnotatedMember(Element type) {
+        if (hasJacksonAnnotation(type)) {
+            return true;
+        }
+
+        for (final Element member : type.getEnclosedElements()) {
+            if (hasJacksonAnnotation(member)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Same as Jackson does for accessor names by default, lower case all the leading upper case letters.
+     */
+    private static String toPropertyName(String accessorSuffix) {
+        final StringBuilder name = new StringBuilder(accessorSuffix);
+
+        for (int i = 0; i < name.length() && Character.isUpperCase(name.charAt(i)); i++) {
+            name.setCharAt(i, Character.toLowerCase(name.charAt(i)));
+        }
+
+        return name.toString();
+    }
+
+    /**
+     * Conversion of one property, formats take the type name and the property name, or the getter expression and
+     * the property name.
+     */
+    private enum Kind {
+        STRING("readString(value)", "%s"),
+        BOOLEAN("readBoolean(value)", "%s"),
+        INT("readInt(value)", "%s"),
+        LONG("readLong(value)", "writeInteger(%s)"),
+        SHORT("readShort(value)", "writeInteger(%s)"),
+        BYTE("readByte(value)", "writeInteger(%s)"),
+        DOUBLE("readDouble(value)", "writeDecimal(%s)"),
+        FLOAT("readFloat(value)", "writeDecimal(%s)"),
+        ENUM("readEnum(value, %s.class)", "writeEnum(%s)"),
+        DATE("readDate(value)", "writeDate(%s)"),
+        ZONED_DATE_TIME("readZonedDateTime(value)", "writeZonedDateTime(%s)"),
+        OTHER("(%s) readValue(value, %sReader)", "writeValue(%s, %sWriter)");
+
+        private final String readFormat;
+        private final String writeFormat;
+
+        Kind(String readFormat, String writeFormat) {
+            this.readFormat = readFormat;
+            this.writeFormat = writeFormat;
+        }
+    }
+
+    private static final class Property {
+        private final String name;
+        private final String key;
+        private final Kind kind;
+        private final String typeName;
+        private final boolean isPrimitive;
+        private final String getter;
+        private final String setter;
+
+        private Property(String name, String key, Kind kind, String typeName, boolean isPrimitive, String getter,
+                         String setter) {
+            this.name = name;
+            this.key = key;
+            this.kind = kind;
+            this.typeName = typeName;
+            this.isPrimitive = isPrimitive;
+            this.getter = getter;
+            this.setter = setter;
+        }
+    }
+
+    private static final class UnsupportedDomainException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        private UnsupportedDomainException(String message) {
+            super(message);
+        }
+    }
+}
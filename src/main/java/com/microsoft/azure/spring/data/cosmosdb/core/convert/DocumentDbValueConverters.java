@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.convert;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.microsoft.azure.spring.data.cosmosdb.Constants.ISO_8601_COMPATIBLE_DATE_PATTERN;
+
+/**
+ * Registry of converters from property values to the values stored in CosmosDB, keyed by the value type, the same
+ * way as {@link org.springframework.data.convert.CustomConversions}. A converter registered for a type applies to
+ * its subtypes as well, and the converter of each type is resolved once then cached.
+ * <p>
+ * The shared instance is used for query parameters, partition key values and the entities written by
+ * {@link MappingDocumentDbConverter}. Converters should be registered on start up, before any entity is written,
+ * as Jackson caches the serializers it has built. Converted values must be of types without converter.
+ */
+public final class DocumentDbValueConverters {
+
+    public static final DateTimeFormatter ZONED_DATE_TIME_FORMATTER =
+            DateTimeFormatter.ofPattern(ISO_8601_COMPATIBLE_DATE_PATTERN);
+
+    private static final Converter<Object, Object> NO_CONVERTER = value -> value;
+
+    // Jackson writes Date and Enum the same way already, and honors @JsonFormat and @JsonValue on them
+    private static final Converter<Date, Object> DATE_CONVERTER = Date::getTime;
+    @SuppressWarnings("rawtypes")
+    private static final Converter<Enum, Object> ENUM_CONVERTER = Enum::name;
+    private static final Converter<ZonedDateTime, Object> ZONED_DATE_TIME_CONVERTER =
+            value -> value.format(ZONED_DATE_TIME_FORMATTER);
+
+    private static final DocumentDbValueConverters INSTANCE = new DocumentDbValueConverters();
+
+    private final Map<Class<?>, Converter<Object, Object>> converters = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Converter<Object, Object>> resolvedConverters = new ConcurrentHashMap<>();
+
+    /**
+     * Create the registry with the default converters of {@link Date}, {@link ZonedDateTime} and {@link Enum}.
+     */
+    public DocumentDbValueConverters() {
+        register(Date.class, DATE_CONVERTER);
+        register(ZonedDateTime.class, ZONED_DATE_TIME_CONVERTER);
+        register(Enum.class, ENUM_CONVERTER);
+    }
+
+    public static DocumentDbValueConverters getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Register the converter of given type and its subtypes, replacing the one registered before for the type.
+     *
+     * @param type      the type of property value.
+     * @param converter converts the property value to String, Number, Boolean, Map or Collection.
+     */
+    @SuppressWarnings("unchecked")
+    public <S> void register(@NonNull Class<S> type, @NonNull Converter<? super S, ?> converter) {
+        Assert.notNull(type, "type should not be null");
+        Assert.notNull(converter, "converter should not be null");
+
+        converters.put(type, (Converter<Object, Object>) converter);
+        resolvedConverters.clear();
+    }
+
+    public void unregister(@NonNull Class<?> type) {
+        converters.remove(type);
+        resolvedConverters.clear();
+    }
+
+    /**
+     * Convert a property value to the value stored in CosmosDB.
+     *
+     * @param value the property value, may be null.
+     * @return the converted value, or the value itself if there is no converter for its type.
+     */
+    public Object convert(Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        final Converter<Object, Object> converter = getConverter(value.getClass());
+
+        return converter == NO_CONVERTER ? value : converter.convert(value);
+    }
+
+    public boolean hasConverter(@NonNull Class<?> type) {
+        return getConverter(type) != NO_CONVERTER;
+    }
+
+    /**
+     * @return true if values of given type should be converted when Jackson writes an entity.
+     */
+    boolean isConvertedOnWrite(@NonNull Class<?> type) {
+        final Object converter = getConverter(type);
+
+        return converter != NO_CONVERTER && converter != DATE_CONVERTER && converter != ENUM_CONVERTER;
+    }
+
+    /**
+     * @return true if values of given type have no converter, or the default one of {@link Date},
+     * {@link ZonedDateTime} or {@link Enum}.
+     */
+    boolean hasDefaultConverter(@NonNull Class<?> type) {
+        final Object converter = getConverter(type);
+
+        return converter == NO_CONVERTER || converter == DATE_CONVERTER || converter == ENUM_CONVERTER
+                || converter == ZONED_DATE_TIME_CONVERTER;
+    }
+
+    private Converter<Object, Object> getConverter(@NonNull Class<?> type) {
+        return resolvedConverters.computeIfAbsent(type, this::resolveConverter);
+    }
+
+    private Converter<Object, Object> resolveConverter(@NonNull Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            final Converter<Object, Object> converter = converters.get(current);
+
+            if (converter != null) {
+                return converter;
+            }
+        }
+
+        for (final Class<?> anInterface : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+            final Converter<Object, Object> converter = converters.get(anInterface);
+
+            if (converter != null) {
+                return converter;
+            }
+        }
+
+        return NO_CONVERTER;
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.convert;
+
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.microsoft.azure.spring.data.cosmosdb.exception.DocumentDBAccessException;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.springframework.lang.NonNull;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Moves values between Jackson tokens and the org.json values held by {@link com.microsoft.azure.documentdb.Document},
+ * without going through a serialized String.
+ */
+final class JsonTokens {
+
+    private JsonTokens() {
+    }
+
+    /**
+     * Write one document value as tokens, the value is either an org.json value or one copied by
+     * {@link com.microsoft.azure.documentdb.JsonSerializable#getHashMap()}.
+     */
+    @SuppressWarnings("unchecked")
+    static void writeTokens(@NonNull TokenBuffer buffer, Object value, @NonNull ObjectMapper objectMapper)
+            throws IOException {
+        if (value == null || JSONObject.NULL.equals(value)) {
+            buffer.writeNull();
+        } else if (value instanceof String) {
+            buffer.writeString((String) value);
+        } else if (value instanceof Boolean) {
+            buffer.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            buffer.writeNumber((Integer) value);
+        } else if (value instanceof Long) {
+            buffer.writeNumber((Long) value);
+        } else if (value instanceof Double) {
+            buffer.writeNumber((Double) value);
+        } else if (value instanceof Map) {
+            buffer.writeStartObject();
+
+            for (final Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+                buffer.writeFieldName(entry.getKey());
+                writeTokens(buffer, entry.getValue(), objectMapper);
+            }
+
+            buffer.writeEndObject();
+        } else if (value instanceof JSONObject) {
+            final JSONObject jsonObject = (JSONObject) value;
+            final Iterator<String> keys = jsonObject.keys();
+
+            buffer.writeStartObject();
+
+            while (keys.hasNext()) {
+                final String key = keys.next();
+
+                buffer.writeFieldName(key);
+                writeTokens(buffer, jsonObject.get(key), objectMapper);
+            }
+
+            buffer.writeEndObject();
+        } else if (value instanceof Collection) {
+            buffer.writeStartArray();
+
+            for (final Object element : (Collection<Object>) value) {
+                writeTokens(buffer, element, objectMapper);
+            }
+
+            buffer.writeEndArray();
+        } else if (value instanceof JSONArray) {
+            final JSONArray jsonArray = (JSONArray) value;
+
+            buffer.writeStartArray();
+
+            for (int i = 0; i < jsonArray.length(); i++) {
+                writeTokens(buffer, jsonArray.get(i), objectMapper);
+            }
+
+            buffer.writeEndArray();
+        } else {
+            objectMapper.writeValue(buffer, value);
+        }
+    }
+
+    /**
+     * Bind one document value to the type of given reader.
+     */
+    static Object readValue(Object value, @NonNull ObjectReader reader, @NonNull ObjectMapper objectMapper)
+            throws IOException {
+        final TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+
+        writeTokens(buffer, value, objectMapper);
+
+        return reader.readValue(buffer.asParser());
+    }
+
+    /**
+     * Read the value at current token of parser, values are converted to the same types as JSONObject produces
+     * when parsing the serialized String.
+     */
+    static Object readJSONValue(@NonNull JsonParser parser, @NonNull ObjectMapper objectMapper) throws IOException {
+        switch (parser.getCurrentToken()) {
+            case START_OBJECT:
+                return readJSONObject(parser, objectMapper);
+            case START_ARRAY:
+                final JSONArray jsonArray = new JSONArray();
+
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    jsonArray.put(readJSONValue(parser, objectMapper));
+                }
+
+                return jsonArray;
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return toJSONInteger(parser.getNumberValue());
+            case VALUE_NUMBER_FLOAT:
+                return toJSONDouble(parser.getNumberValue());
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return JSONObject.NULL;
+            case VALUE_EMBEDDED_OBJECT:
+                final Object embedded = parser.getEmbeddedObject();
+
+                if (embedded instanceof byte[]) {
+                    return Base64Variants.getDefaultVariant().encode((byte[]) embedded);
+                }
+
+                return new JSONTokener(objectMapper.writeValueAsString(embedded)).nextValue();
+            default:
+                throw new DocumentDBAccessException("Unexpected token of serialized entity: "
+                        + parser.getCurrentToken());
+        }
+    }
+
+    private static JSONObject readJSONObject(@NonNull JsonParser parser, @NonNull ObjectMapper objectMapper)
+            throws IOException {
+        final JSONObject jsonObject = new JSONObject();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = parser.getCurrentName();
+
+            parser.nextToken();
+            jsonObject.put(fieldName, readJSONValue(parser, objectMapper));
+        }
+
+        return jsonObject;
+    }
+
+    static Object toJSONInteger(@NonNull Number number) {
+        if (number instanceof Integer) {
+            return number;
+        } else if (number instanceof Long) {
+            final long value = number.longValue();
+
+            return value == (int) value ? Integer.valueOf((int) value) : number;
+        } else if (number instanceof BigInteger) {
+            // JSONObject keeps integers out of Long range as String
+            final boolean isLongRange = ((BigInteger) number).bitLength() < Long.SIZE;
+
+            return isLongRange ? toJSONInteger(number.longValue()) : number.toString();
+        }
+
+        return number.intValue();
+    }
+
+    static Object toJSONDouble(@NonNull Number number) {
+        final Double value = number instanceof Double ? (Double) number : Double.valueOf(number.toString());
+
+        // JSONObject keeps non-finite numbers as String
+        return value.isInfinite() || value.isNaN() ? value.toString() : value;
+    }
+}
@@ -0,0 +1,343 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.convert;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.microsoft.azure.documentdb.Document;
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbPersistentEntity;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbPersistentProperty;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.PartitionKey;
+import org.springframework.cglib.proxy.Callback;
+import org.springframework.cglib.proxy.CallbackFilter;
+import org.springframework.cglib.proxy.Enhancer;
+import org.springframework.cglib.proxy.Factory;
+import org.springframework.cglib.proxy.MethodInterceptor;
+import org.springframework.cglib.proxy.MethodProxy;
+import org.springframework.cglib.proxy.NoOp;
+import org.springframework.lang.NonNull;
+import org.springframework.objenesis.SpringObjenesis;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates the lazy instances of {@link com.microsoft.azure.spring.data.cosmosdb.core.mapping.LazyRead} reads, as
+ * CGLIB subclasses of domain which deserialize a property from the kept document on the first call of its getter.
+ * The subclass and the property readers are built once per domain type.
+ */
+final class LazyEntityFactory {
+
+    private final ObjectMapper objectMapper;
+    private final SpringObjenesis objenesis = new SpringObjenesis();
+    private final Map<Class<?>, Optional<LazyType>> lazyTypes = new ConcurrentHashMap<>();
+
+    LazyEntityFactory(@NonNull ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return the lazy instance, or null if the domain type cannot be read lazily.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T create(@NonNull DocumentDbPersistentEntity<?> entity, @NonNull Document document) {
+        final LazyType lazyType = lazyTypes.computeIfAbsent(entity.getType(), t -> createLazyType(entity))
+                .orElse(null);
+
+        return lazyType == null ? null : (T) lazyType.newInstance(document);
+    }
+
+    private Optional<LazyType> createLazyType(@NonNull DocumentDbPersistentEntity<?> entity) {
+        final Class<?> type = entity.getType();
+
+        if (Modifier.isFinal(type.getModifiers())) {
+            return Optional.empty();
+        }
+
+        final DocumentDbPersistentProperty idProperty = entity.getIdProperty();
+        final DocumentDbPersistentProperty partitionKey = entity.getPersistentProperty(PartitionKey.class);
+        final String idName = idProperty == null ? null : idProperty.getName();
+        final Set<String> eagerNames = new HashSet<>();
+
+        eagerNames.add(idName);
+        eagerNames.add(partitionKey == null ? null : partitionKey.getName());
+
+        final BeanDescription description = objectMapper.getDeserializationConfig()
+                .introspect(objectMapper.constructType(type));
+        final List<LazyProperty> lazyProperties = new ArrayList<>();
+        final List<LazyProperty> eagerProperties = new ArrayList<>();
+
+        for (final BeanPropertyDefinition definition : description.findProperties()) {
+            if (!definition.couldDeserialize()) {
+                continue;
+            }
+
+            final Field field = definition.hasField() ? definition.getField().getAnnotated() : null;
+            final Method getter = definition.hasGetter() ? definition.getGetter().getAnnotated() : null;
+            final Method setter = definition.hasSetter() ? definition.getSetter().getAnnotated() : null;
+
+            if (field == null && setter == null) {
+                return Optional.empty(); // Only set through constructor
+            }
+
+            final String name = definition.getInternalName();
+            final String key = name.equals(idName) ? Constants.ID_PROPERTY_NAME : definition.getName();
+            final ObjectReader reader = objectMapper.readerFor(definition.getPrimaryType())
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+            final boolean isLazy = field != null && !Modifier.isPublic(field.getModifiers())
+                    && isInterceptable(getter) && (setter == null || isInterceptable(setter))
+                    && !eagerNames.contains(name);
+
+            if (field != null) {
+                ReflectionUtils.makeAccessible(field);
+            }
+
+            if (setter != null) {
+                ReflectionUtils.makeAccessible(setter);
+            }
+
+            if (isLazy) {
+                lazyProperties.add(new LazyProperty(key, field, getter, setter, reader));
+            } else {
+                eagerProperties.add(new LazyProperty(key, field, getter, setter, reader));
+            }
+        }
+
+        try {
+            return Optional.of(new LazyType(type, lazyProperties, eagerProperties));
+        } catch (RuntimeException | NoSuchMethodException e) {
+            return Optional.empty(); // Class cannot be subclassed
+        }
+    }
+
+    private static boolean isInterceptable(Method method) {
+        if (method == null) {
+            return false;
+        }
+
+        final int modifiers = method.getModifiers();
+
+        return !Modifier.isFinal(modifiers) && !Modifier.isStatic(modifiers)
+                && (Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers));
+    }
+
+    private Object readValue(@NonNull LazyProperty property, @NonNull Document document) {
+        final Object value = document.get(property.key);
+
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return JsonTokens.readValue(value, property.reader, objectMapper);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read property " + property.key + " of the source document "
+                    + document.getId(), e);
+        }
+    }
+
+    private void setValue(@NonNull Object target, @NonNull LazyProperty property, @NonNull Document document,
+                          boolean useSetter) {
+        if (!document.has(property.key)) {
+            return;
+        }
+
+        final Object value = readValue(property, document);
+
+        if (value == null && property.isPrimitive()) {
+            return;
+        }
+
+        if (useSetter && property.setter != null) {
+            ReflectionUtils.invokeMethod(property.setter, target, value);
+        } else {
+            ReflectionUtils.setField(property.field, target, value);
+        }
+    }
+
+    private final class LazyType {
+        private final Class<?> proxyClass;
+        private final Constructor<?> defaultConstructor;
+        private final List<LazyProperty> lazyProperties;
+        private final List<LazyProperty> eagerProperties;
+        private final Map<Method, Integer> getterIndexes = new HashMap<>();
+        private final Map<Method, Integer> setterIndexes = new HashMap<>();
+
+        private LazyType(Class<?> type, List<LazyProperty> lazyProperties, List<LazyProperty> eagerProperties)
+                throws NoSuchMethodException {
+            this.lazyProperties = lazyProperties;
+            this.eagerProperties = eagerProperties;
+
+            for (int i = 0; i < lazyProperties.size(); i++) {
+                getterIndexes.put(lazyProperties.get(i).getter, i);
+
+                if (lazyProperties.get(i).setter != null) {
+                    setterIndexes.put(lazyProperties.get(i).setter, i);
+                }
+            }
+
+            final Set<Method> intercepted = new HashSet<>(getterIndexes.keySet());
+            final Enhancer enhancer = new Enhancer();
+
+            intercepted.addAll(setterIndexes.keySet());
+
+            enhancer.setSuperclass(type);
+            enhancer.setClassLoader(type.getClassLoader());
+            enhancer.setUseCache(false);
+            enhancer.setCallbackFilter(new InterceptedMethodFilter(intercepted));
+            enhancer.setCallbackTypes(new Class<?>[]{MethodInterceptor.class, NoOp.class});
+
+            this.proxyClass = enhancer.createClass();
+            this.defaultConstructor = findDefaultConstructor(type) ? proxyClass.getDeclaredConstructor() : null;
+
+            if (defaultConstructor != null) {
+                ReflectionUtils.makeAccessible(defaultConstructor);
+            }
+        }
+
+        private boolean findDefaultConstructor(Class<?> type) {
+            try {
+                return !Modifier.isPrivate(type.getDeclaredConstructor().getModifiers());
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+
+        private Object newInstance(@NonNull Document document) {
+            final Object instance;
+
+            try {
+                // Constructors are skipped only when domain has no constructor without arguments
+                instance = defaultConstructor == null ? objenesis.newInstance(proxyClass)
+                        : defaultConstructor.newInstance();
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Failed to instantiate lazy " + proxyClass.getSuperclass(), e);
+            }
+
+            ((Factory) instance).setCallbacks(new Callback[]{new LazyPropertyInterceptor(this, document),
+                    NoOp.INSTANCE});
+
+            for (final LazyProperty property : eagerProperties) {
+                setValue(instance, property, document, true);
+            }
+
+            return instance;
+        }
+    }
+
+    /**
+     * One per lazy instance, the document is released once all the lazy properties are read.
+     */
+    private final class LazyPropertyInterceptor implements MethodInterceptor {
+        private final LazyType lazyType;
+        private final boolean[] isLoaded;
+        private Document document;
+        private int unloadedCount;
+
+        private LazyPropertyInterceptor(LazyType lazyType, Document document) {
+            this.lazyType = lazyType;
+            this.document = document;
+            this.isLoaded = new boolean[lazyType.lazyProperties.size()];
+            this.unloadedCount = isLoaded.length;
+        }
+
+        @Override
+        public Object intercept(Object target, Method method, Object[] args, MethodProxy methodProxy)
+                throws Throwable {
+            final Integer getterIndex = lazyType.getterIndexes.get(method);
+
+            if (getterIndex != null) {
+                load(target, getterIndex);
+            } else {
+                final Integer setterIndex = lazyType.setterIndexes.get(method);
+
+                if (setterIndex != null) {
+                    markLoaded(setterIndex);
+                }
+            }
+
+            return methodProxy.invokeSuper(target, args);
+        }
+
+        private synchronized void load(Object target, int index) {
+            if (!isLoaded[index]) {
+                setValue(target, lazyType.lazyProperties.get(index), document, false);
+                markLoaded(index);
+            }
+        }
+
+        private synchronized void markLoaded(int index) {
+            if (!isLoaded[index]) {
+                isLoaded[index] = true;
+
+                if (--unloadedCount == 0) {
+                    document = null;
+                }
+            }
+        }
+    }
+
+    private static final class LazyProperty {
+        private final String key;
+        private final Field field;
+        private final Method getter;
+        private final Method setter;
+        private final ObjectReader reader;
+
+        private LazyProperty(String key, Field field, Method getter, Method setter, ObjectReader reader) {
+            this.key = key;
+            this.field = field;
+            this.getter = getter;
+            this.setter = setter;
+            this.reader = reader;
+        }
+
+        private boolean isPrimitive() {
+            return field == null ? setter.getParameterTypes()[0].isPrimitive() : field.getType().isPrimitive();
+        }
+    }
+
+    private static final class InterceptedMethodFilter implements CallbackFilter {
+        private final Set<Method> methods;
+
+        private InterceptedMethodFilter(Set<Method> methods) {
+            this.methods = methods;
+        }
+
+        @Override
+        public int accept(Method method) {
+            return methods.contains(method) ? 0 : 1;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof InterceptedMethodFilter
+                    && ((InterceptedMethodFilter) other).methods.equals(methods);
+        }
+
+        @Override
+        public int hashCode() {
+            return methods.hashCode();
+        }
+    }
+}
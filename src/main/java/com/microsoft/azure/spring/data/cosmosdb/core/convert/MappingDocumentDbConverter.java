@@ -5,16 +5,29 @@
  */
 package com.microsoft.azure.spring.data.cosmosdb.core.convert;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.microsoft.azure.documentdb.Document;
 import com.microsoft.azure.spring.data.cosmosdb.Constants;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbPersistentEntity;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbPersistentProperty;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.LazyRead;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.PropertyGetter;
 import com.microsoft.azure.spring.data.cosmosdb.exception.DocumentDBAccessException;
+import org.json.JSONException;
 import org.json.JSONObject;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -24,19 +37,30 @@ import org.springframework.data.convert.EntityConverter;
 import org.springframework.data.mapping.MappingException;
 import org.springframework.data.mapping.PersistentPropertyAccessor;
 import org.springframework.data.mapping.context.MappingContext;
-import org.springframework.data.mapping.model.ConvertingPropertyAccessor;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.ProjectionInformation;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.lang.NonNull;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 
 import java.io.IOException;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Date;
-
-import static com.microsoft.azure.spring.data.cosmosdb.Constants.ISO_8601_COMPATIBLE_DATE_PATTERN;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 public class MappingDocumentDbConverter
         implements EntityConverter<DocumentDbPersistentEntity<?>, DocumentDbPersistentProperty, Object, Document>,
-        ApplicationContextAware {
+        ApplicationContextAware, InitializingBean {
 
     protected final MappingContext<? extends DocumentDbPersistentEntity<?>,
             DocumentDbPersistentProperty> mappingContext;
@@ -44,12 +68,107 @@ public class MappingDocumentDbConverter
     private ApplicationContext applicationContext;
     private ObjectMapper objectMapper;
 
+    // Pre-configured ObjectReader/ObjectWriter per domain type, both are immutable and thread-safe
+    private final Map<Class<?>, ObjectReader> entityReaders = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> entityWriters = new ConcurrentHashMap<>();
+    private final Map<Class<?>, PropertyGetter> idGetters = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Optional<DocumentCodec<?>>> entityCodecs = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Map<Class<?>, List<String>>> projectedKeys = new ConcurrentHashMap<>();
+    private final Map<Class<?>, List<BeanPropertyDefinition>> systemProperties = new ConcurrentHashMap<>();
+    private final LazyEntityFactory lazyEntityFactory;
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
     public MappingDocumentDbConverter(
             MappingContext<? extends DocumentDbPersistentEntity<?>, DocumentDbPersistentProperty> mappingContext,
             @Qualifier(Constants.OBJECTMAPPER_BEAN_NAME) ObjectMapper objectMapper) {
         this.mappingContext = mappingContext;
         this.conversionService = new GenericConversionService();
-        this.objectMapper = objectMapper == null ? ObjectMapperFactory.getObjectMapper() : objectMapper;
+        // Register once on an own copy, as the given mapper may be shared, such as the one of ObjectMapperFactory.
+        // The ObjectReader/ObjectWriter created later will take the module
+        this.objectMapper = (objectMapper == null ? ObjectMapperFactory.getObjectMapper() : objectMapper).copy()
+                .registerModule(provideAdvancedSerializersModule());
+        this.lazyEntityFactory = new LazyEntityFactory(this.objectMapper);
+    }
+
+    /**
+     * Build the ObjectReader/ObjectWriter of all the entities known by the mapping context, which contains the
+     * initial entity set scanned by {@link com.microsoft.azure.spring.data.cosmosdb.config
+     * .DocumentDbConfigurationSupport}. Then the first request will not pay for serializer construction.
+     * Generated {@link DocumentCodec}s of these entities are looked up here as well.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        mappingContext.getPersistentEntities().forEach(e -> {
+            getEntityCodec(e.getType());
+            getEntityReader(e.getType());
+            getEntityWriter(e.getType());
+            getIdGetter(e);
+        });
+    }
+
+    private ObjectReader getEntityReader(@NonNull Class<?> type) {
+        return entityReaders.computeIfAbsent(type, t -> objectMapper.readerFor(t)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+    }
+
+    private ObjectWriter getEntityWriter(@NonNull Class<?> type) {
+        return entityWriters.computeIfAbsent(type, objectMapper::writerFor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> DocumentCodec<T> getEntityCodec(@NonNull Class<T> type) {
+        return (DocumentCodec<T>) entityCodecs.computeIfAbsent(type, this::loadEntityCodec).orElse(null);
+    }
+
+    /**
+     * Find the codec generated by {@link DocumentCodecProcessor} for given domain type, if any. Codecs are not used
+     * if the ObjectMapper binds entities differently from a default one, see {@link #isCodecCompatible()}.
+     */
+    private Optional<DocumentCodec<?>> loadEntityCodec(@NonNull Class<?> type) {
+        final String codecClassName = type.getName() + DocumentCodec.CLASS_NAME_SUFFIX;
+
+        if (!isCodecCompatible() || !ClassUtils.isPresent(codecClassName, type.getClassLoader())) {
+            return Optional.empty();
+        }
+
+        try {
+            final Class<?> codecClass = ClassUtils.forName(codecClassName, type.getClassLoader());
+
+            if (!DocumentCodec.class.isAssignableFrom(codecClass)) {
+                return Optional.empty();
+            }
+
+            return Optional.of((DocumentCodec<?>) codecClass.getConstructor(ObjectMapper.class)
+                    .newInstance(objectMapper));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new IllegalStateException("Failed to create document codec " + codecClassName, e);
+        }
+    }
+
+    /**
+     * Generated codecs take field names as property names, write enums by name, Date as timestamp and null values.
+     */
+    private boolean isCodecCompatible() {
+        final SerializationConfig config = objectMapper.getSerializationConfig();
+        final JsonInclude.Include inclusion = config.getDefaultPropertyInclusion().getValueInclusion();
+
+        return objectMapper.getPropertyNamingStrategy() == null && objectMapper.mixInCount() == 0
+                && config.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                && !config.isEnabled(SerializationFeature.WRITE_ENUMS_USING_TO_STRING)
+                && !config.isEnabled(SerializationFeature.WRITE_ENUMS_USING_INDEX)
+                && !objectMapper.isEnabled(DeserializationFeature.READ_ENUMS_USING_TO_STRING)
+                && (inclusion == JsonInclude.Include.ALWAYS || inclusion == JsonInclude.Include.USE_DEFAULTS);
+    }
+
+    private PropertyGetter getIdGetter(@NonNull DocumentDbPersistentEntity<?> entity) {
+        final DocumentDbPersistentProperty idProperty = entity.getIdProperty();
+
+        if (idProperty == null) {
+            return null;
+        }
+
+        return idGetters.computeIfAbsent(entity.getType(), t -> idProperty.getField() == null ?
+                PropertyGetter.of(idProperty.getRequiredGetter()) : PropertyGetter.of(idProperty.getField()));
     }
 
     @Override
@@ -61,35 +180,215 @@ public class MappingDocumentDbConverter
         final DocumentDbPersistentEntity<?> entity = mappingContext.getPersistentEntity(type);
         Assert.notNull(entity, "Entity is null.");
 
+        if (entity.isAnnotationPresent(LazyRead.class)) {
+            return readLazily(entity, type, sourceDocument);
+        }
+
         return readInternal(entity, type, sourceDocument);
     }
 
+    /**
+     * Copy the properties generated by CosmosDB on write from the written document onto the entity, instead of
+     * reading a new entity from the document. The id is copied only if the entity has none, and the {@code _etag} and
+     * {@code _ts} system properties only if the entity binds them.
+     *
+     * @return the given entity.
+     */
+    public <T> T readGeneratedProperties(@NonNull T entity, @NonNull Document document) {
+        final Class<?> type = ClassUtils.getUserClass(entity);
+        final DocumentDbPersistentEntity<?> persistentEntity = mappingContext.getPersistentEntity(type);
+        Assert.notNull(persistentEntity, "Entity is null.");
+
+        final DocumentDbPersistentProperty idProperty = persistentEntity.getIdProperty();
+
+        if (idProperty != null && idProperty.getType().isAssignableFrom(String.class)) {
+            final PersistentPropertyAccessor accessor = persistentEntity.getPropertyAccessor(entity);
+
+            if (accessor.getProperty(idProperty) == null) {
+                accessor.setProperty(idProperty, document.getId());
+            }
+        }
+
+        for (final BeanPropertyDefinition property : getSystemProperties(type)) {
+            final AnnotatedMember mutator = property.hasSetter() ? property.getSetter() : property.getField();
+            final Object value = document.get(property.getName());
+
+            mutator.setValue(entity, value == null ? null : objectMapper.convertValue(value,
+                    property.getRawPrimaryType()));
+        }
+
+        return entity;
+    }
+
+    private List<BeanPropertyDefinition> getSystemProperties(@NonNull Class<?> type) {
+        final List<String> names = Arrays.asList(Constants.ETAG_PROPERTY_NAME, Constants.TIMESTAMP_PROPERTY_NAME);
+
+        return systemProperties.computeIfAbsent(type, t -> {
+            final List<BeanPropertyDefinition> properties = objectMapper.getDeserializationConfig()
+                    .introspect(objectMapper.constructType(t)).findProperties().stream()
+                    .filter(p -> names.contains(p.getName()) && (p.hasSetter() || p.hasField()))
+                    .collect(Collectors.toList());
+
+            properties.forEach(p -> (p.hasSetter() ? p.getSetter() : p.getField()).fixAccess(true));
+
+            return properties;
+        });
+    }
+
+    /**
+     * Read the document as a lazy instance of given type, whose properties are deserialized on first access.
+     * Types which cannot be read lazily are read as {@link #read(Class, Document)} does.
+     *
+     * @see LazyRead
+     */
+    public <R extends Object> R readLazily(Class<R> type, Document sourceDocument) {
+        if (sourceDocument == null) {
+            return null;
+        }
+
+        final DocumentDbPersistentEntity<?> entity = mappingContext.getPersistentEntity(type);
+        Assert.notNull(entity, "Entity is null.");
+
+        return readLazily(entity, type, sourceDocument);
+    }
+
+    private <R> R readLazily(@NonNull DocumentDbPersistentEntity<?> entity, @NonNull Class<R> type,
+                             @NonNull Document sourceDocument) {
+        final R lazyEntity = lazyEntityFactory.create(entity, sourceDocument);
+
+        return lazyEntity == null ? readInternal(entity, type, sourceDocument) : lazyEntity;
+    }
+
     protected <R extends Object> R readInternal(final DocumentDbPersistentEntity<?> entity, Class<R> type,
                                                 final Document sourceDocument) {
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        objectMapper.registerModule(provideAdvancedSerializersModule());
+        final DocumentCodec<R> codec = getEntityCodec(type);
+
+        if (codec != null) {
+            return codec.read(sourceDocument);
+        }
 
         try {
             final DocumentDbPersistentProperty idProperty = entity.getIdProperty();
-            final Object idValue = sourceDocument.getId();
-            final JSONObject jsonObject = new JSONObject(sourceDocument.toJson());
+            final String idFieldName = idProperty == null ? null : idProperty.getName();
 
-            if (idProperty != null) {
-                // Replace the key id to the actual id field name in domain
-                jsonObject.remove(Constants.ID_PROPERTY_NAME);
-                jsonObject.put(idProperty.getName(), idValue);
+            return getEntityReader(type).readValue(toTokenBuffer(sourceDocument, idFieldName).asParser());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read the source document " + sourceDocument.toJson()
+                    + "  to target type " + type, e);
+        }
+    }
+
+    /**
+     * Get the document keys to select for reading documents of domain type as given projection type, which is a
+     * closed interface projection or a DTO class.
+     *
+     * @return the document keys, or empty list if whole documents should be selected.
+     */
+    public List<String> getProjectedKeys(@NonNull Class<?> domainType, @NonNull Class<?> returnType) {
+        if (returnType.isAssignableFrom(domainType)) {
+            return Collections.emptyList();
+        }
+
+        return projectedKeys.computeIfAbsent(domainType, t -> new ConcurrentHashMap<>())
+                .computeIfAbsent(returnType, t -> createProjectedKeys(domainType, returnType));
+    }
+
+    private List<String> createProjectedKeys(@NonNull Class<?> domainType, @NonNull Class<?> returnType) {
+        final DocumentDbPersistentEntity<?> entity = mappingContext.getPersistentEntity(domainType);
+        Assert.notNull(entity, "Entity is null.");
+
+        final DocumentDbPersistentProperty idProperty = entity.getIdProperty();
+        final String idFieldName = idProperty == null ? null : idProperty.getName();
+        final Map<String, String> propertyKeys = new HashMap<>();
+        final Set<String> keys = new LinkedHashSet<>();
+
+        if (returnType.isInterface()) {
+            final ProjectionInformation information = projectionFactory.getProjectionInformation(returnType);
+
+            if (!information.isClosed()) {
+                return Collections.emptyList(); // Values of open projection are computed from the whole domain
             }
 
-            return objectMapper.readValue(jsonObject.toString(), type);
+            objectMapper.getSerializationConfig().introspect(objectMapper.constructType(domainType))
+                    .findProperties().forEach(p -> propertyKeys.put(p.getInternalName(), p.getName()));
+            information.getInputProperties().forEach(p -> keys.add(p.getName().equals(idFieldName) ?
+                    Constants.ID_PROPERTY_NAME : propertyKeys.getOrDefault(p.getName(), p.getName())));
+        } else {
+            objectMapper.getDeserializationConfig().introspect(objectMapper.constructType(returnType))
+                    .findProperties().stream().filter(BeanPropertyDefinition::couldDeserialize)
+                    .forEach(p -> keys.add(p.getName().equals(idFieldName) ? Constants.ID_PROPERTY_NAME : p.getName()));
+        }
+
+        return keys.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(keys));
+    }
+
+    /**
+     * Read the document of domain type as given projection type, interface projections are backed by the domain
+     * instance read from the document, DTO classes are bound directly to the document.
+     */
+    public <R> R readProjection(@NonNull Class<?> domainType, @NonNull Class<R> returnType, Document sourceDocument) {
+        if (sourceDocument == null) {
+            return null;
+        }
+
+        if (returnType.isAssignableFrom(domainType)) {
+            return returnType.cast(read(domainType, sourceDocument));
+        } else if (returnType.isInterface()) {
+            return projectionFactory.createProjection(returnType, read(domainType, sourceDocument));
+        }
+
+        final DocumentDbPersistentEntity<?> entity = mappingContext.getPersistentEntity(domainType);
+        Assert.notNull(entity, "Entity is null.");
+
+        try {
+            final DocumentDbPersistentProperty idProperty = entity.getIdProperty();
+            final String idFieldName = idProperty == null ? null : idProperty.getName();
+
+            return getEntityReader(returnType).readValue(toTokenBuffer(sourceDocument, idFieldName).asParser());
         } catch (IOException e) {
             throw new IllegalStateException("Failed to read the source document " + sourceDocument.toJson()
-                    + "  to target type " + type, e);
+                    + "  to target type " + returnType, e);
+        }
+    }
+
+    /**
+     * Replay the content of source document as Jackson tokens, without serializing it to a String.
+     * The key id of document is renamed to the actual id field name in domain.
+     *
+     * @param sourceDocument the document read from CosmosDB.
+     * @param idFieldName    the name of id field in domain, or null if domain has no id property.
+     * @return TokenBuffer which can be bound directly to the domain type.
+     */
+    private TokenBuffer toTokenBuffer(@NonNull Document sourceDocument, String idFieldName) throws IOException {
+        final TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+        final boolean isIdRenamed = idFieldName != null && !idFieldName.equals(Constants.ID_PROPERTY_NAME);
+
+        buffer.writeStartObject();
+
+        for (final Map.Entry<String, Object> entry : sourceDocument.getHashMap().entrySet()) {
+            String fieldName = entry.getKey();
+
+            if (isIdRenamed) {
+                if (fieldName.equals(idFieldName)) {
+                    continue; // Id value always comes from the key id of document
+                } else if (fieldName.equals(Constants.ID_PROPERTY_NAME)) {
+                    fieldName = idFieldName;
+                }
+            }
+
+            buffer.writeFieldName(fieldName);
+            JsonTokens.writeTokens(buffer, entry.getValue(), objectMapper);
         }
+
+        buffer.writeEndObject();
+
+        return buffer;
     }
 
     private SimpleModule provideAdvancedSerializersModule() {
         final SimpleModule simpleModule = new SimpleModule();
         simpleModule.addDeserializer(ZonedDateTime.class, new ZonedDateTimeDeserializer());
+        simpleModule.setSerializers(new ConvertingSerializers());
         return simpleModule;
     }
 
@@ -99,30 +398,39 @@ public class MappingDocumentDbConverter
         throw new UnsupportedOperationException("The feature is not implemented yet");
     }
 
+    @SuppressWarnings("unchecked")
     public Document writeDoc(Object sourceEntity) {
         if (sourceEntity == null) {
             return null;
         }
 
-        final DocumentDbPersistentEntity<?> persistentEntity =
-                mappingContext.getPersistentEntity(sourceEntity.getClass());
+        // Lazy instances are subclasses of the domain type
+        final Class<?> entityType = ClassUtils.getUserClass(sourceEntity);
+        final DocumentDbPersistentEntity<?> persistentEntity = mappingContext.getPersistentEntity(entityType);
 
         if (persistentEntity == null) {
-            throw new MappingException("no mapping metadata for entity type: " + sourceEntity.getClass().getName());
+            throw new MappingException("no mapping metadata for entity type: " + entityType.getName());
         }
 
-        final ConvertingPropertyAccessor accessor = getPropertyAccessor(sourceEntity);
-        final DocumentDbPersistentProperty idProperty = persistentEntity.getIdProperty();
+        final PropertyGetter idGetter = getIdGetter(persistentEntity);
+        final DocumentCodec<Object> codec = getEntityCodec((Class<Object>) entityType);
         final Document document;
 
-        try {
-            document = new Document(objectMapper.writeValueAsString(sourceEntity));
-        } catch (JsonProcessingException e) {
-            throw new DocumentDBAccessException("Failed to map document value.", e);
+        if (codec != null) {
+            document = codec.write(sourceEntity);
+        } else {
+            try {
+                final TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+
+                getEntityWriter(entityType).writeValue(buffer, sourceEntity);
+                document = toDocument(buffer.asParser());
+            } catch (IOException | JSONException e) {
+                throw new DocumentDBAccessException("Failed to map document value.", e);
+            }
         }
 
-        if (idProperty != null) {
-            final Object value = accessor.getProperty(idProperty);
+        if (idGetter != null) {
+            final Object value = idGetter.get(sourceEntity);
             final String id = value == null ? null : value.toString();
             document.setId(id);
         }
@@ -130,6 +438,36 @@ public class MappingDocumentDbConverter
         return document;
     }
 
+    /**
+     * Build the {@link Document} from serialized tokens of entity in one pass, without parsing any String.
+     * Values are converted to the same types as JSONObject produces when parsing the serialized String.
+     *
+     * @param parser the parser over the tokens of one serialized entity.
+     * @return Document holding all the fields of entity.
+     */
+    private Document toDocument(@NonNull JsonParser parser) throws IOException {
+        final JsonToken token = parser.nextToken();
+
+        if (token != JsonToken.START_OBJECT) {
+            throw new DocumentDBAccessException("Entity should be serialized as JSON object, but was: " + token);
+        }
+
+        final Document document = new Document();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = parser.getCurrentName();
+
+            parser.nextToken();
+
+            final Object value = JsonTokens.readJSONValue(parser, objectMapper);
+
+            // Document#set takes JSON values as they are, and null as JSONObject.NULL
+            document.set(fieldName, JSONObject.NULL.equals(value) ? null : value);
+        }
+
+        return document;
+    }
+
     public ApplicationContext getApplicationContext() {
         return this.applicationContext;
     }
@@ -149,35 +487,15 @@ public class MappingDocumentDbConverter
     }
 
 
-    private ConvertingPropertyAccessor getPropertyAccessor(Object entity) {
-        final DocumentDbPersistentEntity<?> entityInformation = mappingContext.getPersistentEntity(entity.getClass());
-
-        Assert.notNull(entityInformation, "EntityInformation should not be null.");
-        final PersistentPropertyAccessor accessor = entityInformation.getPropertyAccessor(entity);
-        return new ConvertingPropertyAccessor(accessor, conversionService);
-    }
-
     /**
      * Convert a property value to the value stored in CosmosDB
      *
      * @param fromPropertyValue
      * @return
+     * @see DocumentDbValueConverters
      */
     public static Object toDocumentDBValue(Object fromPropertyValue) {
-        if (fromPropertyValue == null) {
-            return null;
-        }
-
         // com.microsoft.azure.documentdb.JsonSerializable#set(String, T) cannot set values for Date and Enum correctly
-        if (fromPropertyValue instanceof Date) {
-            fromPropertyValue = ((Date) fromPropertyValue).getTime();
-        } else if (fromPropertyValue instanceof ZonedDateTime) {
-            fromPropertyValue = ((ZonedDateTime) fromPropertyValue)
-                    .format(DateTimeFormatter.ofPattern(ISO_8601_COMPATIBLE_DATE_PATTERN));
-        } else if (fromPropertyValue instanceof Enum) {
-            fromPropertyValue = fromPropertyValue.toString();
-        }
-
-        return fromPropertyValue;
+        return DocumentDbValueConverters.getInstance().convert(fromPropertyValue);
     }
 }
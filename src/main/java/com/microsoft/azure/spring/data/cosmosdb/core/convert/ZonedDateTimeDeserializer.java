@@ -12,11 +12,8 @@ import com.fasterxml.jackson.databind.JsonDeserializer;
 
 import java.io.IOException;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
-import static com.microsoft.azure.spring.data.cosmosdb.Constants.ISO_8601_COMPATIBLE_DATE_PATTERN;
-
 public class ZonedDateTimeDeserializer extends JsonDeserializer<ZonedDateTime> {
 
     @Override
@@ -32,7 +29,7 @@ public class ZonedDateTimeDeserializer extends JsonDeserializer<ZonedDateTime> {
 
         try {
             return ZonedDateTime.parse(jsonParser.getValueAsString(),
-                    DateTimeFormatter.ofPattern(ISO_8601_COMPATIBLE_DATE_PATTERN));
+                    DocumentDbValueConverters.ZONED_DATE_TIME_FORMATTER);
         } catch (DateTimeParseException e) {
             throw new JsonParseException(jsonParser, jsonParser.getValueAsString(), e);
         }
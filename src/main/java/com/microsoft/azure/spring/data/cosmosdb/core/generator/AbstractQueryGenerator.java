@@ -14,6 +14,7 @@ import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
 import com.microsoft.azure.spring.data.cosmosdb.exception.IllegalQueryException;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import lombok.Value;
 import org.javatuples.Pair;
 import org.springframework.data.domain.Sort;
 import org.springframework.lang.NonNull;
@@ -23,6 +24,9 @@ import org.springframework.util.StringUtils;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter.toDocumentDBValue;
@@ -30,6 +34,14 @@ import static com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocum
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public abstract class AbstractQueryGenerator {
 
+    /**
+     * Query text and parameter names of generated queries, by the query shape of
+     * {@link #appendShape(Criteria, StringBuilder, List)}. Cleared when full, as the shapes of a running application
+     * are expected to be far fewer.
+     */
+    private static final ConcurrentMap<String, CompiledQuery> COMPILED_QUERIES = new ConcurrentHashMap<>();
+    private static final int MAX_COMPILED_QUERIES = 1024;
+
     private String generateQueryParameter(@NonNull String subject) {
         return subject.replaceAll("\\.", "_"); // user.name is not valid sql parameter identifier.
     }
@@ -86,28 +98,41 @@ public abstract class AbstractQueryGenerator {
         return String.join(" ", left, type.getSqlKeyword(), right);
     }
 
-    @SuppressWarnings("unchecked")
-    private String generateInQuery(Criteria criteria) {
+    private static Collection<?> getInValues(@NonNull Criteria criteria) {
         Assert.isTrue(criteria.getSubjectValues().size() == 1, "Criteria should have only one subject value");
         if (!(criteria.getSubjectValues().get(0) instanceof Collection)) {
             throw new IllegalQueryException("IN keyword requires Collection type in parameters");
         }
-        final List<String> inRangeValues = new ArrayList<>();
-        final Collection values = (Collection) criteria.getSubjectValues().get(0);
-
-        values.forEach(o -> {
-            if (o instanceof Integer || o instanceof Long) {
-                inRangeValues.add(String.format("%d", o));
-            } else if (o instanceof String) {
-                inRangeValues.add(String.format("'%s'", (String) o));
-            } else if (o instanceof Boolean) {
-                inRangeValues.add(String.format("%b", (Boolean) o));
-            } else {
-                throw new IllegalQueryException("IN keyword Range only support Number and String type.");
-            }
+
+        return (Collection<?>) criteria.getSubjectValues().get(0);
+    }
+
+    private static Object toInValue(Object value) {
+        final Object o = toDocumentDBValue(value);
+
+        if (!(o instanceof Integer || o instanceof Long || o instanceof String || o instanceof Boolean)) {
+            throw new IllegalQueryException("IN keyword Range only support Number and String type.");
+        }
+
+        return o;
+    }
+
+    /**
+     * The values are bound as parameters, so the query text depends on the count of values only.
+     */
+    private String generateInQuery(@NonNull Criteria criteria, @NonNull List<Pair<String, Object>> parameters) {
+        final List<String> inRangeParameters = new ArrayList<>();
+        final Collection<?> values = getInValues(criteria);
+        final String parameterPrefix = generateQueryParameter(criteria.getSubject()) + "_in_";
+
+        values.stream().map(AbstractQueryGenerator::toInValue).forEach(o -> {
+            final String parameter = parameterPrefix + inRangeParameters.size();
+
+            parameters.add(Pair.with(parameter, o));
+            inRangeParameters.add("@" + parameter);
         });
 
-        final String inRange = String.join(",", inRangeValues);
+        final String inRange = String.join(",", inRangeParameters);
         return String.format("r.%s %s (%s)", criteria.getSubject(), criteria.getType().getSqlKeyword(), inRange);
     }
 
@@ -119,7 +144,7 @@ public abstract class AbstractQueryGenerator {
                 return "";
             case IN:
             case NOT_IN:
-                return generateInQuery(criteria);
+                return generateInQuery(criteria, parameters);
             case BETWEEN:
                 return generateBetween(criteria, parameters);
             case IS_NULL:
@@ -155,7 +180,8 @@ public abstract class AbstractQueryGenerator {
     /**
      * Generate a query body for interface QuerySpecGenerator.
      * The query body compose of Sql query String and its' parameters.
-     * The parameters organized as a list of Pair, for each pair compose parameter name and value.
+     * The parameters organized as a list of Pair, for each pair compose parameter name and value, the values are
+     * converted to CosmosDB values already.
      *
      * @param query the representation for query method.
      * @return A pair tuple compose of Sql query.
@@ -201,7 +227,61 @@ public abstract class AbstractQueryGenerator {
     }
 
     /**
-     * Generate SqlQuerySpec with given DocumentQuery and query head.
+     * @return the TOP clause with a trailing space for the limit of query, or empty if not limited.
+     */
+    protected String generateTop(@NonNull DocumentQuery query) {
+        return query.getLimit() > 0 ? String.format("TOP %d ", query.getLimit()) : "";
+    }
+
+    /**
+     * Append the shape of criteria, which the query text depends on, and collect the parameter values in the order of
+     * parameters generated by {@link #generateQueryBody(Criteria, List)}. The values are converted only when taken,
+     * as the generation of a new shape converts them by itself.
+     */
+    private static void appendShape(@NonNull Criteria criteria, @NonNull StringBuilder shape,
+                                    @NonNull List<Supplier<Object>> values) {
+        final CriteriaType type = criteria.getType();
+
+        shape.append(type.name()).append('(').append(criteria.getSubject());
+
+        switch (type) {
+            case IN:
+            case NOT_IN:
+                final Collection<?> inValues = getInValues(criteria);
+
+                inValues.forEach(v -> values.add(() -> toInValue(v)));
+                shape.append(':').append(inValues.size());
+                break;
+            case AND:
+            case OR:
+                criteria.getSubCriteria().forEach(c -> appendShape(c, shape, values));
+                break;
+            default:
+                if (criteria.getSubjectValues() != null) {
+                    criteria.getSubjectValues().forEach(v -> values.add(() -> toDocumentDBValue(v)));
+                }
+                break;
+        }
+
+        shape.append(')');
+    }
+
+    private static SqlQuerySpec createQuerySpec(@NonNull String queryText, @NonNull List<String> parameterNames,
+                                                @NonNull List<Object> values) {
+        final SqlParameterCollection sqlParameters = new SqlParameterCollection();
+
+        Assert.isTrue(parameterNames.size() == values.size(), "values should match the parameters of query");
+
+        for (int i = 0; i < values.size(); i++) {
+            sqlParameters.add(new SqlParameter(parameterNames.get(i), values.get(i)));
+        }
+
+        return new SqlQuerySpec(queryText, sqlParameters);
+    }
+
+    /**
+     * Generate SqlQuerySpec with given DocumentQuery and query head. The query text is generated once per shape of
+     * query, later queries of the same shape only bind their values to the parameters.
      *
      * @param query     DocumentQuery represent one query method.
      * @param queryHead
@@ -210,17 +290,38 @@ public abstract class AbstractQueryGenerator {
     protected SqlQuerySpec generateQuery(@NonNull DocumentQuery query, @NonNull String queryHead) {
         Assert.hasText(queryHead, "query head should have text.");
 
+        final StringBuilder shape = new StringBuilder(queryHead).append('|');
+        final List<Supplier<Object>> values = new ArrayList<>();
+
+        appendShape(query.getCriteria(), shape, values);
+        shape.append('|').append(query.getSort());
+
+        final String key = shape.toString();
+        final CompiledQuery compiled = COMPILED_QUERIES.get(key);
+
+        if (compiled != null) {
+            return createQuerySpec(compiled.getQueryText(), compiled.getParameterNames(),
+                    values.stream().map(Supplier::get).collect(Collectors.toList()));
+        }
+
         final Pair<String, List<Pair<String, Object>>> queryBody = generateQueryBody(query);
-        final String queryString = String.join(" ", queryHead, queryBody.getValue0(), generateQueryTail(query));
-        final List<Pair<String, Object>> parameters = queryBody.getValue1();
-        final SqlParameterCollection sqlParameters = new SqlParameterCollection();
+        final String queryText = String.join(" ", queryHead, queryBody.getValue0(), generateQueryTail(query));
+        final List<String> parameterNames = queryBody.getValue1().stream().map(p -> "@" + p.getValue0())
+                .collect(Collectors.toList());
+
+        if (COMPILED_QUERIES.size() >= MAX_COMPILED_QUERIES) {
+            COMPILED_QUERIES.clear();
+        }
+
+        COMPILED_QUERIES.put(key, new CompiledQuery(queryText, parameterNames));
 
-        sqlParameters.addAll(
-                parameters.stream()
-                        .map(p -> new SqlParameter("@" + p.getValue0(), toDocumentDBValue(p.getValue1())))
-                        .collect(Collectors.toList())
-        );
+        return createQuerySpec(queryText, parameterNames,
+                queryBody.getValue1().stream().map(Pair::getValue1).collect(Collectors.toList()));
+    }
 
-        return new SqlQuerySpec(queryString, sqlParameters);
+    @Value
+    private static class CompiledQuery {
+        String queryText;
+        List<String> parameterNames;
     }
 }
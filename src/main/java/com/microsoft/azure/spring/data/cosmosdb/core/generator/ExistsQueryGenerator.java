@@ -0,0 +1,21 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.generator;
+
+import com.microsoft.azure.documentdb.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+
+/**
+ * Generate the query selecting a constant of at most one matched document, so no document is read or transferred to
+ * tell whether any matches. Sort of the query is dropped as it cannot change the answer.
+ */
+public class ExistsQueryGenerator extends AbstractQueryGenerator implements QuerySpecGenerator {
+
+    @Override
+    public SqlQuerySpec generate(DocumentQuery query) {
+        return super.generateQuery(new DocumentQuery(query.getCriteria()), "SELECT TOP 1 VALUE 1 FROM r");
+    }
+}
@@ -10,11 +10,42 @@ import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
 import lombok.NoArgsConstructor;
 import org.springframework.lang.NonNull;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
 @NoArgsConstructor
 public class FindQuerySpecGenerator extends AbstractQueryGenerator implements QuerySpecGenerator {
 
     @Override
     public SqlQuerySpec generate(@NonNull DocumentQuery query) {
-        return super.generateQuery(query, "SELECT * FROM ROOT r");
+        return generate(query, query.getProjection());
+    }
+
+    /**
+     * Generate the query selecting only given keys, the query itself is left unchanged.
+     *
+     * @param projection the document keys to select, dot separated for nested keys. Empty to select the whole
+     *                   documents.
+     */
+    public SqlQuerySpec generate(@NonNull DocumentQuery query, @NonNull List<String> projection) {
+        if (projection.isEmpty()) {
+            return super.generateQuery(query, "SELECT " + generateTop(query) + "* FROM ROOT r");
+        }
+
+        final String selectList = projection.stream().map(FindQuerySpecGenerator::toPropertyPath)
+                .collect(Collectors.joining(", "));
+
+        return super.generateQuery(query, "SELECT " + generateTop(query) + selectList + " FROM ROOT r");
+    }
+
+    /**
+     * Quote each segment of key, so keys which are not identifiers, such as "first-name", are still valid. The
+     * result of a nested key is named by its last segment.
+     */
+    private static String toPropertyPath(@NonNull String key) {
+        return "r" + Arrays.stream(key.split("\\."))
+                .map(s -> "[\"" + s.replace("\\", "\\\\").replace("\"", "\\\"") + "\"]")
+                .collect(Collectors.joining());
     }
 }
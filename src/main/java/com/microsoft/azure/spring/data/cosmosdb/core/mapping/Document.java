@@ -21,4 +21,52 @@ public @interface Document {
     String ru() default Constants.DEFAULT_REQUEST_UNIT;
 
     int timeToLive() default Constants.DEFAULT_TIME_TO_LIVE;
+
+    /**
+     * Whether repository saveAll upserts the entities with id by a bulk import stored procedure, instead of one
+     * request per entity. Entities without id are inserted one by one still, as their ids are generated by CosmosDB.
+     */
+    boolean bulkImport() default false;
+
+    /**
+     * Whether repository deleteAll and derived delete methods not returning the deleted entities delete the documents
+     * by a stored procedure inside CosmosDB, instead of fetching them and deleting one by one.
+     */
+    boolean serverSideDelete() default false;
+
+    /**
+     * Consistency level of the requests on single entities, overriding the configured request options.
+     * {@link DocumentConsistencyLevel#INHERIT} to keep the configured one.
+     */
+    DocumentConsistencyLevel consistencyLevel() default DocumentConsistencyLevel.INHERIT;
+
+    /**
+     * Indexing directive of the entities written, overriding the configured request options.
+     * {@link DocumentIndexingDirective#INHERIT} to keep the configured one.
+     */
+    DocumentIndexingDirective indexingDirective() default DocumentIndexingDirective.INHERIT;
+
+    /**
+     * Whether insert copies only the id, {@code _etag} and {@code _ts} generated by CosmosDB onto the given entity and
+     * returns it, instead of reading a new entity from the inserted document. See also
+     * {@link com.microsoft.azure.spring.data.cosmosdb.config.DocumentDBConfig#isSkipInsertReadBack()}.
+     */
+    boolean skipInsertReadBack() default false;
+
+    /**
+     * Max count of documents kept by the read-through cache of findById, 0 to disable the cache. Only documents
+     * located by id alone are cached, as of collections not partitioned or partitioned by id.
+     */
+    int cacheSize() default 0;
+
+    /**
+     * Seconds a cached document is kept since it was last read or validated.
+     */
+    int cacheTimeToLive() default Constants.DEFAULT_CACHE_TIME_TO_LIVE;
+
+    /**
+     * Seconds after which a cached document is revalidated by a read conditional on its etag, which transfers the
+     * document only if it is modified. 0 to revalidate on every read.
+     */
+    int cacheRevalidateAfter() default Constants.DEFAULT_CACHE_REVALIDATE_AFTER;
 }
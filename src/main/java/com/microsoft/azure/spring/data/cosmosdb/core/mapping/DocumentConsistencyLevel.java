@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.mapping;
+
+import com.microsoft.azure.documentdb.ConsistencyLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * {@link ConsistencyLevel} of {@link Document#consistencyLevel()}, or {@link #INHERIT} to keep the configured one.
+ */
+@AllArgsConstructor
+public enum DocumentConsistencyLevel {
+
+    INHERIT(null),
+    STRONG(ConsistencyLevel.Strong),
+    BOUNDED_STALENESS(ConsistencyLevel.BoundedStaleness),
+    SESSION(ConsistencyLevel.Session),
+    EVENTUAL(ConsistencyLevel.Eventual),
+    CONSISTENT_PREFIX(ConsistencyLevel.ConsistentPrefix);
+
+    @Getter
+    private final ConsistencyLevel consistencyLevel;
+}
@@ -0,0 +1,25 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.mapping;
+
+import com.microsoft.azure.documentdb.IndexingDirective;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * {@link IndexingDirective} of {@link Document#indexingDirective()}, or {@link #INHERIT} to keep the configured one.
+ */
+@AllArgsConstructor
+public enum DocumentIndexingDirective {
+
+    INHERIT(null),
+    DEFAULT(IndexingDirective.Default),
+    INCLUDE(IndexingDirective.Include),
+    EXCLUDE(IndexingDirective.Exclude);
+
+    @Getter
+    private final IndexingDirective indexingDirective;
+}
@@ -0,0 +1,23 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.mapping;
+
+import java.lang.annotation.*;
+
+/**
+ * Read domain instances lazily, on a domain class for all its reads, or on a query method of repository for
+ * the results of that method.
+ * <p>
+ * A lazy instance is a generated subclass of domain, which keeps the document read from CosmosDB and deserializes
+ * one property on the first call of its getter. The id and the partition key are always read eagerly. Properties
+ * must be accessed through their getters, as fields are left empty until then. Domain classes which cannot be
+ * subclassed are read eagerly.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface LazyRead {
+}
@@ -11,4 +11,10 @@ import java.lang.annotation.*;
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.FIELD})
 public @interface PartitionKey {
+
+    /**
+     * Dot separated path of a nested property of the annotated field to be used as partition key,
+     * e.g. "city" on an address field. Empty means the annotated field itself.
+     */
+    String path() default "";
 }
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.mapping;
+
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads a property, or a nested property path, of an entity through {@link MethodHandle}s resolved once.
+ * A null value in the middle of a nested path yields null.
+ */
+public final class PropertyGetter {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final MethodHandle[] handles;
+
+    private PropertyGetter(MethodHandle[] handles) {
+        this.handles = handles;
+    }
+
+    public static PropertyGetter of(@NonNull Field field) {
+        return of(Collections.singletonList(field));
+    }
+
+    public static PropertyGetter of(@NonNull List<Field> path) {
+        Assert.notEmpty(path, "property path should not be empty");
+
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        final MethodHandle[] handles = new MethodHandle[path.size()];
+
+        for (int i = 0; i < handles.length; i++) {
+            final Field field = path.get(i);
+            ReflectionUtils.makeAccessible(field);
+
+            try {
+                handles[i] = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("failed to access field " + field, e);
+            }
+        }
+
+        return new PropertyGetter(handles);
+    }
+
+    public static PropertyGetter of(@NonNull Method getter) {
+        ReflectionUtils.makeAccessible(getter);
+
+        try {
+            return new PropertyGetter(new MethodHandle[]{MethodHandles.lookup().unreflect(getter).asType(GETTER_TYPE)});
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("failed to access method " + getter, e);
+        }
+    }
+
+    public Object get(@NonNull Object entity) {
+        Object value = entity;
+
+        for (final MethodHandle handle : handles) {
+            if (value == null) {
+                return null;
+            }
+
+            value = invoke(handle, value);
+        }
+
+        return value;
+    }
+
+    private static Object invoke(MethodHandle handle, Object target) {
+        try {
+            return (Object) handle.invokeExact(target);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("failed to read property", e);
+        }
+    }
+}
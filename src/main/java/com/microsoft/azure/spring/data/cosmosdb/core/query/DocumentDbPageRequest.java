@@ -21,6 +21,9 @@ public class DocumentDbPageRequest extends PageRequest {
     // Request continuation token used to resume query
     private String requestContinuation;
 
+    // Total count of the continuation chain, counted by the first page
+    private Long totalElements;
+
     public DocumentDbPageRequest(int page, int size, String requestContinuation) {
         super(page, size);
         this.requestContinuation = requestContinuation;
@@ -39,10 +42,30 @@ public class DocumentDbPageRequest extends PageRequest {
         return new DocumentDbPageRequest(page, size, requestContinuation, sort);
     }
 
+    /**
+     * @param totalElements the total count of results, reused by the query of this page instead of counting again.
+     */
+    public DocumentDbPageRequest(int page, int size, String requestContinuation, Sort sort, Long totalElements) {
+        this(page, size, requestContinuation, sort);
+        this.totalElements = totalElements;
+    }
+
+    public static DocumentDbPageRequest of(int page, int size, String requestContinuation, Sort sort,
+                                           Long totalElements) {
+        return new DocumentDbPageRequest(page, size, requestContinuation, sort, totalElements);
+    }
+
     public String getRequestContinuation() {
         return this.requestContinuation;
     }
 
+    /**
+     * @return the total count cached from the first page, or null if not counted yet.
+     */
+    public Long getTotalElements() {
+        return this.totalElements;
+    }
+
     @Override
     public int hashCode() {
         int result = super.hashCode();
@@ -11,6 +11,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.lang.NonNull;
 import org.springframework.util.Assert;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,6 +26,17 @@ public class DocumentQuery {
     @Getter
     private Pageable pageable = Pageable.unpaged();
 
+    @Getter
+    private boolean isLazyRead;
+
+    @Getter
+    private List<String> projection = Collections.emptyList();
+
+    @Getter
+    private int limit;
+
+    private Boolean isCrossPartitionQuery;
+
     public DocumentQuery(@NonNull Criteria criteria) {
         this.criteria = criteria;
     }
@@ -44,6 +56,50 @@ public class DocumentQuery {
         return this;
     }
 
+    /**
+     * Read the results as lazy instances, see {@link com.microsoft.azure.spring.data.cosmosdb.core.mapping.LazyRead}.
+     */
+    public DocumentQuery withLazyRead(boolean isLazyRead) {
+        this.isLazyRead = isLazyRead;
+
+        return this;
+    }
+
+    /**
+     * Select only given keys of the documents, instead of the whole documents.
+     *
+     * @param projection the document keys to select, empty to select the whole documents.
+     */
+    public DocumentQuery withProjection(@NonNull List<String> projection) {
+        Assert.notNull(projection, "projection should not be null");
+
+        this.projection = projection;
+
+        return this;
+    }
+
+    /**
+     * Select only the first given count of results, as TOP of the query.
+     *
+     * @param limit the max count of results, 0 to select all of the results.
+     */
+    public DocumentQuery withLimit(int limit) {
+        Assert.isTrue(limit >= 0, "limit should not be negative");
+
+        this.limit = limit;
+
+        return this;
+    }
+
+    /**
+     * Fix the answer of {@link #isCrossPartitionQuery(List)}, when it is decided ahead from the shape of criteria.
+     */
+    public DocumentQuery withCrossPartitionQuery(boolean isCrossPartitionQuery) {
+        this.isCrossPartitionQuery = isCrossPartitionQuery;
+
+        return this;
+    }
+
     private boolean isCrossPartitionQuery(@NonNull String keyName) {
         Assert.hasText(keyName, "PartitionKey should have text.");
 
@@ -64,7 +120,9 @@ public class DocumentQuery {
      * @return
      */
     public boolean isCrossPartitionQuery(@NonNull List<String> partitionKeys) {
-        if (partitionKeys.isEmpty()) {
+        if (this.isCrossPartitionQuery != null) {
+            return this.isCrossPartitionQuery;
+        } else if (partitionKeys.isEmpty()) {
             return true;
         }
 
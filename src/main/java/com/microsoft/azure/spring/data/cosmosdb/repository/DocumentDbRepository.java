@@ -10,8 +10,31 @@ import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
 import java.io.Serializable;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @NoRepositoryBean
 public interface DocumentDbRepository<T, ID extends Serializable> extends PagingAndSortingRepository<T, ID> {
+
+    /**
+     * Asynchronous {@link #findById(Object)}, executed on the I/O executor of repository factory.
+     */
+    CompletableFuture<Optional<T>> findByIdAsync(ID id);
+
+    /**
+     * Asynchronous {@link #findAllById(Iterable)}, executed on the I/O executor of repository factory.
+     */
+    CompletableFuture<List<T>> findAllByIdAsync(Iterable<ID> ids);
+
+    /**
+     * Asynchronous {@link #save(Object)}, executed on the I/O executor of repository factory.
+     */
+    <S extends T> CompletableFuture<S> saveAsync(S entity);
+
+    /**
+     * Asynchronous {@link #deleteById(Object)}, executed on the I/O executor of repository factory.
+     */
+    CompletableFuture<Void> deleteByIdAsync(ID id);
 }
 
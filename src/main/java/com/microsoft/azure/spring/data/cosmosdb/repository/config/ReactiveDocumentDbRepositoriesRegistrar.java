@@ -0,0 +1,26 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.repository.config;
+
+import org.springframework.data.repository.config.RepositoryBeanDefinitionRegistrarSupport;
+import org.springframework.data.repository.config.RepositoryConfigurationExtension;
+
+import java.lang.annotation.Annotation;
+
+
+public class ReactiveDocumentDbRepositoriesRegistrar extends RepositoryBeanDefinitionRegistrarSupport {
+
+    @Override
+    protected Class<? extends Annotation> getAnnotation() {
+        return EnableReactiveDocumentDbRepositories.class;
+    }
+
+    @Override
+    protected RepositoryConfigurationExtension getExtension() {
+        return new ReactiveDocumentDbRepositoryConfigurationExtension();
+    }
+}
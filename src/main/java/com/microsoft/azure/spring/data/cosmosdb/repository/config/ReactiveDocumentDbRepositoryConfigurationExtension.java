@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.repository.config;
+
+import com.microsoft.azure.spring.data.cosmosdb.repository.ReactiveDocumentDbRepository;
+import com.microsoft.azure.spring.data.cosmosdb.repository.support.ReactiveDocumentDbRepositoryFactoryBean;
+import org.springframework.data.repository.core.RepositoryMetadata;
+
+import java.util.Collection;
+import java.util.Collections;
+
+
+public class ReactiveDocumentDbRepositoryConfigurationExtension extends DocumentDbRepositoryConfigurationExtension {
+
+    @Override
+    public String getModuleName() {
+        return "Reactive " + super.getModuleName();
+    }
+
+    @Override
+    public String getRepositoryFactoryBeanClassName() {
+        return ReactiveDocumentDbRepositoryFactoryBean.class.getName();
+    }
+
+    @Override
+    protected Collection<Class<?>> getIdentifyingTypes() {
+        return Collections.<Class<?>>singleton(ReactiveDocumentDbRepository.class);
+    }
+
+    @Override
+    protected boolean useRepositoryConfiguration(RepositoryMetadata metadata) {
+        return metadata.isReactiveRepository();
+    }
+}
@@ -9,38 +9,80 @@ import com.microsoft.azure.spring.data.cosmosdb.core.DocumentDbOperations;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
 import org.springframework.data.repository.query.RepositoryQuery;
 import org.springframework.data.repository.query.ResultProcessor;
+import org.springframework.data.repository.query.ReturnedType;
+
+import java.util.concurrent.Executor;
 
 public abstract class AbstractDocumentDbQuery implements RepositoryQuery {
 
     private final DocumentDbQueryMethod method;
     private final DocumentDbOperations operations;
+    private final Executor asyncExecutor;
 
+    /**
+     * Execute the methods returning {@link java.util.concurrent.Future} on
+     * {@link DocumentDbOperations#getAsyncExecutor()}.
+     */
     public AbstractDocumentDbQuery(DocumentDbQueryMethod method, DocumentDbOperations operations) {
+        this(method, operations, operations.getAsyncExecutor());
+    }
+
+    /**
+     * @param asyncExecutor executes the methods returning {@link java.util.concurrent.Future}, or null to execute
+     *                      them on the calling thread.
+     */
+    public AbstractDocumentDbQuery(DocumentDbQueryMethod method, DocumentDbOperations operations,
+                                   Executor asyncExecutor) {
         this.method = method;
         this.operations = operations;
+        this.asyncExecutor = asyncExecutor;
     }
 
     public Object execute(Object[] parameters) {
         final DocumentDbParameterAccessor accessor = new DocumentDbParameterParameterAccessor(method, parameters);
-        final DocumentQuery query = createQuery(accessor);
+        final DocumentQuery query = createQuery(accessor).withLazyRead(method.isLazyRead());
 
         final ResultProcessor processor = method.getResultProcessor().withDynamicProjection(accessor);
         final String collection = ((DocumentDbEntityMetadata) method.getEntityInformation()).getCollectionName();
 
-        final DocumentDbQueryExecution execution = getExecution(accessor);
+        final DocumentDbQueryExecution execution = getExecution(accessor, processor.getReturnedType());
         return execution.execute(query, processor.getReturnedType().getDomainType(), collection);
     }
 
 
-    private DocumentDbQueryExecution getExecution(DocumentDbParameterAccessor accessor) {
+    private DocumentDbQueryExecution getExecution(DocumentDbParameterAccessor accessor, ReturnedType returnedType) {
+        final DocumentDbQueryExecution execution = getSyncExecution(accessor, returnedType);
+
+        if (asyncExecutor != null && method.isAsyncQuery()) {
+            return new DocumentDbQueryExecution.AsyncExecution(execution, asyncExecutor, isSingleResultQuery(),
+                    method.isOptionalAsyncQuery());
+        }
+
+        return execution;
+    }
+
+    private DocumentDbQueryExecution getSyncExecution(DocumentDbParameterAccessor accessor,
+                                                      ReturnedType returnedType) {
+        // Results are read as projection type directly, with the projected keys selected only
+        final Class<?> returnType = returnedType.isProjecting() ? returnedType.getReturnedType() : null;
+
         if (isDeleteQuery()) {
-            return new DocumentDbQueryExecution.DeleteExecution(operations);
+            // Deleted entities are not needed if the method returns nothing or the count
+            final boolean isCountResult = !method.isCollectionQuery() && !method.isQueryForEntity();
+            final boolean isServerSide = ((DocumentDbEntityMetadata) method.getEntityInformation())
+                    .isServerSideDelete();
+
+            return new DocumentDbQueryExecution.DeleteExecution(operations, isCountResult, isServerSide);
+        } else if (method.isSliceQuery()) {
+            return new DocumentDbQueryExecution.SliceExecution(operations, accessor.getPageable(), returnType);
         } else if (method.isPageQuery()) {
-            return new DocumentDbQueryExecution.PagedExecution(operations, accessor.getPageable());
+            return new DocumentDbQueryExecution.PagedExecution(operations, accessor.getPageable(), returnType);
         } else if (isExistsQuery()) {
             return new DocumentDbQueryExecution.ExistsExecution(operations);
+        } else if (method.isStreamQuery()) {
+            return new DocumentDbQueryExecution.StreamExecution(operations, returnType);
         } else {
-            return new DocumentDbQueryExecution.MultiEntityExecution(operations);
+            return new DocumentDbQueryExecution.MultiEntityExecution(operations, returnType);
         }
     }
 
@@ -48,6 +90,14 @@ public abstract class AbstractDocumentDbQuery implements RepositoryQuery {
         return method;
     }
 
+    /**
+     * @return true if the method returns one of the found entities or projections, instead of all of them.
+     */
+    protected boolean isSingleResultQuery() {
+        return !isDeleteQuery() && !isExistsQuery() && !method.isCollectionQuery() && !method.isPageQuery()
+                && !method.isSliceQuery() && !method.isStreamQuery();
+    }
+
     protected abstract DocumentQuery createQuery(DocumentDbParameterAccessor accessor);
 
     protected abstract boolean isDeleteQuery();
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.repository.query;
+
+import com.microsoft.azure.spring.data.cosmosdb.core.ReactiveDocumentDbOperations;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.data.repository.query.ResultProcessor;
+import org.springframework.data.repository.query.ReturnedType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public abstract class AbstractReactiveDocumentDbQuery implements RepositoryQuery {
+
+    private final DocumentDbQueryMethod method;
+    private final ReactiveDocumentDbOperations operations;
+
+    public AbstractReactiveDocumentDbQuery(DocumentDbQueryMethod method, ReactiveDocumentDbOperations operations) {
+        this.method = method;
+        this.operations = operations;
+    }
+
+    /**
+     * @return the {@link Flux} of results, or {@link Mono} of the first result if the method returns {@link Mono} of
+     * an entity or projection. A delete method returning {@link Mono} deletes all the found documents, see
+     * {@link #toDeleteResult(Flux)}.
+     */
+    public Object execute(Object[] parameters) {
+        final DocumentDbParameterAccessor accessor = new DocumentDbParameterParameterAccessor(method, parameters);
+        final DocumentQuery query = createQuery(accessor).withLazyRead(method.isLazyRead());
+
+        final ResultProcessor processor = method.getResultProcessor().withDynamicProjection(accessor);
+        final String collection = ((DocumentDbEntityMetadata) method.getEntityInformation()).getCollectionName();
+
+        final ReactiveDocumentDbQueryExecution execution = getExecution(processor.getReturnedType());
+        final Object result = execution.execute(query, processor.getReturnedType().getDomainType(), collection);
+
+        if (result instanceof Flux && isDeleteQuery() && Mono.class.isAssignableFrom(method.getReturnType())) {
+            return toDeleteResult((Flux<?>) result);
+        } else if (result instanceof Flux && isSingleResultQuery()) {
+            return ((Flux<?>) result).next();
+        }
+
+        return result;
+    }
+
+    /**
+     * Consume all the deleted entities, as each is deleted once emitted.
+     *
+     * @return {@link Mono} of the count of deleted entities if the method returns {@link Mono} of {@link Long} or
+     * {@link Integer}, or else completing once all deleted.
+     */
+    private Mono<?> toDeleteResult(Flux<?> deleted) {
+        final Class<?> type = method.getWrappedType();
+
+        if (type == Long.class) {
+            return deleted.count();
+        } else if (type == Integer.class) {
+            return deleted.count().map(Long::intValue);
+        }
+
+        return deleted.then();
+    }
+
+    private ReactiveDocumentDbQueryExecution getExecution(ReturnedType returnedType) {
+        final Class<?> returnType = returnedType.isProjecting() ? returnedType.getReturnedType() : null;
+
+        if (isDeleteQuery()) {
+            return new ReactiveDocumentDbQueryExecution.DeleteExecution(operations);
+        } else if (isExistsQuery()) {
+            return new ReactiveDocumentDbQueryExecution.ExistsExecution(operations);
+        } else {
+            return new ReactiveDocumentDbQueryExecution.MultiEntityExecution(operations, returnType);
+        }
+    }
+
+    public DocumentDbQueryMethod getQueryMethod() {
+        return method;
+    }
+
+    /**
+     * @return true if the method returns {@link Mono} of the first found entity or projection.
+     */
+    protected boolean isSingleResultQuery() {
+        return !isDeleteQuery() && !isExistsQuery() && Mono.class.isAssignableFrom(method.getReturnType());
+    }
+
+    protected abstract DocumentQuery createQuery(DocumentDbParameterAccessor accessor);
+
+    protected abstract boolean isDeleteQuery();
+
+    protected abstract boolean isExistsQuery();
+}
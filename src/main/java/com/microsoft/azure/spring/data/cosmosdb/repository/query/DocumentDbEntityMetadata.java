@@ -9,4 +9,9 @@ import org.springframework.data.repository.core.EntityMetadata;
 
 public interface DocumentDbEntityMetadata<T> extends EntityMetadata {
     String getCollectionName();
+
+    /**
+     * @return true if the documents are deleted by query inside CosmosDB.
+     */
+    boolean isServerSideDelete();
 }
@@ -10,6 +10,11 @@ import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentDbPageRequest
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 public interface DocumentDbQueryExecution {
     Object execute(DocumentQuery query, Class<?> type, String collection);
 
@@ -30,14 +35,49 @@ public interface DocumentDbQueryExecution {
     final class MultiEntityExecution implements DocumentDbQueryExecution {
 
         private final DocumentDbOperations operations;
+        private final Class<?> returnType;
 
         public MultiEntityExecution(DocumentDbOperations operations) {
+            this(operations, null);
+        }
+
+        /**
+         * @param returnType the projection type of results, or null to return the domain type.
+         */
+        public MultiEntityExecution(DocumentDbOperations operations, Class<?> returnType) {
+            this.operations = operations;
+            this.returnType = returnType;
+        }
+
+        @Override
+        public Object execute(DocumentQuery query, Class<?> type, String collection) {
+            final Class<?> resultType = returnType == null ? type : returnType;
+
+            return operations.find(query, type, resultType, collection);
+        }
+    }
+
+    /**
+     * Execute the query as a lazy stream, the results are fetched page by page as the stream is consumed.
+     */
+    final class StreamExecution implements DocumentDbQueryExecution {
+
+        private final DocumentDbOperations operations;
+        private final Class<?> returnType;
+
+        /**
+         * @param returnType the projection type of results, or null to return the domain type.
+         */
+        public StreamExecution(DocumentDbOperations operations, Class<?> returnType) {
             this.operations = operations;
+            this.returnType = returnType;
         }
 
         @Override
         public Object execute(DocumentQuery query, Class<?> type, String collection) {
-            return operations.find(query, type, collection);
+            final Class<?> resultType = returnType == null ? type : returnType;
+
+            return operations.stream(query, type, resultType, collection);
         }
     }
 
@@ -58,24 +98,84 @@ public interface DocumentDbQueryExecution {
     final class DeleteExecution implements DocumentDbQueryExecution {
 
         private final DocumentDbOperations operations;
+        private final boolean isCountResult;
+        private final boolean isServerSide;
 
         public DeleteExecution(DocumentDbOperations operations) {
+            this(operations, false, false);
+        }
+
+        /**
+         * @param isCountResult true to return the count of deleted documents instead of the deleted entities, the
+         *                      documents are not read back then.
+         * @param isServerSide  true to delete inside CosmosDB when counting only.
+         */
+        public DeleteExecution(DocumentDbOperations operations, boolean isCountResult, boolean isServerSide) {
             this.operations = operations;
+            this.isCountResult = isCountResult;
+            this.isServerSide = isServerSide;
         }
 
         @Override
         public Object execute(DocumentQuery query, Class<?> type, String collection) {
-            return operations.delete(query, type, collection);
+            if (!isCountResult) {
+                return operations.delete(query, type, collection);
+            } else if (isServerSide) {
+                return operations.deleteByQuery(query, type, collection);
+            }
+
+            return operations.deleteAll(query, type, collection);
+        }
+    }
+
+    /**
+     * Execute the query for one {@link org.springframework.data.domain.Slice}, without counting the total.
+     */
+    final class SliceExecution implements DocumentDbQueryExecution {
+        private final DocumentDbOperations operations;
+        private final Pageable pageable;
+        private final Class<?> returnType;
+
+        /**
+         * @param returnType the projection type of results, or null to return the domain type.
+         */
+        public SliceExecution(DocumentDbOperations operations, Pageable pageable, Class<?> returnType) {
+            this.operations = operations;
+            this.pageable = pageable;
+            this.returnType = returnType;
+        }
+
+        @Override
+        public Object execute(DocumentQuery query, Class<?> type, String collection) {
+            if (pageable.getPageNumber() != 0 && !(pageable instanceof DocumentDbPageRequest)) {
+                throw new IllegalStateException("Not the first slice but Pageable is not a valid " +
+                        "DocumentDbPageRequest, requestContinuation is required for non first slice request");
+            }
+
+            query.with(pageable);
+
+            final Class<?> resultType = returnType == null ? type : returnType;
+
+            return operations.sliceQuery(query, type, resultType, collection);
         }
     }
 
     final class PagedExecution implements DocumentDbQueryExecution {
         private final DocumentDbOperations operations;
         private final Pageable pageable;
+        private final Class<?> returnType;
 
         public PagedExecution(DocumentDbOperations operations, Pageable pageable) {
+            this(operations, pageable, null);
+        }
+
+        /**
+         * @param returnType the projection type of results, or null to return the domain type.
+         */
+        public PagedExecution(DocumentDbOperations operations, Pageable pageable, Class<?> returnType) {
             this.operations = operations;
             this.pageable = pageable;
+            this.returnType = returnType;
         }
 
         @Override
@@ -87,7 +187,44 @@ public interface DocumentDbQueryExecution {
 
             query.with(pageable);
 
-            return operations.paginationQuery(query, type, collection);
+            final Class<?> resultType = returnType == null ? type : returnType;
+
+            return operations.paginationQuery(query, type, resultType, collection);
+        }
+    }
+
+    /**
+     * Execute the delegate on the executor for methods returning {@link java.util.concurrent.Future}, the first
+     * result is completed if the method returns single entity. The result is wrapped as {@link Optional} if the
+     * future is of Optional, as futures are not unwrapped by the result handler of Spring Data.
+     */
+    final class AsyncExecution implements DocumentDbQueryExecution {
+        private final DocumentDbQueryExecution delegate;
+        private final Executor executor;
+        private final boolean isSingleResult;
+        private final boolean isOptionalResult;
+
+        public AsyncExecution(DocumentDbQueryExecution delegate, Executor executor, boolean isSingleResult,
+                              boolean isOptionalResult) {
+            this.delegate = delegate;
+            this.executor = executor;
+            this.isSingleResult = isSingleResult;
+            this.isOptionalResult = isOptionalResult;
+        }
+
+        @Override
+        public Object execute(DocumentQuery query, Class<?> type, String collection) {
+            return CompletableFuture.supplyAsync(() -> {
+                Object result = delegate.execute(query, type, collection);
+
+                if (isSingleResult && result instanceof List) {
+                    final List<?> results = (List<?>) result;
+
+                    result = results.isEmpty() ? null : results.get(0);
+                }
+
+                return isOptionalResult ? Optional.ofNullable(result) : result;
+            }, executor);
         }
     }
 }
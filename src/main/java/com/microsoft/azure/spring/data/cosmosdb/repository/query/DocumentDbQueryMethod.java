@@ -5,30 +5,83 @@
  */
 package com.microsoft.azure.spring.data.cosmosdb.repository.query;
 
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.LazyRead;
 import com.microsoft.azure.spring.data.cosmosdb.repository.support.DocumentDbEntityInformation;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.data.repository.core.EntityMetadata;
 import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.query.QueryMethod;
 
 import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.Future;
 
 public class DocumentDbQueryMethod extends QueryMethod {
 
     private DocumentDbEntityMetadata<?> metadata;
+    private final boolean isLazyRead;
+    private final Class<?> returnType;
+    private final boolean isOptionalAsyncQuery;
+    private final Class<?> wrappedType;
 
     public DocumentDbQueryMethod(Method method, RepositoryMetadata metadata, ProjectionFactory factory) {
         super(method, metadata, factory);
+
+        this.isLazyRead = AnnotatedElementUtils.hasAnnotation(method, LazyRead.class);
+        this.returnType = method.getReturnType();
+        this.isOptionalAsyncQuery = isAsyncQuery() && ResolvableType.forMethodReturnType(method).as(Future.class)
+                .getGeneric(0).resolve() == Optional.class;
+        this.wrappedType = ResolvableType.forMethodReturnType(method).getGeneric(0).resolve();
+    }
+
+    /**
+     * @return the type argument of the declared return type, such as T of {@code Mono<T>}, or null if absent.
+     */
+    public Class<?> getWrappedType() {
+        return this.wrappedType;
+    }
+
+    /**
+     * @return true if the method returns {@link Future}, such as {@link java.util.concurrent.CompletableFuture}.
+     */
+    public boolean isAsyncQuery() {
+        return Future.class.isAssignableFrom(this.returnType);
+    }
+
+    /**
+     * @return true if the method returns {@link Future} of {@link Optional}.
+     */
+    public boolean isOptionalAsyncQuery() {
+        return this.isOptionalAsyncQuery;
+    }
+
+    /**
+     * @return the declared return type of method, such as the wrapper type of a reactive method.
+     */
+    public Class<?> getReturnType() {
+        return this.returnType;
+    }
+
+    /**
+     * @return true if the method is annotated with {@link LazyRead}.
+     */
+    public boolean isLazyRead() {
+        return this.isLazyRead;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public EntityMetadata<?> getEntityInformation() {
-        final Class<Object> domainClass = (Class<Object>) getDomainClass();
-        final DocumentDbEntityInformation entityInformation =
-                new DocumentDbEntityInformation<Object, String>(domainClass);
+        if (this.metadata == null) {
+            final Class<Object> domainClass = (Class<Object>) getDomainClass();
+            final DocumentDbEntityInformation<Object, String> entityInformation =
+                    DocumentDbEntityInformation.getInstance(domainClass);
+
+            this.metadata = new SimpleDocumentDbEntityMetadata<>(domainClass, entityInformation);
+        }
 
-        this.metadata = new SimpleDocumentDbEntityMetadata<Object>(domainClass, entityInformation);
         return this.metadata;
     }
 }
@@ -7,37 +7,47 @@ package com.microsoft.azure.spring.data.cosmosdb.repository.query;
 
 import com.microsoft.azure.spring.data.cosmosdb.core.DocumentDbOperations;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
-import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbPersistentProperty;
-import org.apache.commons.lang3.NotImplementedException;
-import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.repository.query.ResultProcessor;
 import org.springframework.data.repository.query.parser.PartTree;
 
+import java.util.concurrent.Executor;
+
 public class PartTreeDocumentDbQuery extends AbstractDocumentDbQuery {
 
     private final PartTree tree;
-    private final MappingContext<?, DocumentDbPersistentProperty> mappingContext;
+    private final PartTreeQueryTemplate template;
     private final ResultProcessor processor;
 
     public PartTreeDocumentDbQuery(DocumentDbQueryMethod method, DocumentDbOperations operations) {
-        super(method, operations);
+        this(method, operations, operations.getAsyncExecutor());
+    }
+
+    public PartTreeDocumentDbQuery(DocumentDbQueryMethod method, DocumentDbOperations operations,
+                                   Executor asyncExecutor) {
+        super(method, operations, asyncExecutor);
 
         this.processor = method.getResultProcessor();
         this.tree = new PartTree(method.getName(), processor.getReturnedType().getDomainType());
-        this.mappingContext = operations.getConverter().getMappingContext();
+        this.template = new PartTreeQueryTemplate(tree, operations.getConverter().getMappingContext(),
+                processor.getReturnedType().getDomainType(), getLimit());
     }
 
-    @Override
-    protected DocumentQuery createQuery(DocumentDbParameterAccessor accessor) {
-        final DocumentDbQueryCreator creator = new DocumentDbQueryCreator(tree, accessor, mappingContext);
-
-        final DocumentQuery query = creator.createQuery();
+    /**
+     * @return the max count of results of findFirst/findTop, or 1 for the methods returning single result.
+     */
+    private int getLimit() {
+        final Integer maxResults = tree.getMaxResults();
 
-        if (tree.isLimiting()) {
-            throw new NotImplementedException("Limiting is not supported.");
+        if (tree.isLimiting() && maxResults != null) {
+            return maxResults;
         }
 
-        return query;
+        return isSingleResultQuery() ? 1 : 0;
+    }
+
+    @Override
+    protected DocumentQuery createQuery(DocumentDbParameterAccessor accessor) {
+        return template.bind(accessor);
     }
 
     @Override
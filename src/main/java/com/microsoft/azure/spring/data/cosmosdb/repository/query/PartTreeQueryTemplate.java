@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.repository.query;
+
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbPersistentProperty;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.repository.support.DocumentDbEntityInformation;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Immutable form of a derived query method, compiled once from its {@link PartTree}: the document key and criteria
+ * type of each part, the static sort and limit, and whether the query crosses partitions, which depends on the
+ * shape of criteria only. Each call only binds the parameter values into a new {@link DocumentQuery}, the query text
+ * of the same shape is cached by the query generators.
+ */
+final class PartTreeQueryTemplate {
+
+    private final List<List<PartSlot>> orParts;
+    private final Sort sort;
+    private final int limit;
+    private final boolean isCrossPartitionQuery;
+
+    PartTreeQueryTemplate(@NonNull PartTree tree, @NonNull MappingContext<?, DocumentDbPersistentProperty> context,
+                          @NonNull Class<?> domainClass, int limit) {
+        final List<List<PartSlot>> parts = new ArrayList<>();
+
+        for (final PartTree.OrPart orPart : tree) {
+            final List<PartSlot> andParts = new ArrayList<>();
+
+            orPart.forEach(part -> andParts.add(new PartSlot(part, context)));
+            Assert.isTrue(!andParts.isEmpty(), "Tree should have at least one part in each Or part");
+
+            parts.add(Collections.unmodifiableList(andParts));
+        }
+
+        this.orParts = Collections.unmodifiableList(parts);
+        this.sort = tree.getSort();
+        this.limit = limit;
+
+        final String partitionKeyName = DocumentDbEntityInformation.getInstance(domainClass).getPartitionKeyFieldName();
+
+        this.isCrossPartitionQuery = createQuery(Collections.emptyIterator(), Sort.unsorted(), false)
+                .isCrossPartitionQuery(partitionKeyName == null ? Collections.emptyList()
+                        : Collections.singletonList(partitionKeyName));
+    }
+
+    /**
+     * Bind the values of parameters to the compiled criteria, with the dynamic sort after the static one.
+     */
+    DocumentQuery bind(@NonNull DocumentDbParameterAccessor accessor) {
+        return createQuery(accessor.iterator(), accessor.getSort(), true)
+                .withLimit(this.limit)
+                .withCrossPartitionQuery(this.isCrossPartitionQuery);
+    }
+
+    private DocumentQuery createQuery(@NonNull Iterator<Object> parameters, @NonNull Sort dynamicSort,
+                                      boolean isBound) {
+        Criteria base = null;
+
+        for (final List<PartSlot> andParts : this.orParts) {
+            Criteria criteria = null;
+
+            for (final PartSlot part : andParts) {
+                final Criteria right = part.create(parameters, isBound);
+
+                criteria = criteria == null ? right : Criteria.getInstance(CriteriaType.AND, criteria, right);
+            }
+
+            base = base == null ? criteria : Criteria.getInstance(CriteriaType.OR, base, criteria);
+        }
+
+        if (base == null) {
+            base = Criteria.getInstance(CriteriaType.ALL);
+        }
+
+        return new DocumentQuery(base).with(this.sort.and(dynamicSort));
+    }
+
+    private static final class PartSlot {
+
+        private final String subject;
+        private final CriteriaType type;
+        private final int numberOfArguments;
+
+        private PartSlot(@NonNull Part part, @NonNull MappingContext<?, DocumentDbPersistentProperty> context) {
+            if (CriteriaType.isPartTypeUnSupported(part.getType())) {
+                throw new UnsupportedOperationException("Unsupported keyword: " + part.getType());
+            }
+
+            this.subject = getSubject(part, context);
+            this.type = CriteriaType.toCriteriaType(part.getType());
+            this.numberOfArguments = part.getNumberOfArguments();
+        }
+
+        /**
+         * @return the document key of part property, id field is mapped to the id key of document.
+         */
+        private static String getSubject(@NonNull Part part,
+                                         @NonNull MappingContext<?, DocumentDbPersistentProperty> context) {
+            final String subject = context.getPersistentPropertyPath(part.getProperty()).toDotPath();
+            final Class<?> domainClass = part.getProperty().getOwningType().getType();
+            final DocumentDbEntityInformation<?, ?> information = DocumentDbEntityInformation.getInstance(domainClass);
+
+            if (information.getIdField().getName().equals(subject)) {
+                return Constants.ID_PROPERTY_NAME;
+            }
+
+            return subject;
+        }
+
+        /**
+         * @param isBound false to create the criteria of shape only, with null values.
+         */
+        private Criteria create(@NonNull Iterator<Object> parameters, boolean isBound) {
+            final List<Object> values = new ArrayList<>(this.numberOfArguments);
+
+            for (int i = 0; i < this.numberOfArguments; i++) {
+                if (isBound) {
+                    Assert.isTrue(parameters.hasNext(), "should not reach the end of iterator");
+                }
+
+                values.add(isBound ? parameters.next() : null);
+            }
+
+            return Criteria.getInstance(this.type, this.subject, values);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.repository.query;
+
+import com.microsoft.azure.spring.data.cosmosdb.core.ReactiveDocumentDbOperations;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+
+public interface ReactiveDocumentDbQueryExecution {
+    Object execute(DocumentQuery query, Class<?> type, String collection);
+
+    final class MultiEntityExecution implements ReactiveDocumentDbQueryExecution {
+
+        private final ReactiveDocumentDbOperations operations;
+        private final Class<?> returnType;
+
+        /**
+         * @param returnType the projection type of results, or null to return the domain type.
+         */
+        public MultiEntityExecution(ReactiveDocumentDbOperations operations, Class<?> returnType) {
+            this.operations = operations;
+            this.returnType = returnType;
+        }
+
+        @Override
+        public Object execute(DocumentQuery query, Class<?> type, String collection) {
+            final Class<?> resultType = returnType == null ? type : returnType;
+
+            return operations.find(query, type, resultType, collection);
+        }
+    }
+
+    final class ExistsExecution implements ReactiveDocumentDbQueryExecution {
+
+        private final ReactiveDocumentDbOperations operations;
+
+        public ExistsExecution(ReactiveDocumentDbOperations operations) {
+            this.operations = operations;
+        }
+
+        @Override
+        public Object execute(DocumentQuery query, Class<?> type, String collection) {
+            return operations.exists(query, type, collection);
+        }
+    }
+
+    final class DeleteExecution implements ReactiveDocumentDbQueryExecution {
+
+        private final ReactiveDocumentDbOperations operations;
+
+        public DeleteExecution(ReactiveDocumentDbOperations operations) {
+            this.operations = operations;
+        }
+
+        @Override
+        public Object execute(DocumentQuery query, Class<?> type, String collection) {
+            return operations.delete(query, type, collection);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.repository.query;
+
+import com.microsoft.azure.spring.data.cosmosdb.core.ReactiveDocumentDbOperations;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import org.springframework.data.repository.query.parser.PartTree;
+
+/**
+ * Reactive counterpart of {@link PartTreeDocumentDbQuery}, creating the same {@link DocumentQuery} of method name.
+ */
+public class ReactivePartTreeDocumentDbQuery extends AbstractReactiveDocumentDbQuery {
+
+    private final PartTree tree;
+    private final PartTreeQueryTemplate template;
+
+    public ReactivePartTreeDocumentDbQuery(DocumentDbQueryMethod method, ReactiveDocumentDbOperations operations) {
+        super(method, operations);
+
+        final Class<?> domainType = method.getResultProcessor().getReturnedType().getDomainType();
+
+        this.tree = new PartTree(method.getName(), domainType);
+        this.template = new PartTreeQueryTemplate(tree, operations.getConverter().getMappingContext(), domainType,
+                getLimit());
+    }
+
+    /**
+     * @return the max count of results of findFirst/findTop, or 1 for the methods returning single result.
+     */
+    private int getLimit() {
+        final Integer maxResults = tree.getMaxResults();
+
+        if (tree.isLimiting() && maxResults != null) {
+            return maxResults;
+        }
+
+        return isSingleResultQuery() ? 1 : 0;
+    }
+
+    @Override
+    protected DocumentQuery createQuery(DocumentDbParameterAccessor accessor) {
+        return template.bind(accessor);
+    }
+
+    @Override
+    protected boolean isDeleteQuery() {
+        return tree.isDelete();
+    }
+
+    @Override
+    protected boolean isExistsQuery() {
+        return tree.isExistsProjection();
+    }
+}
@@ -28,4 +28,8 @@ public class SimpleDocumentDbEntityMetadata<T> implements DocumentDbEntityMetada
     public String getCollectionName() {
         return entityInformation.getCollectionName();
     }
+
+    public boolean isServerSideDelete() {
+        return entityInformation.isServerSideDelete();
+    }
 }
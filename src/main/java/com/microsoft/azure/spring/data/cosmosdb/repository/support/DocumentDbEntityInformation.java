@@ -6,55 +6,108 @@
 
 package com.microsoft.azure.spring.data.cosmosdb.repository.support;
 
+import com.microsoft.azure.documentdb.ConsistencyLevel;
 import com.microsoft.azure.documentdb.ExcludedPath;
 import com.microsoft.azure.documentdb.IncludedPath;
+import com.microsoft.azure.documentdb.IndexingDirective;
 import com.microsoft.azure.documentdb.IndexingMode;
 import com.microsoft.azure.documentdb.IndexingPolicy;
 import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import com.microsoft.azure.spring.data.cosmosdb.config.RequestOptionsTemplate;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentIndexingPolicy;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.PartitionKey;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.PropertyGetter;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.repository.core.support.AbstractEntityInformation;
 import org.springframework.lang.NonNull;
 import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 
 public class DocumentDbEntityInformation<T, ID> extends AbstractEntityInformation<T, ID> {
 
+    private static final ClassValue<DocumentDbEntityInformation<?, ?>> INFORMATIONS =
+            new ClassValue<DocumentDbEntityInformation<?, ?>>() {
+                @Override
+                protected DocumentDbEntityInformation<?, ?> computeValue(Class<?> type) {
+                    return new DocumentDbEntityInformation<>(type);
+                }
+            };
+
     private Field id;
+    private PropertyGetter idGetter;
     private Field partitionKeyField;
+    private String partitionKeyFieldName;
+    private PropertyGetter partitionKeyGetter;
     private String collectionName;
     private Integer requestUnit;
     private Integer timeToLive;
     private IndexingPolicy indexingPolicy;
+    private boolean isBulkImport;
+    private boolean isServerSideDelete;
+    private boolean isSkipInsertReadBack;
+    private ConsistencyLevel consistencyLevel;
+    private IndexingDirective indexingDirective;
+    private int cacheSize;
+    private int cacheTimeToLive;
+    private int cacheRevalidateAfter;
 
     public DocumentDbEntityInformation(Class<T> domainClass) {
         super(domainClass);
 
         this.id = getIdField(domainClass);
-        ReflectionUtils.makeAccessible(this.id);
+        this.idGetter = PropertyGetter.of(this.id);
 
         this.collectionName = getCollectionName(domainClass);
         this.partitionKeyField = getPartitionKeyField(domainClass);
         if (this.partitionKeyField != null) {
-            ReflectionUtils.makeAccessible(this.partitionKeyField);
+            final List<Field> path = getPartitionKeyPath(this.partitionKeyField);
+
+            this.partitionKeyFieldName = path.stream().map(Field::getName).collect(Collectors.joining("."));
+            this.partitionKeyGetter = PropertyGetter.of(path);
         }
 
         this.requestUnit = getRequestUnit(domainClass);
         this.timeToLive = getTimeToLive(domainClass);
         this.indexingPolicy = getIndexingPolicy(domainClass);
+        this.isBulkImport = getBulkImport(domainClass);
+        this.isServerSideDelete = getServerSideDelete(domainClass);
+        this.consistencyLevel = getConsistencyLevel(domainClass);
+        this.indexingDirective = getIndexingDirective(domainClass);
+
+        final Document annotation = domainClass.getAnnotation(Document.class);
+
+        if (annotation != null) {
+            this.isSkipInsertReadBack = annotation.skipInsertReadBack();
+            this.cacheSize = annotation.cacheSize();
+            this.cacheTimeToLive = annotation.cacheTimeToLive();
+            this.cacheRevalidateAfter = annotation.cacheRevalidateAfter();
+        }
+    }
+
+    /**
+     * Get the information of domain class, the annotations are scanned once per class and the result is shared, as
+     * it is not changed after construction. The shared {@link IndexingPolicy} should not be modified.
+     *
+     * @param domainClass the user class of entity, not a proxy or subclass generated at runtime.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, ID> DocumentDbEntityInformation<T, ID> getInstance(@NonNull Class<T> domainClass) {
+        return (DocumentDbEntityInformation<T, ID>) INFORMATIONS.get(domainClass);
     }
 
     @SuppressWarnings("unchecked")
     public ID getId(T entity) {
-        return (ID) ReflectionUtils.getField(id, entity);
+        return (ID) idGetter.get(entity);
     }
 
     public Field getIdField() {
@@ -83,12 +136,70 @@ public class DocumentDbEntityInformation<T, ID> extends AbstractEntityInformatio
         return this.indexingPolicy;
     }
 
+    /**
+     * @return true if existing entities are saved in batch by bulk import, see {@link Document#bulkImport()}.
+     */
+    public boolean isBulkImport() {
+        return this.isBulkImport;
+    }
+
+    /**
+     * @return true if documents are deleted by query inside CosmosDB, see {@link Document#serverSideDelete()}.
+     */
+    public boolean isServerSideDelete() {
+        return this.isServerSideDelete;
+    }
+
+    /**
+     * @return true if insert copies only the generated properties onto the entity, see
+     * {@link Document#skipInsertReadBack()}.
+     */
+    public boolean isSkipInsertReadBack() {
+        return this.isSkipInsertReadBack;
+    }
+
+    /**
+     * Layer the request options of {@link Document#consistencyLevel()} and {@link Document#indexingDirective()} over
+     * the given template.
+     */
+    public RequestOptionsTemplate getRequestOptionsTemplate(@NonNull RequestOptionsTemplate template) {
+        RequestOptionsTemplate entityTemplate = template;
+
+        if (this.consistencyLevel != null) {
+            entityTemplate = entityTemplate.withConsistencyLevel(this.consistencyLevel);
+        }
+
+        if (this.indexingDirective != null) {
+            entityTemplate = entityTemplate.withIndexingDirective(this.indexingDirective);
+        }
+
+        return entityTemplate;
+    }
+
+    /**
+     * @return max count of documents cached by findById, 0 if not cached, see {@link Document#cacheSize()}.
+     */
+    public int getCacheSize() {
+        return this.cacheSize;
+    }
+
+    public int getCacheTimeToLive() {
+        return this.cacheTimeToLive;
+    }
+
+    public int getCacheRevalidateAfter() {
+        return this.cacheRevalidateAfter;
+    }
+
+    /**
+     * @return name of the partition key property, dot separated when it is nested inside the annotated field.
+     */
     public String getPartitionKeyFieldName() {
-        return partitionKeyField == null ? null : partitionKeyField.getName();
+        return this.partitionKeyFieldName;
     }
 
-    public String getPartitionKeyFieldValue(T entity) {
-        return partitionKeyField == null ? null : (String) ReflectionUtils.getField(partitionKeyField, entity);
+    public Object getPartitionKeyFieldValue(T entity) {
+        return partitionKeyGetter == null ? null : partitionKeyGetter.get(entity);
     }
 
     private IndexingPolicy getIndexingPolicy(Class<?> domainClass) {
@@ -148,12 +259,38 @@ public class DocumentDbEntityInformation<T, ID> extends AbstractEntityInformatio
                     "only one field with @PartitionKey annotation!");
         }
 
-        if (partitionKey != null && partitionKey.getType() != String.class) {
-            throw new IllegalArgumentException("type of PartitionKey field must be String");
-        }
         return partitionKey;
     }
 
+    private List<Field> getPartitionKeyPath(Field partitionKeyField) {
+        final List<Field> path = new ArrayList<>();
+        final String nestedPath = partitionKeyField.getAnnotation(PartitionKey.class).path();
+
+        path.add(partitionKeyField);
+
+        if (StringUtils.hasText(nestedPath)) {
+            for (final String name : nestedPath.split("\\.")) {
+                final Class<?> owner = path.get(path.size() - 1).getType();
+                final Field field = ReflectionUtils.findField(owner, name);
+
+                if (field == null) {
+                    throw new IllegalArgumentException("PartitionKey path " + nestedPath + " not found, "
+                            + owner.getName() + " has no field " + name);
+                }
+
+                path.add(field);
+            }
+        }
+
+        final Class<?> type = path.get(path.size() - 1).getType();
+
+        if (type.isArray() || Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)) {
+            throw new IllegalArgumentException("type of PartitionKey field must be a single value");
+        }
+
+        return path;
+    }
+
     private Integer getRequestUnit(Class<?> domainClass) {
         Integer ru = Integer.parseInt(Constants.DEFAULT_REQUEST_UNIT);
         final Document annotation = domainClass.getAnnotation(Document.class);
@@ -175,6 +312,30 @@ public class DocumentDbEntityInformation<T, ID> extends AbstractEntityInformatio
         return ttl;
     }
 
+    private boolean getBulkImport(Class<?> domainClass) {
+        final Document annotation = domainClass.getAnnotation(Document.class);
+
+        return annotation != null && annotation.bulkImport();
+    }
+
+    private boolean getServerSideDelete(Class<?> domainClass) {
+        final Document annotation = domainClass.getAnnotation(Document.class);
+
+        return annotation != null && annotation.serverSideDelete();
+    }
+
+
+    private ConsistencyLevel getConsistencyLevel(Class<?> domainClass) {
+        final Document annotation = domainClass.getAnnotation(Document.class);
+
+        return annotation == null ? null : annotation.consistencyLevel().getConsistencyLevel();
+    }
+
+    private IndexingDirective getIndexingDirective(Class<?> domainClass) {
+        final Document annotation = domainClass.getAnnotation(Document.class);
+
+        return annotation == null ? null : annotation.indexingDirective().getIndexingDirective();
+    }
 
     private Boolean getIndexingPolicyAutomatic(Class<?> domainClass) {
         Boolean isAutomatic = Boolean.valueOf(Constants.DEFAULT_INDEXINGPOLICY_AUTOMATIC);
@@ -49,7 +49,7 @@ public class DocumentDbRepositoryFactory extends RepositoryFactorySupport {
 
     @Override
     public <T, ID> EntityInformation<T, ID> getEntityInformation(Class<T> domainClass) {
-        return new DocumentDbEntityInformation<>(domainClass);
+        return DocumentDbEntityInformation.getInstance(domainClass);
     }
 
     @Override
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.repository.support;
+
+import com.microsoft.azure.spring.data.cosmosdb.core.ReactiveDocumentDbOperations;
+import com.microsoft.azure.spring.data.cosmosdb.repository.query.DocumentDbQueryMethod;
+import com.microsoft.azure.spring.data.cosmosdb.repository.query.ReactivePartTreeDocumentDbQuery;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.repository.core.EntityInformation;
+import org.springframework.data.repository.core.NamedQueries;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.RepositoryMetadata;
+import org.springframework.data.repository.core.support.ReactiveRepositoryFactorySupport;
+import org.springframework.data.repository.query.QueryLookupStrategy;
+import org.springframework.data.repository.query.QueryMethodEvaluationContextProvider;
+import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.util.Assert;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+
+public class ReactiveDocumentDbRepositoryFactory extends ReactiveRepositoryFactorySupport {
+
+    private final ApplicationContext applicationContext;
+    private final ReactiveDocumentDbOperations dbOperations;
+
+    public ReactiveDocumentDbRepositoryFactory(ReactiveDocumentDbOperations dbOperations,
+                                               ApplicationContext applicationContext) {
+        this.dbOperations = dbOperations;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    protected Class<?> getRepositoryBaseClass(RepositoryMetadata metadata) {
+        return SimpleReactiveDocumentDbRepository.class;
+    }
+
+    @Override
+    protected Object getTargetRepository(RepositoryInformation information) {
+        final EntityInformation<?, Serializable> entityInformation = getEntityInformation(information.getDomainType());
+        return getTargetRepositoryViaReflection(information, entityInformation, this.applicationContext);
+    }
+
+    @Override
+    public <T, ID> EntityInformation<T, ID> getEntityInformation(Class<T> domainClass) {
+        return DocumentDbEntityInformation.getInstance(domainClass);
+    }
+
+    @Override
+    protected Optional<QueryLookupStrategy> getQueryLookupStrategy(
+            QueryLookupStrategy.Key key, QueryMethodEvaluationContextProvider evaluationContextProvider) {
+        return Optional.of(new ReactiveDocumentDbQueryLookupStrategy(dbOperations));
+    }
+
+    private static class ReactiveDocumentDbQueryLookupStrategy implements QueryLookupStrategy {
+        private final ReactiveDocumentDbOperations dbOperations;
+
+        ReactiveDocumentDbQueryLookupStrategy(ReactiveDocumentDbOperations operations) {
+            this.dbOperations = operations;
+        }
+
+        @Override
+        public RepositoryQuery resolveQuery(Method method, RepositoryMetadata metadata,
+                                            ProjectionFactory factory, NamedQueries namedQueries) {
+            final DocumentDbQueryMethod queryMethod = new DocumentDbQueryMethod(method, metadata, factory);
+
+            Assert.notNull(dbOperations, "dbOperations must not be null!");
+            return new ReactivePartTreeDocumentDbQuery(queryMethod, dbOperations);
+        }
+    }
+}
@@ -9,6 +9,7 @@ package com.microsoft.azure.spring.data.cosmosdb.repository.support;
 
 import com.microsoft.azure.documentdb.DocumentCollection;
 import com.microsoft.azure.documentdb.PartitionKey;
+import com.microsoft.azure.spring.data.cosmosdb.core.BulkOperationResult;
 import com.microsoft.azure.spring.data.cosmosdb.core.DocumentDbOperations;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
@@ -23,9 +24,15 @@ import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.StreamSupport;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import static com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter.toDocumentDBValue;
 
 public class SimpleDocumentDbRepository<T, ID extends Serializable> implements DocumentDbRepository<T, ID> {
 
@@ -77,28 +84,58 @@ public class SimpleDocumentDbRepository<T, ID extends Serializable> implements D
         return entity;
     }
 
-    private PartitionKey createKey(String partitionKeyValue) {
+    private PartitionKey createKey(Object partitionKeyValue) {
         if (StringUtils.isEmpty(partitionKeyValue)) {
             return null;
         }
 
-        return new PartitionKey(partitionKeyValue);
+        return new PartitionKey(toDocumentDBValue(partitionKeyValue));
     }
 
     /**
-     * batch save entities
+     * batch save entities, new entities are inserted and others are upserted concurrently, or imported in batches
+     * if the domain is annotated with {@code @Document(bulkImport = true)}. Existing entities are not saved if any
+     * new entity failed to be inserted.
      *
      * @param entities
      * @param <S>
-     * @return
+     * @return saved entities in the order of given entities
      */
     @Override
     public <S extends T> Iterable<S> saveAll(Iterable<S> entities) {
         Assert.notNull(entities, "Iterable entities should not be null");
 
-        entities.forEach(this::save);
+        final List<S> newEntities = new ArrayList<>();
+        final List<S> existingEntities = new ArrayList<>();
+        final List<Boolean> isNew = new ArrayList<>();
+
+        for (final S entity : entities) {
+            Assert.notNull(entity, "entity must not be null");
+
+            if (information.isNew(entity)) {
+                newEntities.add(entity);
+                isNew.add(true);
+            } else {
+                existingEntities.add(entity);
+                isNew.add(false);
+            }
+        }
+
+        final BulkOperationResult<S> inserted = operation.insertAll(information.getCollectionName(), newEntities);
+
+        inserted.assertSuccessful();
+
+        final BulkOperationResult<S> upserted = information.isBulkImport()
+                ? operation.importAll(information.getCollectionName(), existingEntities)
+                : operation.upsertAll(information.getCollectionName(), existingEntities);
 
-        return entities;
+        upserted.assertSuccessful();
+
+        final Iterator<S> insertedIterator = inserted.getResults().iterator();
+        final Iterator<S> upsertedIterator = upserted.getResults().iterator();
+
+        return isNew.stream().map(n -> n ? insertedIterator.next() : upsertedIterator.next())
+                .collect(Collectors.toList());
     }
 
     /**
@@ -172,11 +209,11 @@ public class SimpleDocumentDbRepository<T, ID extends Serializable> implements D
     public void delete(T entity) {
         Assert.notNull(entity, "entity to be deleted should not be null");
 
-        final String partitionKeyValue = information.getPartitionKeyFieldValue(entity);
+        final Object partitionKeyValue = information.getPartitionKeyFieldValue(entity);
 
         operation.deleteById(information.getCollectionName(),
                 information.getId(entity),
-                partitionKeyValue == null ? null : new PartitionKey(partitionKeyValue));
+                partitionKeyValue == null ? null : new PartitionKey(toDocumentDBValue(partitionKeyValue)));
     }
 
     /**
@@ -188,7 +225,7 @@ public class SimpleDocumentDbRepository<T, ID extends Serializable> implements D
     }
 
     /**
-     * delete list of entities without partitions
+     * delete list of entities concurrently, with the partition key of each entity
      *
      * @param entities
      */
@@ -196,11 +233,11 @@ public class SimpleDocumentDbRepository<T, ID extends Serializable> implements D
     public void deleteAll(Iterable<? extends T> entities) {
         Assert.notNull(entities, "Iterable entities should not be null");
 
-        StreamSupport.stream(entities.spliterator(), true).forEach(this::delete);
+        operation.deleteAll(information.getCollectionName(), entities).assertSuccessful();
     }
 
     /**
-     * check if an entity exists per id without partition
+     * check if an entity exists per id without partition, the document is not read as entity
      *
      * @param primaryKey
      * @return
@@ -209,7 +246,11 @@ public class SimpleDocumentDbRepository<T, ID extends Serializable> implements D
     public boolean existsById(ID primaryKey) {
         Assert.notNull(primaryKey, "primaryKey should not be null");
 
-        return findById(primaryKey).isPresent();
+        if (primaryKey instanceof String && !StringUtils.hasText((String) primaryKey)) {
+            return false;
+        }
+
+        return operation.existsById(information.getCollectionName(), primaryKey, information.getJavaType());
     }
 
     /**
@@ -239,4 +280,35 @@ public class SimpleDocumentDbRepository<T, ID extends Serializable> implements D
 
         return operation.findAll(pageable, information.getJavaType(), information.getCollectionName());
     }
+
+    /**
+     * Asynchronous methods are executed on {@link DocumentDbOperations#getAsyncExecutor()}.
+     */
+    @Override
+    public CompletableFuture<Optional<T>> findByIdAsync(ID id) {
+        return CompletableFuture.supplyAsync(() -> findById(id), getAsyncExecutor());
+    }
+
+    @Override
+    public CompletableFuture<List<T>> findAllByIdAsync(Iterable<ID> ids) {
+        return CompletableFuture.supplyAsync(() -> findAllById(ids), getAsyncExecutor());
+    }
+
+    @Override
+    public <S extends T> CompletableFuture<S> saveAsync(S entity) {
+        return CompletableFuture.supplyAsync(() -> save(entity), getAsyncExecutor());
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteByIdAsync(ID id) {
+        return CompletableFuture.runAsync(() -> deleteById(id), getAsyncExecutor());
+    }
+
+    private Executor getAsyncExecutor() {
+        final Executor asyncExecutor = operation.getAsyncExecutor();
+
+        Assert.state(asyncExecutor != null, "DocumentDbOperations has no asynchronous executor");
+
+        return asyncExecutor;
+    }
 }
@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.repository.support;
+
+import com.microsoft.azure.documentdb.PartitionKey;
+import com.microsoft.azure.spring.data.cosmosdb.core.ReactiveDocumentDbOperations;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.repository.ReactiveDocumentDbRepository;
+import org.reactivestreams.Publisher;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.Serializable;
+
+import static com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter.toDocumentDBValue;
+
+public class SimpleReactiveDocumentDbRepository<T, ID extends Serializable> implements
+        ReactiveDocumentDbRepository<T, ID> {
+
+    private final ReactiveDocumentDbOperations operation;
+    private final DocumentDbEntityInformation<T, ID> information;
+    private final int concurrency;
+
+    public SimpleReactiveDocumentDbRepository(DocumentDbEntityInformation<T, ID> metadata,
+                                              ApplicationContext applicationContext) {
+        this(metadata, applicationContext.getBean(ReactiveDocumentDbOperations.class));
+    }
+
+    public SimpleReactiveDocumentDbRepository(DocumentDbEntityInformation<T, ID> metadata,
+                                              ReactiveDocumentDbOperations dbOperations) {
+        this.operation = dbOperations;
+        this.information = metadata;
+        this.concurrency = dbOperations.getParallelism();
+
+        // Repositories are created on start up, where blocking is fine
+        this.operation.createCollectionIfNotExists(this.information).block();
+    }
+
+    private PartitionKey createKey(T entity) {
+        final Object partitionKeyValue = information.getPartitionKeyFieldValue(entity);
+
+        if (StringUtils.isEmpty(partitionKeyValue)) {
+            return null;
+        }
+
+        return new PartitionKey(toDocumentDBValue(partitionKeyValue));
+    }
+
+    @Override
+    public <S extends T> Mono<S> save(S entity) {
+        Assert.notNull(entity, "entity must not be null");
+
+        if (information.isNew(entity)) {
+            return operation.insert(information.getCollectionName(), entity, createKey(entity));
+        } else {
+            return operation.upsert(information.getCollectionName(), entity, createKey(entity));
+        }
+    }
+
+    /**
+     * save entities concurrently, at most {@link ReactiveDocumentDbOperations#getParallelism()} at a time, and emit
+     * the saved ones in the order of given entities.
+     */
+    @Override
+    public <S extends T> Flux<S> saveAll(Iterable<S> entities) {
+        Assert.notNull(entities, "Iterable entities should not be null");
+
+        return Flux.fromIterable(entities).flatMapSequential(this::save, concurrency);
+    }
+
+    @Override
+    public <S extends T> Flux<S> saveAll(Publisher<S> entityStream) {
+        Assert.notNull(entityStream, "entityStream should not be null");
+
+        return Flux.from(entityStream).flatMapSequential(this::save, concurrency);
+    }
+
+    @Override
+    public Mono<T> findById(ID id) {
+        Assert.notNull(id, "id must not be null");
+
+        if (id instanceof String && !StringUtils.hasText((String) id)) {
+            return Mono.empty();
+        }
+
+        return operation.findById(information.getCollectionName(), id, information.getJavaType());
+    }
+
+    @Override
+    public Mono<T> findById(Publisher<ID> id) {
+        Assert.notNull(id, "id must not be null");
+
+        return Mono.from(id).flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(ID id) {
+        Assert.notNull(id, "id must not be null");
+
+        if (id instanceof String && !StringUtils.hasText((String) id)) {
+            return Mono.just(false);
+        }
+
+        return operation.existsById(information.getCollectionName(), id, information.getJavaType());
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<ID> id) {
+        Assert.notNull(id, "id must not be null");
+
+        return Mono.from(id).flatMap(this::existsById);
+    }
+
+    @Override
+    public Flux<T> findAll() {
+        return operation.findAll(information.getCollectionName(), information.getJavaType());
+    }
+
+    @Override
+    public Flux<T> findAll(@NonNull Sort sort) {
+        Assert.notNull(sort, "sort of findAll should not be null");
+
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL)).with(sort);
+
+        return operation.find(query, information.getJavaType(), information.getCollectionName());
+    }
+
+    /**
+     * Find the entities of ids in the order of ids, see {@link ReactiveDocumentDbOperations#findByIds}.
+     */
+    @Override
+    public Flux<T> findAllById(Iterable<ID> ids) {
+        Assert.notNull(ids, "Iterable ids should not be null");
+
+        return operation.findByIds(ids, information.getJavaType(), information.getCollectionName());
+    }
+
+    @Override
+    public Flux<T> findAllById(Publisher<ID> idStream) {
+        Assert.notNull(idStream, "idStream should not be null");
+
+        return Flux.from(idStream).collectList().flatMapMany(this::findAllById);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return operation.count(information.getCollectionName());
+    }
+
+    @Override
+    public Mono<Void> deleteById(ID id) {
+        Assert.notNull(id, "id to be deleted should not be null");
+
+        return operation.deleteById(information.getCollectionName(), id, null);
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<ID> id) {
+        Assert.notNull(id, "id to be deleted should not be null");
+
+        return Mono.from(id).flatMap(this::deleteById);
+    }
+
+    @Override
+    public Mono<Void> delete(T entity) {
+        Assert.notNull(entity, "entity to be deleted should not be null");
+
+        return operation.deleteById(information.getCollectionName(), information.getId(entity), createKey(entity));
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends T> entities) {
+        Assert.notNull(entities, "Iterable entities should not be null");
+
+        return Flux.fromIterable(entities).flatMap(this::delete, concurrency).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends T> entityStream) {
+        Assert.notNull(entityStream, "entityStream should not be null");
+
+        return Flux.from(entityStream).flatMap(this::delete, concurrency).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return operation.deleteAll(information.getCollectionName(), information.getJavaType());
+    }
+}
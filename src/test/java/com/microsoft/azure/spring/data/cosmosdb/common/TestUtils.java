@@ -5,14 +5,23 @@
  */
 package com.microsoft.azure.spring.data.cosmosdb.common;
 
+import com.microsoft.azure.documentdb.Document;
+import com.microsoft.azure.documentdb.FeedResponse;
 import com.microsoft.azure.documentdb.JsonSerializable;
+import com.microsoft.azure.documentdb.QueryIterable;
+import com.microsoft.azure.documentdb.Resource;
+import com.microsoft.azure.documentdb.ResourceResponse;
+import com.microsoft.azure.documentdb.internal.DocumentServiceResponse;
 import org.springframework.util.Assert;
 
+import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 
+import static org.mockito.Mockito.mock;
+
 public class TestUtils {
     public static <T> List<T> toList(Iterable<T> iterable) {
         if (iterable != null) {
@@ -42,5 +51,49 @@ public class TestUtils {
             Assert.isTrue(includedPath.toString().equals(path), "unmatched policy path");
         }
     }
-}
 
+    /**
+     * Create the response of a query, as the constructor of {@link FeedResponse} is not public.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Resource> FeedResponse<T> createFeedResponse(QueryIterable<T> iterable) {
+        try {
+            final Constructor<FeedResponse> constructor = FeedResponse.class.getDeclaredConstructor(
+                    QueryIterable.class);
+
+            constructor.setAccessible(true);
+
+            return constructor.newInstance(iterable);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create FeedResponse", e);
+        }
+    }
+
+    /**
+     * Create the response of a single resource, as the constructor of {@link ResourceResponse} is not public.
+     */
+    @SuppressWarnings("unchecked")
+    public static ResourceResponse<Document> createResourceResponse(int statusCode, Document document) {
+        final DocumentServiceResponse response = mock(DocumentServiceResponse.class, invocation -> {
+            switch (invocation.getMethod().getName()) {
+                case "getStatusCode":
+                    return statusCode;
+                case "getResource":
+                    return document;
+                default:
+                    return null;
+            }
+        });
+
+        try {
+            final Constructor<ResourceResponse> constructor = ResourceResponse.class.getDeclaredConstructor(
+                    DocumentServiceResponse.class, Class.class);
+
+            constructor.setAccessible(true);
+
+            return constructor.newInstance(response, Document.class);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create ResourceResponse", e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.config;
+
+import com.microsoft.azure.documentdb.AccessCondition;
+import com.microsoft.azure.documentdb.AccessConditionType;
+import com.microsoft.azure.documentdb.ConsistencyLevel;
+import com.microsoft.azure.documentdb.RequestOptions;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestOptionsTemplateUnitTest {
+
+    @Test
+    public void testCreateRequestOptionsCopiesSnapshot() {
+        final RequestOptions options = new RequestOptions();
+        final AccessCondition condition = new AccessCondition();
+
+        condition.setType(AccessConditionType.IfMatch);
+        condition.setCondition("etag");
+        options.setAccessCondition(condition);
+        options.setConsistencyLevel(ConsistencyLevel.Strong);
+        options.setPreTriggerInclude(Collections.singletonList("trigger"));
+        options.setScriptLoggingEnabled(true);
+
+        final RequestOptionsTemplate template = RequestOptionsTemplate.of(options);
+
+        options.setConsistencyLevel(ConsistencyLevel.Eventual);
+
+        final RequestOptions created = template.createRequestOptions();
+
+        assertThat(created.getConsistencyLevel()).isEqualTo(ConsistencyLevel.Strong);
+        assertThat(created.getPreTriggerInclude()).containsExactly("trigger");
+        assertThat(created.isScriptLoggingEnabled()).isTrue();
+        assertThat(created.getAccessCondition()).isNotSameAs(condition);
+        assertThat(created.getAccessCondition().getCondition()).isEqualTo("etag");
+
+        created.setSessionToken("token");
+
+        assertThat(template.createRequestOptions().getSessionToken()).isNull();
+        assertThat(template.withSessionToken("token").getSessionToken()).isEqualTo("token");
+        assertThat(template.getSessionToken()).isNull();
+    }
+
+    @Test
+    public void testConfigTemplateSnapshotWhenBuilt() {
+        final RequestOptions options = new RequestOptions();
+
+        options.setConsistencyLevel(ConsistencyLevel.BoundedStaleness);
+
+        final DocumentDBConfig config = DocumentDBConfig.builder("uri", "key", "db").requestOptions(options).build();
+
+        options.setConsistencyLevel(ConsistencyLevel.Eventual);
+
+        assertThat(config.getRequestOptionsTemplate()).isSameAs(config.getRequestOptionsTemplate());
+        assertThat(config.getRequestOptionsTemplate().getConsistencyLevel())
+                .isEqualTo(ConsistencyLevel.BoundedStaleness);
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.Document;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DocumentCacheUnitTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final DocumentCache cache = new DocumentCache(2, 60, 10, now::get);
+
+    @Test
+    public void testLeastRecentlyUsedEvicted() {
+        cache.putRead("a", new Document("{\"id\":\"a\"}"), 0);
+        cache.putRead("b", new Document("{\"id\":\"b\"}"), 0);
+
+        assertThat(cache.get("a")).isNotNull();
+
+        cache.putRead("c", new Document("{\"id\":\"c\"}"), 0);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isNotNull();
+        assertThat(cache.get("c")).isNotNull();
+    }
+
+    @Test
+    public void testStaleUntilRevalidatedAndExpired() {
+        final DocumentCache.Entry entry = cache.putRead("a", new Document("{\"id\":\"a\",\"_etag\":\"1\"}"), 0);
+
+        assertThat(entry.isStale()).isFalse();
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+        assertThat(cache.get("a").isStale()).isTrue();
+        assertThat(cache.revalidate("a", entry, 0).getETag()).isEqualTo("1");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(50));
+
+        assertThat(cache.get("a").isStale()).isTrue();
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    public void testEvictByPrefix() {
+        cache.putRead("colls/a/docs/1", new Document(), 0);
+        cache.putRead("colls/b/docs/1", new Document(), 0);
+
+        cache.evictAll("colls/a/docs/");
+
+        assertThat(cache.get("colls/a/docs/1")).isNull();
+        assertThat(cache.get("colls/b/docs/1")).isNotNull();
+    }
+
+    @Test
+    public void testReadOverlappingChangeNotCached() {
+        final long stamp = cache.getStamp();
+
+        cache.evict("b");
+
+        assertThat(cache.putRead("a", new Document("{\"id\":\"a\"}"), stamp).getDocument()).isNotNull();
+        assertThat(cache.get("a")).isNull();
+
+        cache.putRead("a", new Document("{\"id\":\"a\"}"), cache.getStamp());
+
+        assertThat(cache.get("a")).isNotNull();
+    }
+
+    @Test
+    public void testWriteOverlappingChangeEvicted() {
+        cache.putRead("a", new Document("{\"id\":\"a\",\"_etag\":\"1\"}"), cache.getStamp());
+
+        final long first = cache.getStamp();
+        final long second = cache.getStamp();
+
+        cache.putWritten("a", new Document("{\"id\":\"a\",\"_etag\":\"3\"}"), second);
+        cache.putWritten("a", new Document("{\"id\":\"a\",\"_etag\":\"2\"}"), first);
+
+        assertThat(cache.get("a")).isNull();
+
+        cache.putWritten("a", new Document("{\"id\":\"a\",\"_etag\":\"4\"}"), cache.getStamp());
+
+        assertThat(cache.get("a").getETag()).isEqualTo("4");
+    }
+
+    @Test
+    public void testDisabledCacheKeepsNothing() {
+        final DocumentCache disabled = DocumentCache.of(0, 60, 10);
+
+        assertThat(disabled.putRead("a", new Document(), 0).getDocument()).isNotNull();
+        assertThat(disabled.get("a")).isNull();
+        assertThat(disabled.isEnabled()).isFalse();
+    }
+}
@@ -3,19 +3,109 @@
  * Licensed under the MIT License. See LICENSE in the project root for
  * license information.
  */
-
 package com.microsoft.azure.spring.data.cosmosdb.core;
 
+import com.microsoft.azure.documentdb.AccessCondition;
+import com.microsoft.azure.documentdb.AccessConditionType;
+import com.microsoft.azure.documentdb.Database;
+import com.microsoft.azure.documentdb.Document;
+import com.microsoft.azure.documentdb.DocumentClient;
+import com.microsoft.azure.documentdb.DocumentClientException;
+import com.microsoft.azure.documentdb.DocumentCollection;
+import com.microsoft.azure.documentdb.FeedOptions;
+import com.microsoft.azure.documentdb.QueryIterable;
+import com.microsoft.azure.documentdb.RequestOptions;
+import com.microsoft.azure.documentdb.ResourceResponse;
+import com.microsoft.azure.documentdb.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
 import com.microsoft.azure.spring.data.cosmosdb.DocumentDbFactory;
 import com.microsoft.azure.spring.data.cosmosdb.common.TestConstants;
+import com.microsoft.azure.spring.data.cosmosdb.common.TestUtils;
 import com.microsoft.azure.spring.data.cosmosdb.config.DocumentDBConfig;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentDbPageRequest;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.domain.PartitionPerson;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import com.microsoft.azure.spring.data.cosmosdb.exception.DocumentDBAccessException;
+import com.microsoft.azure.spring.data.cosmosdb.repository.support.DocumentDbEntityInformation;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.util.CloseableIterator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class DocumentDbTemplateUnitTest {
 
+    private static final String COLLECTION_NAME = "PartitionPerson";
+
+    @Mock
+    private DocumentDbFactory dbFactory;
+
+    @Mock
+    private DocumentClient documentClient;
+
+    @Mock
+    private QueryIterable<Document> queryIterable;
+
+    private DocumentDbTemplate dbTemplate;
+
+    @Before
+    public void setup() {
+        final DocumentDBConfig dbConfig = DocumentDBConfig.builder("uri", "key", TestConstants.DB_NAME)
+                .bulkParallelism(2).bulkImportBatchBytes(240).build();
+
+        when(dbFactory.getDocumentClient()).thenReturn(documentClient);
+        when(dbFactory.getConfig()).thenReturn(dbConfig);
+
+        dbTemplate = new DocumentDbTemplate(dbFactory,
+                new MappingDocumentDbConverter(new DocumentDbMappingContext(), null), TestConstants.DB_NAME);
+    }
+
+    @After
+    public void cleanup() {
+        dbTemplate.destroy();
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void rejectNullDbFactory() {
         final DocumentDBConfig dbConfig = DocumentDBConfig.builder("", "", TestConstants.DB_NAME).build();
@@ -23,4 +113,604 @@ public class DocumentDbTemplateUnitTest {
 
         new DocumentDbTemplate(dbFactory, null, TestConstants.DB_NAME);
     }
+
+    @Test
+    public void testUpsertAllReportsEachEntity() throws DocumentClientException {
+        final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        final List<PartitionPerson> persons = Arrays.asList(createPerson("id-1", "last-1"),
+                createPerson("fail", "last-2"), createPerson("id-3", "last-1"));
+
+        when(documentClient.upsertDocument(anyString(), any(), any(RequestOptions.class), anyBoolean()))
+                .thenAnswer(invocation -> {
+                    threadNames.add(Thread.currentThread().getName());
+
+                    final Document document = invocation.getArgument(1);
+                    final RequestOptions options = invocation.getArgument(2);
+
+                    assertThat(options.getPartitionKey().toString())
+                            .isEqualTo("[\"" + document.getString("lastName") + "\"]");
+
+                    if ("fail".equals(document.getId())) {
+                        throw new DocumentClientException(409);
+                    }
+
+                    return null;
+                });
+
+        final BulkOperationResult<PartitionPerson> result = dbTemplate.upsertAll(COLLECTION_NAME, persons);
+
+        assertThat(result.isSuccessful()).isFalse();
+        assertThat(result.getItems()).extracting(BulkOperationResult.Item::getSource).isEqualTo(persons);
+        assertThat(result.getResults()).containsExactly(persons.get(0), persons.get(2));
+        assertThat(result.getFailures()).hasSize(1);
+        assertThat(result.getFailures().get(0).getException()).isInstanceOf(DocumentDBAccessException.class);
+        assertThat(threadNames).isNotEmpty();
+        assertThat(threadNames.stream().allMatch(n -> n.startsWith("documentdb-bulk-"))).isTrue();
+    }
+
+    @Test
+    public void testAsyncExecutorRejectsAfterDestroy() throws Exception {
+        final CompletableFuture<String> threadName = new CompletableFuture<>();
+
+        dbTemplate.getAsyncExecutor().execute(() -> threadName.complete(Thread.currentThread().getName()));
+
+        assertThat(threadName.get()).startsWith("documentdb-async-");
+
+        dbTemplate.destroy();
+
+        try {
+            dbTemplate.getAsyncExecutor().execute(() -> { });
+            fail("async call should be rejected after destroy");
+        } catch (RejectedExecutionException e) {
+            assertThat(e).hasMessageContaining("destroyed");
+        }
+    }
+
+    @Test
+    public void testUpsertAllSplitsPartitionKeyIntoTasks() throws DocumentClientException {
+        final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        final List<PartitionPerson> persons = Arrays.asList(createPerson("id-1", "last-1"),
+                createPerson("id-2", "last-1"), createPerson("id-3", "last-1"), createPerson("id-4", "last-1"));
+
+        when(documentClient.upsertDocument(anyString(), any(), any(RequestOptions.class), anyBoolean()))
+                .thenAnswer(invocation -> {
+                    threadNames.add(Thread.currentThread().getName());
+                    return null;
+                });
+
+        assertThat(dbTemplate.upsertAll(COLLECTION_NAME, persons).isSuccessful()).isTrue();
+        // One task per thread of the bulk executor, each starting a thread of its own
+        assertThat(threadNames).hasSize(2);
+    }
+
+    @Test(expected = DocumentDBAccessException.class)
+    public void testDeleteAllFailure() throws DocumentClientException {
+        when(documentClient.deleteDocument(anyString(), any(RequestOptions.class)))
+                .thenThrow(new DocumentClientException(404));
+
+        dbTemplate.deleteAll(COLLECTION_NAME, Collections.singletonList(createPerson("id-1", "last-1")))
+                .assertSuccessful();
+    }
+
+    @Test
+    public void testAssertSuccessfulLimitsSuppressed() throws DocumentClientException {
+        final List<PartitionPerson> persons = new ArrayList<>();
+
+        for (int i = 0; i < Constants.BULK_MAX_SUPPRESSED_EXCEPTIONS + 5; i++) {
+            persons.add(createPerson("id-" + i, "last-1"));
+        }
+
+        when(documentClient.deleteDocument(anyString(), any(RequestOptions.class)))
+                .thenThrow(new DocumentClientException(404));
+
+        try {
+            dbTemplate.deleteAll(COLLECTION_NAME, persons).assertSuccessful();
+            fail("assertSuccessful should throw");
+        } catch (DocumentDBAccessException e) {
+            assertThat(e.getSuppressed()).hasSize(Constants.BULK_MAX_SUPPRESSED_EXCEPTIONS);
+        }
+    }
+
+    @Test
+    public void testDeleteAllWithPartitionKey() throws DocumentClientException {
+        final List<PartitionPerson> persons = Arrays.asList(createPerson("id-1", "last-1"),
+                createPerson("id-2", "last-2"));
+
+        final BulkOperationResult<PartitionPerson> result = dbTemplate.deleteAll(COLLECTION_NAME, persons);
+
+        assertThat(result.isSuccessful()).isTrue();
+        verify(documentClient, times(2)).deleteDocument(anyString(), any(RequestOptions.class));
+    }
+
+    @Test
+    public void testImportAllResumesFromAcknowledged() {
+        final InMemoryBulkImportClient importClient = new InMemoryBulkImportClient(1, 1);
+        final List<PartitionPerson> persons = Arrays.asList(createPerson("id-1", "last-1"),
+                createPerson("id-2", "last-1"), createPerson("id-3", "last-1"));
+
+        dbTemplate.setBulkImportClient(importClient);
+
+        final BulkOperationResult<PartitionPerson> result = dbTemplate.importAll(COLLECTION_NAME, persons);
+
+        assertThat(result.isSuccessful()).isTrue();
+        assertThat(result.getResults()).isEqualTo(persons);
+        assertThat(importClient.getDocuments()).containsOnlyKeys("id-1", "id-2", "id-3");
+        // Batches of two documents by size, throttled once and then one document acknowledged per call
+        assertThat(importClient.getCalls()).containsExactly("[\"last-1\"]:id-1+2", "[\"last-1\"]:id-1+2",
+                "[\"last-1\"]:id-2+2", "[\"last-1\"]:id-3+1");
+    }
+
+    @Test
+    public void testImportAllBatchesByEncodedSize() {
+        final InMemoryBulkImportClient importClient = new InMemoryBulkImportClient(10, 0);
+        final String backslashes = String.join("", Collections.nCopies(15, "\\"));
+        final List<PartitionPerson> persons = Arrays.asList(
+                new PartitionPerson("id-1", backslashes, "last-1", null, null),
+                new PartitionPerson("id-2", backslashes, "last-1", null, null));
+
+        dbTemplate.setBulkImportClient(importClient);
+
+        assertThat(dbTemplate.importAll(COLLECTION_NAME, persons).isSuccessful()).isTrue();
+        // The two documents fit in a batch as JSON, but not once escaped again as the string parameter
+        assertThat(importClient.getCalls()).containsExactly("[\"last-1\"]:id-1+1", "[\"last-1\"]:id-2+1");
+    }
+
+    @Test
+    public void testImportAllFailsOnlyFailedBatch() {
+        final InMemoryBulkImportClient importClient = new InMemoryBulkImportClient(10, 0);
+        final List<PartitionPerson> persons = Arrays.asList(createPerson("id-1", "last-1"),
+                createPerson(InMemoryBulkImportClient.FAIL_ID, "last-1"), createPerson("id-3", "last-1"),
+                createPerson("id-4", "last-2"));
+
+        dbTemplate.setBulkImportClient(importClient);
+
+        final BulkOperationResult<PartitionPerson> result = dbTemplate.importAll(COLLECTION_NAME, persons);
+
+        assertThat(result.getResults()).containsExactly(persons.get(2), persons.get(3));
+        assertThat(result.getFailures()).extracting(BulkOperationResult.Item::getSource)
+                .containsExactly(persons.get(0), persons.get(1));
+        assertThat(result.getFailures().get(0).getException()).isInstanceOf(DocumentDBAccessException.class);
+        assertThat(importClient.getDocuments()).containsOnlyKeys("id-3", "id-4");
+    }
+
+    @Test
+    public void testStreamReadsDocumentsAsConsumed() {
+        final AtomicInteger fetched = new AtomicInteger();
+
+        when(queryIterable.iterator()).thenReturn(new Iterator<Document>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Document next() {
+                return new Document(String.format("{\"id\":\"id-%d\",\"lastName\":\"last\"}",
+                        fetched.incrementAndGet()));
+            }
+        });
+        when(documentClient.queryDocuments(anyString(), any(SqlQuerySpec.class), any(FeedOptions.class)))
+                .thenReturn(TestUtils.createFeedResponse(queryIterable));
+
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL));
+
+        try (Stream<PartitionPerson> persons = dbTemplate.stream(query, PartitionPerson.class,
+                PartitionPerson.class, COLLECTION_NAME)) {
+            assertThat(persons.limit(2).map(PartitionPerson::getId).collect(Collectors.toList()))
+                    .containsExactly("id-1", "id-2");
+        }
+
+        assertThat(fetched.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testClosedIteratorHasNoNext() {
+        when(queryIterable.iterator()).thenReturn(Collections.singletonList(new Document("{\"id\":\"id-1\"}"))
+                .iterator());
+        when(documentClient.queryDocuments(anyString(), any(SqlQuerySpec.class), any(FeedOptions.class)))
+                .thenReturn(TestUtils.createFeedResponse(queryIterable));
+
+        final CloseableIterator<PartitionPerson> iterator = dbTemplate.findAsIterator(
+                new DocumentQuery(Criteria.getInstance(CriteriaType.ALL)), PartitionPerson.class,
+                PartitionPerson.class, COLLECTION_NAME);
+
+        iterator.close();
+
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void testDeleteByQueryPerPartitionKeyUntilDone() {
+        final List<String> calls = new ArrayList<>();
+
+        when(queryIterable.iterator()).thenReturn(Arrays.asList(new Document("{\"lastName\":\"last-1\"}"),
+                new Document("{\"lastName\":\"last-1\"}"), new Document("{\"lastName\":\"last-2\"}")).iterator());
+        when(documentClient.queryDocuments(anyString(), any(SqlQuerySpec.class), any(FeedOptions.class)))
+                .thenReturn(TestUtils.createFeedResponse(queryIterable));
+
+        dbTemplate.setBulkDeleteClient((collectionLink, partitionKey, querySpec) -> {
+            calls.add(partitionKey.toString());
+            assertThat(querySpec.getQueryText()).startsWith("SELECT r[\"_self\"] FROM ROOT r");
+
+            // The first call of each partition runs out of time
+            return new BulkDeleteClient.Result(2, calls.size() % 2 == 0);
+        });
+
+        final long deleted = dbTemplate.deleteByQuery(new DocumentQuery(Criteria.getInstance(CriteriaType.ALL)),
+                PartitionPerson.class, COLLECTION_NAME);
+
+        assertThat(deleted).isEqualTo(8);
+        assertThat(calls).containsExactly("[\"last-1\"]", "[\"last-1\"]", "[\"last-2\"]", "[\"last-2\"]");
+    }
+
+    @Test
+    public void testDeleteAllSelectsOnlyKeysOfDocuments() throws DocumentClientException {
+        final ArgumentCaptor<SqlQuerySpec> querySpec = ArgumentCaptor.forClass(SqlQuerySpec.class);
+
+        when(queryIterable.fetchNextBlock()).thenReturn(
+                Arrays.asList(createKeys("id-1", "last-1"), createKeys("id-2", "last-2")),
+                Collections.singletonList(createKeys("id-3", "last-1")), null);
+        when(documentClient.queryDocuments(anyString(), querySpec.capture(), any(FeedOptions.class)))
+                .thenReturn(TestUtils.createFeedResponse(queryIterable));
+
+        final long deleted = dbTemplate.deleteAll(new DocumentQuery(Criteria.getInstance(CriteriaType.ALL)),
+                PartitionPerson.class, COLLECTION_NAME);
+
+        assertThat(deleted).isEqualTo(3);
+        assertThat(querySpec.getValue().getQueryText())
+                .startsWith("SELECT r[\"id\"], r[\"_self\"], r[\"lastName\"] FROM ROOT r");
+        verify(documentClient).deleteDocument(eq("self-id-1"), any(RequestOptions.class));
+        verify(documentClient).deleteDocument(eq("self-id-2"), any(RequestOptions.class));
+        verify(documentClient).deleteDocument(eq("self-id-3"), any(RequestOptions.class));
+    }
+
+    @Test
+    public void testFindByIdsPointReadsDistinctIds() throws DocumentClientException {
+        final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+        when(documentClient.readDocument(anyString(), any(RequestOptions.class))).thenAnswer(invocation -> {
+            threadNames.add(Thread.currentThread().getName());
+            throw new DocumentClientException(404);
+        });
+
+        final List<Person> persons = dbTemplate.findByIds(Arrays.asList("id-1", "id-2", "id-1"), Person.class,
+                "Person");
+
+        assertThat(persons).isEmpty();
+        assertThat(threadNames).isNotEmpty();
+        assertThat(threadNames.stream().allMatch(n -> n.startsWith("documentdb-lookup-"))).isTrue();
+        verify(documentClient).readDocument(endsWith("/docs/id-1"), any(RequestOptions.class));
+        verify(documentClient).readDocument(endsWith("/docs/id-2"), any(RequestOptions.class));
+        verify(documentClient, never()).queryDocuments(anyString(), any(SqlQuerySpec.class), any(FeedOptions.class));
+    }
+
+    @Test
+    public void testFindByIdsReadsSingleIdOnCallingThread() throws DocumentClientException {
+        final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+        when(documentClient.readDocument(anyString(), any(RequestOptions.class))).thenAnswer(invocation -> {
+            threadNames.add(Thread.currentThread().getName());
+            throw new DocumentClientException(404);
+        });
+
+        assertThat(dbTemplate.findByIds(Collections.singletonList("id-1"), Person.class, "Person")).isEmpty();
+        assertThat(threadNames).containsExactly(Thread.currentThread().getName());
+    }
+
+    @Test
+    public void testFindByIdsQueriesInOrderOfIds() {
+        final ArgumentCaptor<SqlQuerySpec> querySpec = ArgumentCaptor.forClass(SqlQuerySpec.class);
+
+        when(queryIterable.iterator()).thenReturn(Arrays.asList(new Document("{\"id\":\"id-3\"}"),
+                new Document("{\"id\":\"id-1\"}")).iterator());
+        when(documentClient.queryDocuments(anyString(), querySpec.capture(), any(FeedOptions.class)))
+                .thenReturn(TestUtils.createFeedResponse(queryIterable));
+
+        final List<PartitionPerson> persons = dbTemplate.findByIds(Arrays.asList("id-1", "id-2", "id-3", "id-1"),
+                PartitionPerson.class, COLLECTION_NAME);
+
+        assertThat(persons).extracting(PartitionPerson::getId).containsExactly("id-1", "id-3");
+        assertThat(querySpec.getValue().getQueryText()).contains("r.id IN (@id_in_0,@id_in_1,@id_in_2)");
+    }
+
+    @Test
+    public void testSliceQueryWithoutCount() {
+        final AtomicInteger fetched = new AtomicInteger();
+
+        when(queryIterable.iterator()).thenReturn(Arrays.asList(createKeys("id-1", "last"),
+                createKeys("id-2", "last"), createKeys("id-3", "last")).stream()
+                .peek(d -> fetched.incrementAndGet()).iterator());
+        when(queryIterable.getResponseHeaders()).thenReturn(Collections.singletonMap("x-ms-continuation", "token"));
+        when(documentClient.queryDocuments(anyString(), any(SqlQuerySpec.class), any(FeedOptions.class)))
+                .thenReturn(TestUtils.createFeedResponse(queryIterable));
+
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL))
+                .with(new DocumentDbPageRequest(0, 2, null));
+        final Slice<PartitionPerson> slice = dbTemplate.sliceQuery(query, PartitionPerson.class,
+                PartitionPerson.class, COLLECTION_NAME);
+
+        assertThat(slice.getContent()).extracting(PartitionPerson::getId).containsExactly("id-1", "id-2");
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(((DocumentDbPageRequest) slice.getPageable()).getRequestContinuation()).isEqualTo("token");
+        assertThat(fetched.get()).isEqualTo(2);
+        verify(documentClient, times(1)).queryDocuments(anyString(), any(SqlQuerySpec.class),
+                any(FeedOptions.class));
+    }
+
+    @Test
+    public void testPaginationQueryReusesCachedTotal() {
+        when(queryIterable.iterator()).thenReturn(Collections.singletonList(createKeys("id-3", "last")).iterator());
+        when(documentClient.queryDocuments(anyString(), any(SqlQuerySpec.class), any(FeedOptions.class)))
+                .thenReturn(TestUtils.createFeedResponse(queryIterable));
+
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL))
+                .with(DocumentDbPageRequest.of(0, 2, "token", Sort.unsorted(), 3L));
+        final Page<PartitionPerson> page = dbTemplate.paginationQuery(query, PartitionPerson.class,
+                COLLECTION_NAME);
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(((DocumentDbPageRequest) page.getPageable()).getTotalElements()).isEqualTo(3);
+        verify(documentClient, times(1)).queryDocuments(anyString(), any(SqlQuerySpec.class),
+                any(FeedOptions.class));
+    }
+
+    @Test
+    public void testProjectionNotWrittenIntoQuery() {
+        final ArgumentCaptor<SqlQuerySpec> querySpec = ArgumentCaptor.forClass(SqlQuerySpec.class);
+
+        when(queryIterable.iterator()).thenReturn(Collections.emptyIterator());
+        when(documentClient.queryDocuments(anyString(), querySpec.capture(), any(FeedOptions.class)))
+                .thenReturn(TestUtils.createFeedResponse(queryIterable));
+
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL));
+
+        dbTemplate.find(query, PartitionPerson.class, LastNameOnly.class, COLLECTION_NAME);
+        dbTemplate.find(query, PartitionPerson.class, COLLECTION_NAME);
+
+        assertThat(query.getProjection()).isEmpty();
+        assertThat(querySpec.getAllValues().get(0).getQueryText()).startsWith("SELECT r[\"lastName\"] FROM ROOT r");
+        assertThat(querySpec.getAllValues().get(1).getQueryText()).startsWith("SELECT * FROM ROOT r");
+    }
+
+    @Test
+    public void testFindLimitedSelectsTopAndStopsReading() {
+        final AtomicInteger fetched = new AtomicInteger();
+        final ArgumentCaptor<SqlQuerySpec> querySpec = ArgumentCaptor.forClass(SqlQuerySpec.class);
+        final ArgumentCaptor<FeedOptions> feedOptions = ArgumentCaptor.forClass(FeedOptions.class);
+
+        when(queryIterable.iterator()).thenReturn(Arrays.asList(createKeys("id-1", "last"),
+                createKeys("id-2", "last"), createKeys("id-3", "last")).stream()
+                .peek(d -> fetched.incrementAndGet()).iterator());
+        when(documentClient.queryDocuments(anyString(), querySpec.capture(), feedOptions.capture()))
+                .thenReturn(TestUtils.createFeedResponse(queryIterable));
+
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL))
+                .with(Sort.by(Sort.Direction.DESC, "lastName")).withLimit(2);
+        final List<PartitionPerson> people = dbTemplate.find(query, PartitionPerson.class, COLLECTION_NAME);
+
+        assertThat(people).extracting(PartitionPerson::getId).containsExactly("id-1", "id-2");
+        assertThat(fetched.get()).isEqualTo(2);
+        assertThat(querySpec.getValue().getQueryText()).startsWith("SELECT TOP 2 ")
+                .endsWith("ORDER BY r.lastName DESC");
+        assertThat(feedOptions.getValue().getPageSize()).isEqualTo(2);
+    }
+
+    @Test
+    public void testExistsSelectsConstantOfFirstMatch() {
+        final ArgumentCaptor<SqlQuerySpec> querySpec = ArgumentCaptor.forClass(SqlQuerySpec.class);
+        final ArgumentCaptor<FeedOptions> feedOptions = ArgumentCaptor.forClass(FeedOptions.class);
+
+        when(queryIterable.iterator()).thenReturn(Collections.singletonList(new Document("{\"_value\":1}"))
+                .iterator());
+        when(documentClient.queryDocuments(anyString(), querySpec.capture(), feedOptions.capture()))
+                .thenReturn(TestUtils.createFeedResponse(queryIterable));
+
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.IS_EQUAL, "lastName",
+                Collections.singletonList("last"))).with(Sort.by("id"));
+
+        assertThat(dbTemplate.exists(query, PartitionPerson.class, COLLECTION_NAME)).isTrue();
+        assertThat(querySpec.getValue().getQueryText()).startsWith("SELECT TOP 1 VALUE 1 FROM r WHERE ")
+                .doesNotContain("ORDER BY");
+        assertThat(feedOptions.getValue().getPageSize()).isEqualTo(1);
+        assertThat(feedOptions.getValue().getEnableCrossPartitionQuery()).isFalse();
+    }
+
+    @Test
+    public void testExistsByIdQueriesIdAcrossPartitions() throws DocumentClientException {
+        final ArgumentCaptor<SqlQuerySpec> querySpec = ArgumentCaptor.forClass(SqlQuerySpec.class);
+
+        when(queryIterable.iterator()).thenReturn(Collections.emptyIterator());
+        when(documentClient.queryDocuments(anyString(), querySpec.capture(), any(FeedOptions.class)))
+                .thenReturn(TestUtils.createFeedResponse(queryIterable));
+
+        assertThat(dbTemplate.existsById(COLLECTION_NAME, "id-1", PartitionPerson.class)).isFalse();
+        assertThat(querySpec.getValue().getQueryText()).startsWith("SELECT TOP 1 VALUE 1 FROM r WHERE r.id");
+        verify(documentClient, never()).readDocument(anyString(), any(RequestOptions.class));
+    }
+
+    @Test
+    public void testExistsByIdReadsDocumentOfUnpartitionedCollection() throws DocumentClientException {
+        when(documentClient.readDocument(anyString(), any(RequestOptions.class)))
+                .thenThrow(new DocumentClientException(404));
+
+        assertThat(dbTemplate.existsById(COLLECTION_NAME, "id-1", Person.class)).isFalse();
+        verify(documentClient, never()).queryDocuments(anyString(), any(SqlQuerySpec.class), any(FeedOptions.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCollectionResolvedOnceUntilDeleted() throws DocumentClientException {
+        final QueryIterable<Database> databases = mock(QueryIterable.class);
+        final QueryIterable<DocumentCollection> collections = mock(QueryIterable.class);
+        final DocumentCollection collection = new DocumentCollection();
+        final DocumentDbEntityInformation<PartitionPerson, String> information =
+                new DocumentDbEntityInformation<>(PartitionPerson.class);
+
+        collection.setId(COLLECTION_NAME);
+
+        when(databases.toList()).thenReturn(Collections.singletonList(new Database()));
+        when(collections.toList()).thenReturn(Collections.singletonList(collection));
+        when(documentClient.queryDatabases(any(SqlQuerySpec.class), any()))
+                .thenReturn(TestUtils.createFeedResponse(databases));
+        when(documentClient.queryCollections(anyString(), any(SqlQuerySpec.class), any()))
+                .thenReturn(TestUtils.createFeedResponse(collections));
+
+        assertThat(dbTemplate.createCollectionIfNotExists(information)).isSameAs(collection);
+        assertThat(dbTemplate.createCollectionIfNotExists(information)).isSameAs(collection);
+        verify(documentClient, times(1)).queryCollections(anyString(), any(SqlQuerySpec.class), any());
+
+        dbTemplate.deleteCollection(COLLECTION_NAME);
+
+        assertThat(dbTemplate.createCollectionIfNotExists(information)).isSameAs(collection);
+        verify(documentClient, times(2)).queryCollections(anyString(), any(SqlQuerySpec.class), any());
+        verify(documentClient, times(1)).queryDatabases(any(SqlQuerySpec.class), any());
+        verify(documentClient).deleteCollection(eq("dbs/" + TestConstants.DB_NAME + "/colls/" + COLLECTION_NAME),
+                any());
+    }
+
+    @Test
+    public void testStaleCollectionResolvedAgainByNextOperation() {
+        final QueryIterable<Database> databases = mock(QueryIterable.class);
+        final QueryIterable<DocumentCollection> collections = mock(QueryIterable.class);
+        final DocumentCollection collection = new DocumentCollection();
+        final DocumentDbEntityInformation<PartitionPerson, String> information =
+                new DocumentDbEntityInformation<>(PartitionPerson.class);
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL));
+
+        collection.setId(COLLECTION_NAME);
+
+        when(databases.toList()).thenReturn(Collections.singletonList(new Database()));
+        when(collections.toList()).thenReturn(Collections.singletonList(collection));
+        when(documentClient.queryDatabases(any(SqlQuerySpec.class), any()))
+                .thenReturn(TestUtils.createFeedResponse(databases));
+        when(documentClient.queryCollections(anyString(), any(SqlQuerySpec.class), any()))
+                .thenReturn(TestUtils.createFeedResponse(collections));
+        when(queryIterable.iterator())
+                .thenThrow(new IllegalStateException(new DocumentClientException(410)))
+                .thenReturn(Collections.emptyIterator());
+        when(documentClient.queryDocuments(anyString(), any(SqlQuerySpec.class), any(FeedOptions.class)))
+                .thenReturn(TestUtils.createFeedResponse(queryIterable));
+
+        dbTemplate.createCollectionIfNotExists(information);
+
+        try {
+            dbTemplate.exists(query, PartitionPerson.class, COLLECTION_NAME);
+            fail("Expected exception of gone collection");
+        } catch (DocumentDBAccessException e) {
+            verify(documentClient, times(1)).queryCollections(anyString(), any(SqlQuerySpec.class), any());
+        }
+
+        assertThat(dbTemplate.exists(query, PartitionPerson.class, COLLECTION_NAME)).isFalse();
+        verify(documentClient, times(2)).queryCollections(anyString(), any(SqlQuerySpec.class), any());
+
+        assertThat(dbTemplate.exists(query, PartitionPerson.class, COLLECTION_NAME)).isFalse();
+        verify(documentClient, times(2)).queryCollections(anyString(), any(SqlQuerySpec.class), any());
+    }
+
+    @Test
+    public void testFindByIdCachedUntilDeleted() throws DocumentClientException {
+        final Document document = new Document("{\"id\":\"id-1\",\"name\":\"cached\",\"_etag\":\"etag-1\"}");
+        final ResourceResponse<Document> response = TestUtils.createResourceResponse(200, document);
+
+        when(documentClient.readDocument(anyString(), any(RequestOptions.class)))
+                .thenReturn(response)
+                .thenThrow(new DocumentClientException(404));
+
+        assertThat(dbTemplate.findById("id-1", CachedPerson.class).getName()).isEqualTo("cached");
+        assertThat(dbTemplate.findById("id-1", CachedPerson.class).getName()).isEqualTo("cached");
+        verify(documentClient, times(1)).readDocument(anyString(), any(RequestOptions.class));
+
+        dbTemplate.deleteById("CachedPerson", "id-1", null);
+
+        assertThat(dbTemplate.findById("id-1", CachedPerson.class)).isNull();
+        verify(documentClient, times(2)).readDocument(anyString(), any(RequestOptions.class));
+    }
+
+    @Test
+    public void testFindByIdCachedUntilDeletedByQuery() throws DocumentClientException {
+        final Document document = new Document(
+                "{\"id\":\"id-1\",\"name\":\"cached\",\"_etag\":\"etag-1\",\"_self\":\"self-id-1\"}");
+        final ResourceResponse<Document> response = TestUtils.createResourceResponse(200, document);
+
+        when(documentClient.readDocument(anyString(), any(RequestOptions.class)))
+                .thenReturn(response)
+                .thenThrow(new DocumentClientException(404));
+        when(queryIterable.iterator()).thenReturn(Collections.singletonList(document).iterator());
+        when(documentClient.queryDocuments(anyString(), any(SqlQuerySpec.class), any(FeedOptions.class)))
+                .thenReturn(TestUtils.createFeedResponse(queryIterable));
+
+        assertThat(dbTemplate.findById("id-1", CachedPerson.class).getName()).isEqualTo("cached");
+
+        dbTemplate.delete(new DocumentQuery(Criteria.getInstance(CriteriaType.ALL)), CachedPerson.class,
+                "CachedPerson");
+
+        assertThat(dbTemplate.findById("id-1", CachedPerson.class)).isNull();
+        verify(documentClient).deleteDocument(eq("self-id-1"), any(RequestOptions.class));
+        verify(documentClient, times(2)).readDocument(anyString(), any(RequestOptions.class));
+    }
+
+    @Test
+    public void testFindByIdRevalidatesStaleDocumentByETag() throws DocumentClientException {
+        final Document document = new Document("{\"id\":\"id-1\",\"name\":\"cached\",\"_etag\":\"etag-1\"}");
+        final ResourceResponse<Document> response = TestUtils.createResourceResponse(200, document);
+        final ResourceResponse<Document> notModified = TestUtils.createResourceResponse(304, null);
+        final ArgumentCaptor<RequestOptions> options = ArgumentCaptor.forClass(RequestOptions.class);
+
+        when(documentClient.readDocument(anyString(), options.capture())).thenReturn(response, notModified);
+
+        assertThat(dbTemplate.findById("id-1", RevalidatedPerson.class).getName()).isEqualTo("cached");
+        assertThat(dbTemplate.findById("id-1", RevalidatedPerson.class).getName()).isEqualTo("cached");
+
+        final AccessCondition condition = options.getAllValues().get(1).getAccessCondition();
+
+        assertThat(options.getAllValues().get(0).getAccessCondition()).isNull();
+        assertThat(condition.getType()).isEqualTo(AccessConditionType.IfNoneMatch);
+        assertThat(condition.getCondition()).isEqualTo("etag-1");
+    }
+
+    @Test
+    public void testInsertSkipsReadBackOfEntity() throws DocumentClientException {
+        final ResourceResponse<Document> response = TestUtils.createResourceResponse(201,
+                new Document("{\"id\":\"generated\",\"name\":\"written\",\"_etag\":\"etag-1\"}"));
+        final CachedPerson person = new CachedPerson(null, "written");
+
+        when(documentClient.createDocument(anyString(), any(Document.class), any(RequestOptions.class), anyBoolean()))
+                .thenReturn(response);
+
+        assertThat(dbTemplate.insert("CachedPerson", person, null)).isSameAs(person);
+        assertThat(person.getId()).isEqualTo("generated");
+        assertThat(dbTemplate.findById("generated", CachedPerson.class).getName()).isEqualTo("written");
+        verify(documentClient, never()).readDocument(anyString(), any(RequestOptions.class));
+    }
+
+    private Document createKeys(String id, String lastName) {
+        return new Document(String.format("{\"id\":\"%s\",\"_self\":\"self-%s\",\"lastName\":\"%s\"}", id, id,
+                lastName));
+    }
+
+    private PartitionPerson createPerson(String id, String lastName) {
+        return new PartitionPerson(id, "first", lastName, null, null);
+    }
+
+    public interface LastNameOnly {
+        String getLastName();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document(cacheSize = 10, skipInsertReadBack = true)
+    public static class CachedPerson {
+        private String id;
+        private String name;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document(cacheSize = 10, cacheRevalidateAfter = 0)
+    public static class RevalidatedPerson {
+        private String id;
+        private String name;
+    }
 }
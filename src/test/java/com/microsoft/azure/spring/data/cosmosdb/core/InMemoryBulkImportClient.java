@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.Document;
+import com.microsoft.azure.documentdb.DocumentClientException;
+import com.microsoft.azure.documentdb.PartitionKey;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stands in for the bulk import stored procedure, importing at most given count of documents per call, throttling
+ * given count of calls first, and failing a call with a document of id "fail" as a whole.
+ */
+class InMemoryBulkImportClient implements BulkImportClient {
+
+    static final String FAIL_ID = "fail";
+
+    private final int maxImportedPerCall;
+    private final AtomicInteger throttledCalls;
+    private final Map<String, Document> documents = new ConcurrentHashMap<>();
+    private final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+
+    InMemoryBulkImportClient(int maxImportedPerCall, int throttledCalls) {
+        this.maxImportedPerCall = maxImportedPerCall;
+        this.throttledCalls = new AtomicInteger(throttledCalls);
+    }
+
+    @Override
+    public int importDocuments(String collectionLink, PartitionKey partitionKey, List<String> documents)
+            throws DocumentClientException {
+        final List<Document> batch = new ArrayList<>(documents.size());
+        documents.forEach(d -> batch.add(new Document(d)));
+
+        calls.add(partitionKey + ":" + batch.get(0).getId() + "+" + batch.size());
+
+        if (throttledCalls.getAndDecrement() > 0) {
+            throw new DocumentClientException(429);
+        } else if (batch.stream().anyMatch(d -> FAIL_ID.equals(d.getId()))) {
+            throw new DocumentClientException(400);
+        }
+
+        final int imported = Math.min(maxImportedPerCall, batch.size());
+        batch.stream().limit(imported).forEach(d -> this.documents.put(d.getId(), d));
+
+        return imported;
+    }
+
+    Map<String, Document> getDocuments() {
+        return documents;
+    }
+
+    /**
+     * @return calls in form of "{partitionKey}:{first id}+{count}".
+     */
+    List<String> getCalls() {
+        return calls;
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.Document;
+import com.microsoft.azure.documentdb.DocumentClient;
+import com.microsoft.azure.documentdb.DocumentClientException;
+import com.microsoft.azure.documentdb.FeedOptions;
+import com.microsoft.azure.documentdb.QueryIterable;
+import com.microsoft.azure.documentdb.RequestOptions;
+import com.microsoft.azure.documentdb.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.DocumentDbFactory;
+import com.microsoft.azure.spring.data.cosmosdb.common.TestConstants;
+import com.microsoft.azure.spring.data.cosmosdb.common.TestUtils;
+import com.microsoft.azure.spring.data.cosmosdb.config.DocumentDBConfig;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReactiveDocumentDbTemplateUnitTest {
+
+    private static final String COLLECTION_NAME = "Person";
+    private static final int DOCUMENT_COUNT = 5;
+
+    @Mock
+    private DocumentDbFactory dbFactory;
+
+    @Mock
+    private DocumentClient documentClient;
+
+    @Mock
+    private QueryIterable<Document> queryIterable;
+
+    private ReactiveDocumentDbTemplate reactiveTemplate;
+
+    @Before
+    public void setup() {
+        final DocumentDBConfig dbConfig = DocumentDBConfig.builder("uri", "key", TestConstants.DB_NAME).build();
+
+        when(dbFactory.getDocumentClient()).thenReturn(documentClient);
+        when(dbFactory.getConfig()).thenReturn(dbConfig);
+
+        reactiveTemplate = new ReactiveDocumentDbTemplate(dbFactory,
+                new MappingDocumentDbConverter(new DocumentDbMappingContext(), null), TestConstants.DB_NAME);
+    }
+
+    @After
+    public void cleanup() {
+        reactiveTemplate.destroy();
+    }
+
+    @Test
+    public void testFindFetchesAsRequested() {
+        final AtomicInteger fetched = new AtomicInteger();
+        final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+        when(queryIterable.iterator()).thenReturn(new Iterator<Document>() {
+            @Override
+            public boolean hasNext() {
+                return fetched.get() < DOCUMENT_COUNT;
+            }
+
+            @Override
+            public Document next() {
+                threadNames.add(Thread.currentThread().getName());
+
+                return new Document(String.format("{\"id\":\"id-%d\",\"firstName\":\"first\"}",
+                        fetched.incrementAndGet()));
+            }
+        });
+        when(documentClient.queryDocuments(anyString(), any(SqlQuerySpec.class), any(FeedOptions.class)))
+                .thenReturn(TestUtils.createFeedResponse(queryIterable));
+
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL));
+        final Person first = reactiveTemplate.find(query, Person.class, COLLECTION_NAME).blockFirst();
+
+        assertThat(first.getId()).isEqualTo("id-1");
+        assertThat(fetched.get()).isEqualTo(1);
+        assertThat(threadNames.stream().allMatch(n -> n.startsWith("documentdb-reactive"))).isTrue();
+    }
+
+    @Test
+    public void testFindByIdEmptyIfNotFound() throws DocumentClientException {
+        when(documentClient.readDocument(anyString(), any(RequestOptions.class)))
+                .thenThrow(new DocumentClientException(404));
+
+        final Optional<Person> person = reactiveTemplate.findById(COLLECTION_NAME, "id", Person.class).blockOptional();
+
+        assertThat(person.isPresent()).isFalse();
+    }
+
+    @Test
+    public void testFindByIdsOfIterable() throws DocumentClientException {
+        final Iterable<String> ids = () -> Arrays.asList("id-1", "id-2").iterator();
+
+        when(documentClient.readDocument(anyString(), any(RequestOptions.class)))
+                .thenThrow(new DocumentClientException(404));
+
+        assertThat(reactiveTemplate.findByIds(ids, Person.class, COLLECTION_NAME).collectList().block()).isEmpty();
+        verify(documentClient).readDocument(endsWith("/docs/id-1"), any(RequestOptions.class));
+        verify(documentClient).readDocument(endsWith("/docs/id-2"), any(RequestOptions.class));
+    }
+
+    @Test
+    public void testNothingExecutedUntilSubscribed() {
+        reactiveTemplate.deleteById(COLLECTION_NAME, "id", null);
+        reactiveTemplate.find(new DocumentQuery(Criteria.getInstance(CriteriaType.ALL)), Person.class,
+                COLLECTION_NAME);
+
+        verifyZeroInteractions(documentClient);
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.convert;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.microsoft.azure.documentdb.Document;
+import com.microsoft.azure.documentdb.SqlParameter;
+import com.microsoft.azure.documentdb.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.core.generator.FindQuerySpecGenerator;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Importance;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.After;
+import org.junit.Test;
+
+import java.sql.Timestamp;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DocumentDbValueConvertersUnitTest {
+    private static final ZonedDateTime SHIPPED = ZonedDateTime.of(2018, 7, 5, 10, 20, 30, 123000000, ZoneId.of("Z"));
+    private static final String SHIPPED_STRING = "2018-07-05T10:20:30:123Z";
+
+    private final DocumentDbValueConverters valueConverters = new DocumentDbValueConverters();
+
+    @After
+    public void cleanup() {
+        DocumentDbValueConverters.getInstance().unregister(Currency.class);
+    }
+
+    @Test
+    public void testDefaultConverters() {
+        assertThat(valueConverters.convert(null)).isNull();
+        assertThat(valueConverters.convert("text")).isEqualTo("text");
+        assertThat(valueConverters.convert(new Timestamp(1530785430123L))).isEqualTo(1530785430123L);
+        assertThat(valueConverters.convert(SHIPPED)).isEqualTo(SHIPPED_STRING);
+        assertThat(valueConverters.convert(Importance.HIGH)).isEqualTo("HIGH");
+        assertThat(valueConverters.hasConverter(Integer.class)).isFalse();
+    }
+
+    @Test
+    public void testRegisteredConverterAppliesToSubtypes() {
+        valueConverters.register(CharSequence.class, CharSequence::length);
+
+        assertThat(valueConverters.convert(new StringBuilder("four"))).isEqualTo(4);
+
+        valueConverters.register(StringBuilder.class, StringBuilder::toString);
+
+        assertThat(valueConverters.convert(new StringBuilder("four"))).isEqualTo("four");
+
+        valueConverters.unregister(CharSequence.class);
+
+        assertThat(valueConverters.convert("four")).isEqualTo("four");
+    }
+
+    @Test
+    public void testQueryParameterConvertedOnce() {
+        final AtomicInteger count = new AtomicInteger();
+        DocumentDbValueConverters.getInstance().register(Currency.class, c -> {
+            count.incrementAndGet();
+            return c.getCurrencyCode();
+        });
+
+        final Criteria criteria = Criteria.getInstance(CriteriaType.IS_EQUAL, "currency",
+                Collections.singletonList(Currency.getInstance("EUR")));
+        final SqlQuerySpec querySpec = new FindQuerySpecGenerator().generate(new DocumentQuery(criteria));
+        final SqlParameter parameter = querySpec.getParameters().iterator().next();
+
+        assertThat(parameter.getValue(String.class)).isEqualTo("EUR");
+        assertThat(count.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testInQueryValuesConverted() {
+        final Criteria criteria = Criteria.getInstance(CriteriaType.IN, "importance",
+                Collections.singletonList(Arrays.asList(Importance.HIGH, Importance.LOW)));
+        final SqlQuerySpec querySpec = new FindQuerySpecGenerator().generate(new DocumentQuery(criteria));
+
+        assertThat(querySpec.getQueryText()).contains("r.importance IN (@importance_in_0,@importance_in_1)");
+        assertThat(querySpec.getParameters()).extracting(p -> p.getValue(String.class)).containsExactly("HIGH", "LOW");
+    }
+
+    @Test
+    public void testEntityWrittenWithConverters() {
+        DocumentDbValueConverters.getInstance().register(Currency.class, Currency::getCurrencyCode);
+
+        final MappingDocumentDbConverter converter = new MappingDocumentDbConverter(new DocumentDbMappingContext(),
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+        final Payment payment = new Payment("id", Currency.getInstance("EUR"), SHIPPED);
+
+        final Document document = converter.writeDoc(payment);
+
+        assertThat(document.getString("currency")).isEqualTo("EUR");
+        assertThat(document.getString("paid")).isEqualTo(SHIPPED_STRING);
+        assertThat(converter.read(Payment.class, document).getPaid()).isEqualTo(SHIPPED);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Payment {
+        private String id;
+        private Currency currency;
+        private ZonedDateTime paid;
+    }
+}
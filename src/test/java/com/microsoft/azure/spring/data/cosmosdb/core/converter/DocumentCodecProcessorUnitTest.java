@@ -0,0 +1,239 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.converter;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.microsoft.azure.documentdb.Document;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.DocumentCodec;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.DocumentCodecProcessor;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.DocumentDbValueConverters;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Importance;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.data.annotation.Id;
+import org.springframework.lang.NonNull;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static com.microsoft.azure.spring.data.cosmosdb.Constants.ISO_8601_COMPATIBLE_DATE_PATTERN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeNotNull;
+
+public class DocumentCodecProcessorUnitTest {
+    private static final String PACKAGE = "com.microsoft.azure.spring.data.cosmosdb.core.converter.sample";
+    private static final String SHIPPED = "2018-07-05T10:20:30:123Z";
+
+    private static final String ORDER_SOURCE = "package " + PACKAGE + ";\n"
+            + "import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document;\n"
+            + "import com.microsoft.azure.spring.data.cosmosdb.core.mapping.PartitionKey;\n"
+            + "import com.microsoft.azure.spring.data.cosmosdb.domain.Address;\n"
+            + "import com.microsoft.azure.spring.data.cosmosdb.domain.Importance;\n"
+            + "import org.springframework.data.annotation.Id;\n"
+            + "import java.time.ZonedDateTime;\n"
+            + "import java.util.Date;\n"
+            + "import java.util.List;\n"
+            + "@Document\n"
+            + "public class Order {\n"
+            + "    @Id\n"
+            + "    private String orderId;\n"
+            + "    private int quantity;\n"
+            + "    private Long total;\n"
+            + "    private double price;\n"
+            + "    private boolean paid;\n"
+            + "    private Importance importance;\n"
+            + "    private Rating rating;\n"
+            + "    private Date created;\n"
+            + "    private ZonedDateTime shipped;\n"
+            + "    private List<String> tags;\n"
+            + "    private Address address;\n"
+            + "    @PartitionKey\n"
+            + "    private String customer;\n"
+            + "    private String note;\n"
+            + "    public String getOrderId() { return orderId; }\n"
+            + "    public void setOrderId(String orderId) { this.orderId = orderId; }\n"
+            + "    public int getQuantity() { return quantity; }\n"
+            + "    public void setQuantity(int quantity) { this.quantity = quantity; }\n"
+            + "    public Long getTotal() { return total; }\n"
+            + "    public void setTotal(Long total) { this.total = total; }\n"
+            + "    public double getPrice() { return price; }\n"
+            + "    public void setPrice(double price) { this.price = price; }\n"
+            + "    public boolean isPaid() { return paid; }\n"
+            + "    public void setPaid(boolean paid) { this.paid = paid; }\n"
+            + "    public Importance getImportance() { return importance; }\n"
+            + "    public void setImportance(Importance importance) { this.importance = importance; }\n"
+            + "    public Rating getRating() { return rating; }\n"
+            + "    public void setRating(Rating rating) { this.rating = rating; }\n"
+            + "    public Date getCreated() { return created; }\n"
+            + "    public void setCreated(Date created) { this.created = created; }\n"
+            + "    public ZonedDateTime getShipped() { return shipped; }\n"
+            + "    public void setShipped(ZonedDateTime shipped) { this.shipped = shipped; }\n"
+            + "    public List<String> getTags() { return tags; }\n"
+            + "    public void setTags(List<String> tags) { this.tags = tags; }\n"
+            + "    public Address getAddress() { return address; }\n"
+            + "    public void setAddress(Address address) { this.address = address; }\n"
+            + "    public String getCustomer() { return customer; }\n"
+            + "    public void setCustomer(String customer) { this.customer = customer; }\n"
+            + "    public String getNote() { return note; }\n"
+            + "    public void setNote(String note) { this.note = note; }\n"
+            + "}\n";
+
+    private static final String RATING_SOURCE = "package " + PACKAGE + ";\n"
+            + "import com.fasterxml.jackson.annotation.JsonValue;\n"
+            + "public enum Rating {\n"
+            + "    GOOD(\"good\"), BAD(\"bad\");\n"
+            + "    private final String code;\n"
+            + "    Rating(String code) { this.code = code; }\n"
+            + "    @JsonValue\n"
+            + "    public String getCode() { return code; }\n"
+            + "}\n";
+
+    private static final String INVOICE_SOURCE = "package " + PACKAGE + ";\n"
+            + "import com.fasterxml.jackson.annotation.JsonIgnore;\n"
+            + "import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document;\n"
+            + "@Document\n"
+            + "public class Invoice {\n"
+            + "    private String id;\n"
+            + "    public String getId() { return id; }\n"
+            + "    public void setId(String id) { this.id = id; }\n"
+            + "    @JsonIgnore\n"
+            + "    public String getSecret() { return \"secret\"; }\n"
+            + "}\n";
+
+    private static final String ORDER_DOCUMENT = "{\"id\":\"order-1\",\"orderId\":\"ignored\",\"quantity\":3,"
+            + "\"total\":12345678901,\"price\":9.5,\"paid\":true,\"importance\":\"HIGH\","
+            + "\"rating\":\"good\",\"created\":1530785430123,"
+            + "\"shipped\":\"" + SHIPPED + "\",\"tags\":[\"a\",\"b\"],"
+            + "\"address\":{\"postalCode\":\"98052\",\"street\":\"One Microsoft Way\",\"city\":\"Redmond\"},"
+            + "\"customer\":\"contoso\",\"note\":null,\"_etag\":\"etag\"}";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private ClassLoader classLoader;
+
+    @Before
+    public void setup() throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assumeNotNull(compiler);
+
+        final File sources = folder.newFolder("src");
+        final File classes = folder.newFolder("classes");
+        final Path packageDir = Files.createDirectories(sources.toPath().resolve(PACKAGE.replace('.', '/')));
+        final Path order = Files.write(packageDir.resolve("Order.java"),
+                ORDER_SOURCE.getBytes(StandardCharsets.UTF_8));
+        final Path invoice = Files.write(packageDir.resolve("Invoice.java"),
+                INVOICE_SOURCE.getBytes(StandardCharsets.UTF_8));
+        final Path rating = Files.write(packageDir.resolve("Rating.java"),
+                RATING_SOURCE.getBytes(StandardCharsets.UTF_8));
+
+        final String classpath = Arrays.stream(new Class<?>[]{DocumentCodecProcessor.class, Importance.class,
+                Document.class, JSONObject.class, ObjectMapper.class, TypeReference.class, JsonIgnore.class,
+                Id.class, NonNull.class})
+                .map(c -> new File(c.getProtectionDomain().getCodeSource().getLocation().getPath()).getPath())
+                .distinct().collect(Collectors.joining(File.pathSeparator));
+        final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+
+        final int result = compiler.run(null, null, errors, "-d", classes.getPath(), "-classpath", classpath,
+                "-processor", DocumentCodecProcessor.class.getName(), order.toString(), invoice.toString(),
+                rating.toString());
+
+        assertThat(result).as(new String(errors.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(0);
+
+        classLoader = new URLClassLoader(new URL[]{classes.toURI().toURL()}, getClass().getClassLoader());
+    }
+
+    @Test
+    public void testCodecGeneratedOnlyForPlainBean() throws Exception {
+        assertThat(classLoader.loadClass(PACKAGE + ".Order" + DocumentCodec.CLASS_NAME_SUFFIX)).isNotNull();
+        assertThat(classLoader.getResource(PACKAGE.replace('.', '/') + "/Invoice"
+                + DocumentCodec.CLASS_NAME_SUFFIX + ".class")).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCodecMatchesJacksonBinding() throws Exception {
+        final Class<Object> orderClass = (Class<Object>) classLoader.loadClass(PACKAGE + ".Order");
+        final DocumentCodec<Object> codec = (DocumentCodec<Object>) classLoader
+                .loadClass(PACKAGE + ".Order" + DocumentCodec.CLASS_NAME_SUFFIX)
+                .getConstructor(ObjectMapper.class).newInstance(objectMapper);
+
+        final Object order = codec.read(new Document(ORDER_DOCUMENT));
+        final Document document = codec.write(order);
+
+        final JSONObject expected = new JSONObject(objectMapper.writeValueAsString(order));
+        expected.put("shipped", SHIPPED); // Written as formatted String, the same as toDocumentDBValue
+
+        assertThat(document.getHashMap()).isEqualTo(new Document(expected.toString()).getHashMap());
+        assertThat(document.getString("orderId")).isEqualTo("order-1");
+        assertThat(document.getLong("total")).isEqualTo(12345678901L);
+        assertThat(document.has("_etag")).isFalse();
+        assertThat(orderClass.getMethod("getShipped").invoke(order))
+                .isEqualTo(ZonedDateTime.parse(SHIPPED, DateTimeFormatter.ofPattern(ISO_8601_COMPATIBLE_DATE_PATTERN)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testConverterUsesGeneratedCodec() throws Exception {
+        final Class<Object> orderClass = (Class<Object>) classLoader.loadClass(PACKAGE + ".Order");
+        final MappingDocumentDbConverter converter =
+                new MappingDocumentDbConverter(new DocumentDbMappingContext(), objectMapper);
+
+        final Object order = converter.read(orderClass, new Document(ORDER_DOCUMENT));
+        final Document document = converter.writeDoc(order);
+
+        assertThat(orderClass.getMethod("getOrderId").invoke(order)).isEqualTo("order-1");
+        assertThat(document.getId()).isEqualTo("order-1");
+        assertThat(document.getString("shipped")).isEqualTo(SHIPPED);
+        assertThat(document.getString("rating")).isEqualTo("good");
+    }
+
+    @Test
+    public void testCodecWritesRegisteredConverterValue() throws Exception {
+        final MappingDocumentDbConverter converter =
+                new MappingDocumentDbConverter(new DocumentDbMappingContext(), objectMapper);
+        final Object order = converter.read(classLoader.loadClass(PACKAGE + ".Order"), new Document(ORDER_DOCUMENT));
+
+        DocumentDbValueConverters.getInstance().register(Importance.class, i -> i.name().toLowerCase());
+
+        try {
+            assertThat(converter.writeDoc(order).getString("importance")).isEqualTo("high");
+        } finally {
+            DocumentDbValueConverters.getInstance().unregister(Importance.class);
+        }
+    }
+
+    @Test
+    public void testConverterSkipsCodecForConfiguredObjectMapper() throws Exception {
+        final MappingDocumentDbConverter converter = new MappingDocumentDbConverter(new DocumentDbMappingContext(),
+                objectMapper.copy().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+        final Object order = converter.read(classLoader.loadClass(PACKAGE + ".Order"), new Document(ORDER_DOCUMENT));
+
+        assertThat(converter.writeDoc(order).get("created")).isInstanceOf(String.class);
+    }
+}
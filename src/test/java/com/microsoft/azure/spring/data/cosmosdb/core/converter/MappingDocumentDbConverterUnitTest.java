@@ -5,23 +5,37 @@
  */
 package com.microsoft.azure.spring.data.cosmosdb.core.converter;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.azure.documentdb.Document;
 import com.microsoft.azure.spring.data.cosmosdb.common.TestConstants;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.DocumentDbValueConverters;
 import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.LazyRead;
 import com.microsoft.azure.spring.data.cosmosdb.domain.Address;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Contact;
 import com.microsoft.azure.spring.data.cosmosdb.domain.Memo;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
 import com.microsoft.azure.spring.data.cosmosdb.domain.Importance;
+import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.IOException;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.ZonedDateTime;
 import java.util.Date;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -75,6 +89,101 @@ public class MappingDocumentDbConverterUnitTest {
         assertThat(address.getStreet()).isEqualTo(TestConstants.STREET);
     }
 
+    @Test
+    public void convertDocumentWithNestedValuesToPersonCorrectly() {
+        final Person person = new Person(TestConstants.ID_1, TestConstants.FIRST_NAME, null,
+                TestConstants.HOBBIES, TestConstants.ADDRESSES);
+        final Document document = dbConverter.writeDoc(person);
+
+        assertThat(document.has(TestConstants.PROPERTY_LAST_NAME)).isTrue();
+
+        final Person result = dbConverter.read(Person.class, document);
+
+        assertThat(result).isEqualTo(person);
+    }
+
+    @Test
+    public void readLazilyDeserializesPropertyOnFirstAccess() {
+        final Person person = new Person(TestConstants.ID_1, TestConstants.FIRST_NAME, TestConstants.LAST_NAME,
+                TestConstants.HOBBIES, TestConstants.ADDRESSES);
+        final Document document = dbConverter.writeDoc(person);
+
+        final Person result = dbConverter.readLazily(Person.class, document);
+
+        assertThat(result.getClass()).isNotEqualTo(Person.class);
+        assertThat(ReflectionTestUtils.getField(result, "id")).isEqualTo(TestConstants.ID_1);
+        assertThat(ReflectionTestUtils.getField(result, "hobbies")).isNull();
+
+        assertThat(result.getHobbies()).isEqualTo(TestConstants.HOBBIES);
+        assertThat(ReflectionTestUtils.getField(result, "hobbies")).isEqualTo(TestConstants.HOBBIES);
+        assertThat(result).isEqualTo(person);
+        assertThat(dbConverter.writeDoc(result).getHashMap()).isEqualTo(document.getHashMap());
+    }
+
+    @Test
+    public void readLazilyKeepsValueSetBeforeFirstAccess() {
+        final Person person = new Person(TestConstants.ID_1, TestConstants.FIRST_NAME, TestConstants.LAST_NAME,
+                TestConstants.HOBBIES, TestConstants.ADDRESSES);
+        final Person result = dbConverter.readLazily(Person.class, dbConverter.writeDoc(person));
+
+        result.setFirstName(TestConstants.NEW_FIRST_NAME);
+
+        assertThat(result.getFirstName()).isEqualTo(TestConstants.NEW_FIRST_NAME);
+        assertThat(result.getLastName()).isEqualTo(TestConstants.LAST_NAME);
+    }
+
+    @Test
+    public void readEntityAnnotatedWithLazyReadLazily() {
+        final Document document = new Document();
+
+        document.setId(TestConstants.ID_1);
+        document.set(TestConstants.PROPERTY_MESSAGE, TestConstants.MESSAGE);
+
+        final LazyNote note = dbConverter.read(LazyNote.class, document);
+
+        assertThat(note.getClass()).isNotEqualTo(LazyNote.class);
+        assertThat(note.getMessage()).isEqualTo(TestConstants.MESSAGE);
+        assertThat(dbConverter.writeDoc(note).getHashMap()).isEqualTo(document.getHashMap());
+    }
+
+    @Test
+    public void convertDocumentPrefersDocumentIdOverDomainIdField() {
+        final Document document = new Document();
+
+        document.setId(TestConstants.POSTAL_CODE);
+        document.set("postalCode", "stale-postal-code");
+        document.set(TestConstants.PROPERTY_CITY, TestConstants.CITY);
+
+        final Address address = dbConverter.read(Address.class, document);
+
+        assertThat(address.getPostalCode()).isEqualTo(TestConstants.POSTAL_CODE);
+        assertThat(address.getCity()).isEqualTo(TestConstants.CITY);
+    }
+
+    @Test
+    public void readIgnoresUnknownPropertiesWithoutChangingObjectMapper() {
+        final Document document = new Document();
+
+        document.setId(TestConstants.POSTAL_CODE);
+        document.set(TestConstants.PROPERTY_CITY, TestConstants.CITY);
+        document.set("unknownProperty", "unknown-value");
+
+        dbConverter.afterPropertiesSet();
+
+        final Address address = dbConverter.read(Address.class, document);
+
+        assertThat(address.getCity()).isEqualTo(TestConstants.CITY);
+        assertThat(objectMapper.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)).isTrue();
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void givenObjectMapperNotChanged() throws IOException {
+        final String date = ZonedDateTime.now().format(DocumentDbValueConverters.ZONED_DATE_TIME_FORMATTER);
+
+        // The deserializer of ZonedDateTime is registered on the converter's own copy only
+        objectMapper.readValue("\"" + date + "\"", ZonedDateTime.class);
+    }
+
     @Test
     public void canWritePojoWithDateToDocument() throws ParseException {
         final Memo memo = new Memo(TestConstants.ID_1, TestConstants.MESSAGE, DATE.parse(TestConstants.DATE_STRING),
@@ -86,6 +195,18 @@ public class MappingDocumentDbConverterUnitTest {
         assertThat(document.getLong(TestConstants.PROPERTY_DATE)).isEqualTo(memo.getDate().getTime());
     }
 
+    @Test
+    public void writeDocKeepsValuesOfSerializedString() throws ParseException, JsonProcessingException {
+        final Memo memo = new Memo(TestConstants.ID_1, null, DATE.parse(TestConstants.DATE_STRING),
+                Importance.HIGH);
+        final Document expected = new Document(objectMapper.writeValueAsString(memo));
+        final Document document = dbConverter.writeDoc(memo);
+
+        expected.setId(memo.getId());
+
+        assertThat(document.getHashMap()).isEqualTo(expected.getHashMap());
+    }
+
     @Test
     public void canReadPojoWithDateFromDocument() throws ParseException {
         final Document document = new Document();
@@ -108,5 +229,100 @@ public class MappingDocumentDbConverterUnitTest {
 
         assertThat(time).isEqualTo(TestConstants.MILLI_SECONDS);
     }
-}
 
+    @Test
+    public void projectedKeysOfClosedInterfaceProjection() {
+        assertThat(dbConverter.getProjectedKeys(Contact.class, ContactTitle.class)).containsExactly("id", "title");
+        assertThat(dbConverter.getProjectedKeys(Contact.class, Contact.class)).isEmpty();
+        assertThat(dbConverter.getProjectedKeys(Contact.class, OpenContactTitle.class)).isEmpty();
+    }
+
+    @Test
+    public void projectedKeysOfDtoProjection() {
+        assertThat(dbConverter.getProjectedKeys(Contact.class, ContactDto.class)).containsExactlyInAnyOrder("id",
+                "title");
+    }
+
+    @Test
+    public void readInterfaceProjection() {
+        final Document document = new Document();
+        document.setId(TestConstants.ID_1);
+        document.set("title", TestConstants.MESSAGE);
+
+        final ContactTitle title = dbConverter.readProjection(Contact.class, ContactTitle.class, document);
+
+        assertThat(title.getLogicId()).isEqualTo(TestConstants.ID_1);
+        assertThat(title.getTitle()).isEqualTo(TestConstants.MESSAGE);
+    }
+
+    @Test
+    public void readDtoProjection() {
+        final Document document = new Document();
+        document.setId(TestConstants.ID_1);
+        document.set("title", TestConstants.MESSAGE);
+
+        final ContactDto dto = dbConverter.readProjection(Contact.class, ContactDto.class, document);
+
+        assertThat(dto.getLogicId()).isEqualTo(TestConstants.ID_1);
+        assertThat(dto.getTitle()).isEqualTo(TestConstants.MESSAGE);
+    }
+
+    @Test
+    public void readGeneratedPropertiesOntoGivenEntity() {
+        final Document document = new Document("{\"id\":\"generated\",\"message\":\"ignored\","
+                + "\"_etag\":\"etag-1\",\"_ts\":1530785430}");
+        final VersionedNote note = new VersionedNote();
+
+        note.setMessage(TestConstants.MESSAGE);
+
+        assertThat(dbConverter.readGeneratedProperties(note, document)).isSameAs(note);
+        assertThat(note.getId()).isEqualTo("generated");
+        assertThat(note.getMessage()).isEqualTo(TestConstants.MESSAGE);
+        assertThat(note.getEtag()).isEqualTo("etag-1");
+        assertThat(note.getTimestamp()).isEqualTo(1530785430L);
+
+        note.setId(TestConstants.ID_1);
+        dbConverter.readGeneratedProperties(note, document);
+
+        assertThat(note.getId()).isEqualTo(TestConstants.ID_1);
+    }
+
+    public interface ContactTitle {
+        String getLogicId();
+
+        String getTitle();
+    }
+
+    public interface OpenContactTitle {
+        @Value("#{target.logicId + ' ' + target.title}")
+        String getFullTitle();
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class ContactDto {
+        private String logicId;
+        private String title;
+    }
+
+    @Data
+    @LazyRead
+    @NoArgsConstructor
+    public static class LazyNote {
+        private String id;
+        private String message;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class VersionedNote {
+        private String id;
+        private String message;
+
+        @JsonProperty("_etag")
+        private String etag;
+
+        @JsonProperty("_ts")
+        private Long timestamp;
+    }
+}
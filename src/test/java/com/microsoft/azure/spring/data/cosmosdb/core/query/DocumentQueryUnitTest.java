@@ -5,12 +5,16 @@
  */
 package com.microsoft.azure.spring.data.cosmosdb.core.query;
 
+import com.microsoft.azure.documentdb.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.core.generator.FindQuerySpecGenerator;
 import org.junit.Assert;
 import org.junit.Test;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
 
 import static com.microsoft.azure.spring.data.cosmosdb.common.TestConstants.CRITERIA_KEY;
 import static com.microsoft.azure.spring.data.cosmosdb.common.TestConstants.CRITERIA_OBJECT;
@@ -27,5 +31,59 @@ public class DocumentQueryUnitTest {
         Assert.assertEquals(criteria, query.getCriteria());
         Assert.assertEquals(Sort.unsorted(), query.getSort());
         Assert.assertEquals(Pageable.unpaged(), query.getPageable());
+        Assert.assertTrue(query.getProjection().isEmpty());
+    }
+
+    @Test
+    public void testProjectionSelectList() {
+        final Criteria criteria = Criteria.getInstance(CriteriaType.IS_EQUAL, CRITERIA_KEY,
+                Arrays.asList(CRITERIA_OBJECT));
+        final DocumentQuery query = new DocumentQuery(criteria).withProjection(Arrays.asList("id", "title"));
+
+        final SqlQuerySpec querySpec = new FindQuerySpecGenerator().generate(query);
+
+        Assert.assertEquals("SELECT r[\"id\"], r[\"title\"] FROM ROOT r WHERE r." + CRITERIA_KEY
+                        + " = @" + CRITERIA_KEY,
+                querySpec.getQueryText().trim());
+    }
+
+    @Test
+    public void testProjectionOfKeysNotIdentifiers() {
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL));
+
+        final SqlQuerySpec querySpec = new FindQuerySpecGenerator().generate(query,
+                Arrays.asList("first-name", "1st", "address.city"));
+
+        Assert.assertEquals("SELECT r[\"first-name\"], r[\"1st\"], r[\"address\"][\"city\"] FROM ROOT r",
+                querySpec.getQueryText().trim());
+        Assert.assertTrue(query.getProjection().isEmpty());
+    }
+
+    @Test
+    public void testQueryTextSharedPerShape() {
+        final FindQuerySpecGenerator generator = new FindQuerySpecGenerator();
+        final SqlQuerySpec first = generator.generate(new DocumentQuery(Criteria.getInstance(CriteriaType.IN,
+                "shape", Collections.singletonList(Arrays.asList("a", "b")))));
+        final SqlQuerySpec second = generator.generate(new DocumentQuery(Criteria.getInstance(CriteriaType.IN,
+                "shape", Collections.singletonList(Arrays.asList("c", "d")))));
+        final SqlQuerySpec third = generator.generate(new DocumentQuery(Criteria.getInstance(CriteriaType.IN,
+                "shape", Collections.singletonList(Arrays.asList("e", "f", "g")))));
+
+        Assert.assertSame(first.getQueryText(), second.getQueryText());
+        Assert.assertEquals(Arrays.asList("c", "d"), second.getParameters().stream()
+                .map(p -> p.getValue(String.class)).collect(Collectors.toList()));
+        Assert.assertNotEquals(first.getQueryText(), third.getQueryText());
+        Assert.assertEquals(3, third.getParameters().size());
+    }
+
+    @Test
+    public void testCrossPartitionQueryFixed() {
+        final Criteria criteria = Criteria.getInstance(CriteriaType.IS_EQUAL, CRITERIA_KEY,
+                Arrays.asList(CRITERIA_OBJECT));
+        final DocumentQuery query = new DocumentQuery(criteria);
+
+        Assert.assertFalse(query.isCrossPartitionQuery(Collections.singletonList(CRITERIA_KEY)));
+        Assert.assertTrue(query.withCrossPartitionQuery(true)
+                .isCrossPartitionQuery(Collections.singletonList(CRITERIA_KEY)));
     }
 }
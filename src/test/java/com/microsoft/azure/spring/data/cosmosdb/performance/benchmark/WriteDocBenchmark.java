@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.performance.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.documentdb.Document;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.ObjectMapperFactory;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Address;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Importance;
+import com.microsoft.azure.spring.data.cosmosdb.performance.domain.WidePerfPerson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the String round-trip of writing a document with the token streaming path of
+ * {@link MappingDocumentDbConverter#writeDoc}, on a wide entity.
+ * <p>
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.microsoft.azure.spring.data.cosmosdb.performance.benchmark.WriteDocBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WriteDocBenchmark {
+
+    private ObjectMapper objectMapper;
+    private MappingDocumentDbConverter converter;
+    private WidePerfPerson person;
+
+    @Setup
+    public void setup() {
+        final DocumentDbMappingContext mappingContext = new DocumentDbMappingContext();
+
+        mappingContext.setInitialEntitySet(Collections.singleton(WidePerfPerson.class));
+        mappingContext.afterPropertiesSet();
+
+        objectMapper = ObjectMapperFactory.getObjectMapper();
+        converter = new MappingDocumentDbConverter(mappingContext, objectMapper);
+        converter.afterPropertiesSet();
+        person = createWidePerson();
+    }
+
+    @Benchmark
+    public Document stringRoundTrip() throws JsonProcessingException {
+        final Document document = new Document(objectMapper.writeValueAsString(person));
+
+        document.setId(person.getId());
+
+        return document;
+    }
+
+    @Benchmark
+    public Document tokenStreaming() {
+        return converter.writeDoc(person);
+    }
+
+    private static WidePerfPerson createWidePerson() {
+        final WidePerfPerson person = new WidePerfPerson();
+        final Address address = new Address("201107", "Zixing Road", "Shanghai");
+
+        person.setId("wide-person-id");
+        person.setFirstName("first name");
+        person.setMiddleName("middle name");
+        person.setLastName("last name");
+        person.setEmail("someone@example.com");
+        person.setPhone("+86-021-00000000");
+        person.setCompany("company");
+        person.setDepartment("department");
+        person.setTitle("title");
+        person.setDescription("a longer description of the person to make the document a bit wider");
+        person.setRegion("east");
+        person.setAge(30);
+        person.setLevel(5);
+        person.setCreatedAt(System.currentTimeMillis());
+        person.setUpdatedAt(System.currentTimeMillis());
+        person.setVersion(Long.MAX_VALUE);
+        person.setScore(98.5);
+        person.setRating(4.25);
+        person.setBalance(1024.75);
+        person.setActive(true);
+        person.setVerified(false);
+        person.setSubscribed(Boolean.TRUE);
+        person.setBirthday(new Date(0));
+        person.setLastLogin(new Date());
+        person.setImportance(Importance.HIGH);
+        person.setTags(Arrays.asList("tag1", "tag2", "tag3", "tag4"));
+        person.setCounters(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8));
+        person.setAddresses(Arrays.asList(address, address, address));
+        person.setHomeAddress(address);
+        person.setAttributes(Collections.singletonMap("key", "value"));
+
+        return person;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(WriteDocBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.performance.domain;
+
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.PartitionKey;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Address;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Importance;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Domain with many fields of mixed types, for benchmarking the converter.
+ */
+@Data
+@NoArgsConstructor
+@Document
+public class WidePerfPerson {
+    private String id;
+    private String firstName;
+    private String middleName;
+    private String lastName;
+    private String email;
+    private String phone;
+    private String company;
+    private String department;
+    private String title;
+    private String description;
+    @PartitionKey
+    private String region;
+    private int age;
+    private int level;
+    private long createdAt;
+    private long updatedAt;
+    private Long version;
+    private double score;
+    private double rating;
+    private Double balance;
+    private boolean active;
+    private boolean verified;
+    private Boolean subscribed;
+    private Date birthday;
+    private Date lastLogin;
+    private Importance importance;
+    private List<String> tags;
+    private List<Integer> counters;
+    private List<Address> addresses;
+    private Address homeAddress;
+    private Map<String, String> attributes;
+}
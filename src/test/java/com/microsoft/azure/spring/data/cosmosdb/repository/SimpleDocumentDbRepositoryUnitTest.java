@@ -7,9 +7,11 @@
 package com.microsoft.azure.spring.data.cosmosdb.repository;
 
 import com.microsoft.azure.spring.data.cosmosdb.common.TestConstants;
+import com.microsoft.azure.spring.data.cosmosdb.core.BulkOperationResult;
 import com.microsoft.azure.spring.data.cosmosdb.core.DocumentDbOperations;
 import com.microsoft.azure.spring.data.cosmosdb.domain.Address;
 import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import com.microsoft.azure.spring.data.cosmosdb.exception.DocumentDBAccessException;
 import com.microsoft.azure.spring.data.cosmosdb.repository.support.DocumentDbEntityInformation;
 import com.microsoft.azure.spring.data.cosmosdb.repository.support.SimpleDocumentDbRepository;
 import org.assertj.core.util.Lists;
@@ -23,10 +25,16 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -75,6 +83,23 @@ public class SimpleDocumentDbRepositoryUnitTest {
         assertEquals(TEST_PERSON, result);
     }
 
+    @Test
+    public void testFindByIdAsync() throws Exception {
+        when(dbOperations.findById(anyString(), any(), any())).thenReturn(TEST_PERSON);
+        when(dbOperations.getAsyncExecutor()).thenReturn(Runnable::run);
+
+        final Optional<Person> result = repository.findByIdAsync(TEST_PERSON.getId()).get();
+        assertEquals(TEST_PERSON, result.get());
+    }
+
+    @Test
+    public void testExistsByIdWithoutFindById() {
+        when(dbOperations.existsById(anyString(), any(), any())).thenReturn(true);
+
+        assertTrue(repository.existsById(TEST_PERSON.getId()));
+        verify(dbOperations, never()).findById(anyString(), any(), any());
+    }
+
     @Test
     public void testFindOneExceptionForPartitioned() {
         expectedException.expect(UnsupportedOperationException.class);
@@ -103,4 +128,25 @@ public class SimpleDocumentDbRepositoryUnitTest {
         final Person result = repository.findById(TEST_PERSON.getId()).get();
         assertEquals(updatedPerson, result);
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSaveAllStopsAfterFailedInsert() {
+        final Person newPerson = new Person(null, TestConstants.FIRST_NAME, TestConstants.LAST_NAME,
+                TestConstants.HOBBIES, TestConstants.ADDRESSES);
+        final BulkOperationResult<Person> inserted = mock(BulkOperationResult.class);
+
+        when(entityInformation.isNew(newPerson)).thenReturn(true);
+        when(entityInformation.isNew(TEST_PERSON)).thenReturn(false);
+        when(dbOperations.<Person>insertAll(anyString(), any())).thenReturn(inserted);
+        doThrow(new DocumentDBAccessException("insert failed")).when(inserted).assertSuccessful();
+
+        expectedException.expect(DocumentDBAccessException.class);
+
+        try {
+            repository.saveAll(Arrays.asList(newPerson, TEST_PERSON));
+        } finally {
+            verify(dbOperations, never()).upsertAll(anyString(), any());
+        }
+    }
 }
@@ -155,6 +155,15 @@ public class ContactRepositoryIT {
 
     }
 
+    @Test
+    public void testProjectionQuery() {
+        final List<ContactRepository.ContactTitle> result = repository.findContactTitleByTitle(TEST_CONTACT.getTitle());
+
+        assertThat(result.size()).isEqualTo(1);
+        assertThat(result.get(0).getLogicId()).isEqualTo(TEST_CONTACT.getLogicId());
+        assertThat(result.get(0).getTitle()).isEqualTo(TEST_CONTACT.getTitle());
+    }
+
     @Test
     public void testNullIdContact() {
         final Contact nullIdContact = new Contact(null, "testTitile");
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.repository.query;
+
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.domain.PartitionPerson;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PartTreeQueryTemplateUnitTest {
+
+    private final DocumentDbMappingContext mappingContext = new DocumentDbMappingContext();
+
+    @Mock
+    private DocumentDbParameterAccessor accessor;
+
+    private PartTreeQueryTemplate compile(String methodName, Class<?> domainClass, int limit) {
+        return new PartTreeQueryTemplate(new PartTree(methodName, domainClass), mappingContext, domainClass, limit);
+    }
+
+    private DocumentQuery bind(PartTreeQueryTemplate template, Sort sort, Object... values) {
+        when(accessor.iterator()).thenReturn(Arrays.asList(values).iterator());
+        when(accessor.getSort()).thenReturn(sort);
+
+        return template.bind(accessor);
+    }
+
+    @Test
+    public void testBindAndOrParts() {
+        final PartTreeQueryTemplate template = compile("findByIdAndFirstNameOrLastNameIn", Person.class, 0);
+        final Criteria criteria = bind(template, Sort.unsorted(), "id-1", "first",
+                Arrays.asList("last-1", "last-2")).getCriteria();
+
+        assertThat(criteria.getType()).isEqualTo(CriteriaType.OR);
+
+        final Criteria and = criteria.getSubCriteria().get(0);
+        final Criteria in = criteria.getSubCriteria().get(1);
+
+        assertThat(and.getType()).isEqualTo(CriteriaType.AND);
+        assertThat(and.getSubCriteria().get(0).getSubject()).isEqualTo("id");
+        assertThat(and.getSubCriteria().get(0).getSubjectValues()).containsExactly("id-1");
+        assertThat(and.getSubCriteria().get(1).getType()).isEqualTo(CriteriaType.IS_EQUAL);
+        assertThat(and.getSubCriteria().get(1).getSubject()).isEqualTo("firstName");
+        assertThat(and.getSubCriteria().get(1).getSubjectValues()).containsExactly("first");
+        assertThat(in.getType()).isEqualTo(CriteriaType.IN);
+        assertThat(in.getSubject()).isEqualTo("lastName");
+        assertThat(in.getSubjectValues()).containsExactly(Arrays.asList("last-1", "last-2"));
+    }
+
+    @Test
+    public void testBindEachCallIntoNewQuery() {
+        final PartTreeQueryTemplate template = compile("findByFirstName", Person.class, 0);
+        final DocumentQuery first = bind(template, Sort.unsorted(), "first-1");
+        final DocumentQuery second = bind(template, Sort.unsorted(), "first-2");
+
+        assertThat(first).isNotSameAs(second);
+        assertThat(first.getCriteria().getSubjectValues()).containsExactly("first-1");
+        assertThat(second.getCriteria().getSubjectValues()).containsExactly("first-2");
+    }
+
+    @Test
+    public void testStaticSortBeforeDynamicSort() {
+        final PartTreeQueryTemplate template = compile("findByFirstNameOrderByLastNameDesc", Person.class, 0);
+        final DocumentQuery query = bind(template, Sort.by(Sort.Direction.ASC, "id"), "first");
+
+        assertThat(query.getSort()).containsExactly(Sort.Order.desc("lastName"), Sort.Order.asc("id"));
+    }
+
+    @Test
+    public void testLimitBound() {
+        assertThat(bind(compile("findTop3ByFirstName", Person.class, 3), Sort.unsorted(), "first").getLimit())
+                .isEqualTo(3);
+    }
+
+    @Test
+    public void testCrossPartitionFromShapeOfCriteria() {
+        final Sort unsorted = Sort.unsorted();
+
+        assertThat(bind(compile("findByLastName", PartitionPerson.class, 0), unsorted, "last")
+                .isCrossPartitionQuery(Collections.emptyList())).isFalse();
+        assertThat(bind(compile("findByFirstName", PartitionPerson.class, 0), unsorted, "first")
+                .isCrossPartitionQuery(Collections.emptyList())).isTrue();
+        assertThat(bind(compile("findByLastNameOrFirstName", PartitionPerson.class, 0), unsorted, "last", "first")
+                .isCrossPartitionQuery(Collections.emptyList())).isTrue();
+        assertThat(bind(compile("findByLastNameAndFirstName", PartitionPerson.class, 0), unsorted, "last", "first")
+                .isCrossPartitionQuery(Collections.emptyList())).isFalse();
+        assertThat(bind(compile("findByLastName", Person.class, 0), unsorted, "last")
+                .isCrossPartitionQuery(Collections.emptyList())).isTrue();
+    }
+}
@@ -14,4 +14,12 @@ import java.util.List;
 @Repository
 public interface ContactRepository extends DocumentDbRepository<Contact, String> {
     List<Contact> findByTitle(String title);
+
+    List<ContactTitle> findContactTitleByTitle(String title);
+
+    interface ContactTitle {
+        String getLogicId();
+
+        String getTitle();
+    }
 }
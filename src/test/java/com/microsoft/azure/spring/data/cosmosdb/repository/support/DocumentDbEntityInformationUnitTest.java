@@ -5,8 +5,15 @@
  */
 package com.microsoft.azure.spring.data.cosmosdb.repository.support;
 
+import com.microsoft.azure.documentdb.ConsistencyLevel;
+import com.microsoft.azure.documentdb.IndexingDirective;
+import com.microsoft.azure.documentdb.RequestOptions;
 import com.microsoft.azure.spring.data.cosmosdb.common.TestConstants;
+import com.microsoft.azure.spring.data.cosmosdb.config.RequestOptionsTemplate;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentConsistencyLevel;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentIndexingDirective;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.PartitionKey;
 import com.microsoft.azure.spring.data.cosmosdb.domain.Address;
 import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
 import org.junit.Test;
@@ -42,6 +49,16 @@ public class DocumentDbEntityInformationUnitTest {
         assertThat(idType.getSimpleName()).isEqualTo(String.class.getSimpleName());
     }
 
+    @Test
+    public void testGetInstanceSharedPerClass() {
+        final DocumentDbEntityInformation<Person, String> entityInformation =
+                DocumentDbEntityInformation.getInstance(Person.class);
+
+        assertThat(DocumentDbEntityInformation.<Person, String>getInstance(Person.class)).isSameAs(entityInformation);
+        assertThat(entityInformation.getIdField().getName()).isEqualTo("id");
+        assertThat(entityInformation.getCollectionName()).isEqualTo(Person.class.getSimpleName());
+    }
+
     @Test
     public void testGetCollectionName() {
         final DocumentDbEntityInformation<Person, String> entityInformation =
@@ -60,9 +77,96 @@ public class DocumentDbEntityInformationUnitTest {
         assertThat(collectionName).isEqualTo("testCollection");
     }
 
+    @Test
+    public void testNonStringPartitionKey() {
+        final DocumentDbEntityInformation<Order, String> entityInformation =
+                new DocumentDbEntityInformation<Order, String>(Order.class);
+        final Order order = new Order();
+        order.id = ID;
+        order.customerId = 42L;
+
+        assertThat(entityInformation.getPartitionKeyFieldName()).isEqualTo("customerId");
+        assertThat(entityInformation.getPartitionKeyFieldValue(order)).isEqualTo(42L);
+    }
+
+    @Test
+    public void testNestedPartitionKey() {
+        final DocumentDbEntityInformation<Shipment, String> entityInformation =
+                new DocumentDbEntityInformation<Shipment, String>(Shipment.class);
+        final Shipment shipment = new Shipment();
+        shipment.id = ID;
+
+        assertThat(entityInformation.getPartitionKeyFieldName()).isEqualTo("address.city");
+        assertThat(entityInformation.getPartitionKeyFieldValue(shipment)).isNull();
+
+        shipment.address = ADDRESSES.get(0);
+        assertThat(entityInformation.getPartitionKeyFieldValue(shipment)).isEqualTo(ADDRESSES.get(0).getCity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidNestedPartitionKey() {
+        new DocumentDbEntityInformation<InvalidShipment, String>(InvalidShipment.class);
+    }
+
+    @Test
+    public void testBulkImport() {
+        assertThat(new DocumentDbEntityInformation<>(Volunteer.class).isBulkImport()).isFalse();
+        assertThat(new DocumentDbEntityInformation<>(Reading.class).isBulkImport()).isTrue();
+    }
+
+    @Test
+    public void testServerSideDelete() {
+        assertThat(new DocumentDbEntityInformation<>(Volunteer.class).isServerSideDelete()).isFalse();
+        assertThat(new DocumentDbEntityInformation<>(Reading.class).isServerSideDelete()).isTrue();
+    }
+
+    @Test
+    public void testRequestOptionsTemplateOverridden() {
+        final RequestOptions options = new RequestOptions();
+
+        options.setConsistencyLevel(ConsistencyLevel.Session);
+        options.setSessionToken("token");
+
+        final RequestOptionsTemplate template = RequestOptionsTemplate.of(options);
+        final RequestOptionsTemplate readingTemplate =
+                new DocumentDbEntityInformation<>(Reading.class).getRequestOptionsTemplate(template);
+
+        assertThat(new DocumentDbEntityInformation<>(Volunteer.class).getRequestOptionsTemplate(template))
+                .isSameAs(template);
+        assertThat(readingTemplate.getConsistencyLevel()).isEqualTo(ConsistencyLevel.Eventual);
+        assertThat(readingTemplate.getIndexingDirective()).isEqualTo(IndexingDirective.Exclude);
+        assertThat(readingTemplate.getSessionToken()).isEqualTo("token");
+        assertThat(template.getConsistencyLevel()).isEqualTo(ConsistencyLevel.Session);
+    }
+
     @Document(collection = "testCollection")
     class Volunteer {
         String id;
         String name;
     }
+
+    class Order {
+        String id;
+        @PartitionKey
+        long customerId;
+    }
+
+    class Shipment {
+        String id;
+        @PartitionKey(path = "city")
+        Address address;
+    }
+
+    @Document(bulkImport = true, serverSideDelete = true, consistencyLevel = DocumentConsistencyLevel.EVENTUAL,
+            indexingDirective = DocumentIndexingDirective.EXCLUDE)
+    class Reading {
+        String id;
+        double value;
+    }
+
+    class InvalidShipment {
+        String id;
+        @PartitionKey(path = "country")
+        Address address;
+    }
 }
@@ -5,8 +5,12 @@
  */
 package com.microsoft.azure.spring.data.cosmosdb.repository.support;
 
+import com.microsoft.azure.spring.data.cosmosdb.core.DocumentDbOperations;
 import com.microsoft.azure.spring.data.cosmosdb.core.DocumentDbTemplate;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbMappingContext;
 import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import com.microsoft.azure.spring.data.cosmosdb.repository.DocumentDbRepository;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -14,8 +18,23 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.data.repository.core.EntityInformation;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class DocumentDbRepositoryFactoryUnitTest {
@@ -32,4 +51,63 @@ public class DocumentDbRepositoryFactoryUnitTest {
         final EntityInformation<Person, String> entityInfo = factory.getEntityInformation(Person.class);
         assertTrue(entityInfo instanceof DocumentDbEntityInformation);
     }
+
+    @Test
+    public void testAsyncDerivedQueryExecutedOnOperationsExecutor() throws Exception {
+        final ApplicationContext context = mock(ApplicationContext.class);
+        final Person person = new Person("id", "first", "last", null, null);
+        final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+        when(context.getBean(DocumentDbOperations.class)).thenReturn(dbTemplate);
+        when(dbTemplate.getConverter())
+                .thenReturn(new MappingDocumentDbConverter(new DocumentDbMappingContext(), null));
+        when(dbTemplate.find(any(), eq(Person.class), eq(Person.class), eq("Person"))).thenAnswer(invocation -> {
+            threadNames.add(Thread.currentThread().getName());
+            return Collections.singletonList(person);
+        });
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2, new CustomizableThreadFactory("test-async-"));
+
+        when(dbTemplate.getAsyncExecutor()).thenReturn(executor);
+
+        try {
+            final AsyncPersonRepository repository = new DocumentDbRepositoryFactory(dbTemplate, context)
+                    .getRepository(AsyncPersonRepository.class);
+
+            assertThat(repository.findByFirstName("first").get()).containsExactly(person);
+            assertThat(repository.findByLastName("last").get()).isEqualTo(person);
+            assertThat(repository.findByIdAsync("id").get()).isEqualTo(Optional.empty());
+            assertThat(threadNames).isNotEmpty();
+            assertThat(threadNames.stream().allMatch(n -> n.startsWith("test-async-"))).isTrue();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testAsyncOptionalResultOfNoMatch() throws Exception {
+        final ApplicationContext context = mock(ApplicationContext.class);
+
+        when(context.getBean(DocumentDbOperations.class)).thenReturn(dbTemplate);
+        when(dbTemplate.getConverter())
+                .thenReturn(new MappingDocumentDbConverter(new DocumentDbMappingContext(), null));
+        when(dbTemplate.find(any(), eq(Person.class), eq(Person.class), eq("Person")))
+                .thenReturn(Collections.emptyList());
+        when(dbTemplate.getAsyncExecutor()).thenReturn(Runnable::run);
+
+        final AsyncPersonRepository repository = new DocumentDbRepositoryFactory(dbTemplate, context)
+                .getRepository(AsyncPersonRepository.class);
+
+        assertThat(repository.findByIdAndLastName("id", "last").get()).isEqualTo(Optional.empty());
+        assertThat(repository.findByLastName("last").get()).isNull();
+    }
+
+    public interface AsyncPersonRepository extends DocumentDbRepository<Person, String> {
+
+        CompletableFuture<List<Person>> findByFirstName(String firstName);
+
+        CompletableFuture<Person> findByLastName(String lastName);
+
+        CompletableFuture<Optional<Person>> findByIdAndLastName(String id, String lastName);
+    }
 }
@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.repository.support;
+
+import com.microsoft.azure.spring.data.cosmosdb.core.ReactiveDocumentDbOperations;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import com.microsoft.azure.spring.data.cosmosdb.repository.ReactiveDocumentDbRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.context.ApplicationContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReactiveDocumentDbRepositoryFactoryUnitTest {
+
+    private static final Person PERSON = new Person("id", "first", "last", null, null);
+    private static final int PARALLELISM = 2;
+
+    @Mock
+    private ReactiveDocumentDbOperations dbOperations;
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    private ReactivePersonRepository repository;
+
+    @Before
+    public void setup() {
+        when(applicationContext.getBean(ReactiveDocumentDbOperations.class)).thenReturn(dbOperations);
+        when(dbOperations.getConverter())
+                .thenReturn(new MappingDocumentDbConverter(new DocumentDbMappingContext(), null));
+        when(dbOperations.createCollectionIfNotExists(any())).thenReturn(Mono.empty());
+        when(dbOperations.getParallelism()).thenReturn(PARALLELISM);
+
+        repository = new ReactiveDocumentDbRepositoryFactory(dbOperations, applicationContext)
+                .getRepository(ReactivePersonRepository.class);
+    }
+
+    @Test
+    public void testDerivedQueryReturnsFlux() {
+        final ArgumentCaptor<DocumentQuery> query = ArgumentCaptor.forClass(DocumentQuery.class);
+
+        when(dbOperations.find(query.capture(), eq(Person.class), eq(Person.class), eq("Person")))
+                .thenReturn(Flux.just(PERSON, PERSON));
+
+        final List<Person> persons = repository.findByFirstName("first").collectList().block();
+
+        assertThat(persons).containsExactly(PERSON, PERSON);
+        assertThat(query.getValue().getCriteria().getType()).isEqualTo(CriteriaType.IS_EQUAL);
+        assertThat(query.getValue().getCriteria().getSubject()).isEqualTo("firstName");
+    }
+
+    @Test
+    public void testDerivedQueryReturnsMonoOfFirst() {
+        when(dbOperations.find(any(), eq(Person.class), eq(Person.class), eq("Person")))
+                .thenReturn(Flux.just(PERSON));
+
+        assertThat(repository.findByLastName("last").block()).isEqualTo(PERSON);
+    }
+
+    @Test
+    public void testDerivedDeleteReturningMonoDeletesAll() {
+        final AtomicInteger deleted = new AtomicInteger();
+
+        when(dbOperations.delete(any(), eq(Person.class), eq("Person")))
+                .thenReturn(Flux.just(PERSON, PERSON, PERSON).doOnNext(p -> deleted.incrementAndGet()));
+
+        repository.deleteByLastName("last").block();
+
+        assertThat(deleted.get()).isEqualTo(3);
+        assertThat(repository.deleteByFirstName("first").block()).isEqualTo(3L);
+        assertThat(deleted.get()).isEqualTo(6);
+    }
+
+    @Test
+    public void testSaveExistingEntityUpserts() {
+        when(dbOperations.upsert(eq("Person"), eq(PERSON), any())).thenReturn(Mono.just(PERSON));
+
+        assertThat(repository.save(PERSON).block()).isEqualTo(PERSON);
+        verify(dbOperations).upsert(eq("Person"), eq(PERSON), any());
+    }
+
+    @Test
+    public void testSaveAllBoundsConcurrency() {
+        final AtomicInteger inFlight = new AtomicInteger();
+
+        when(dbOperations.upsert(eq("Person"), eq(PERSON), any()))
+                .thenReturn(Mono.<Person>never().doOnSubscribe(s -> inFlight.incrementAndGet()));
+
+        repository.saveAll(Collections.nCopies(5, PERSON)).subscribe().dispose();
+
+        assertThat(inFlight.get()).isEqualTo(PARALLELISM);
+    }
+
+    public interface ReactivePersonRepository extends ReactiveDocumentDbRepository<Person, String> {
+
+        Flux<Person> findByFirstName(String firstName);
+
+        Mono<Person> findByLastName(String lastName);
+
+        Mono<Void> deleteByLastName(String lastName);
+
+        Mono<Long> deleteByFirstName(String firstName);
+    }
+}